@@ -4,6 +4,8 @@ import it.unibo.scotyard.controller.Controller;
 import it.unibo.scotyard.controller.ControllerImpl;
 import it.unibo.scotyard.model.Model;
 import it.unibo.scotyard.model.ModelImpl;
+import it.unibo.scotyard.model.router.CommandMetrics;
+import it.unibo.scotyard.model.router.CommandRouter;
 import it.unibo.scotyard.view.ViewImpl;
 
 /** Main application entry point for Scotland Yard game. */
@@ -19,10 +21,16 @@ public final class ScotlandYard {
      * @param args command line arguments (unused)
      */
     public static void main(final String[] args) {
+        // Record the latency of every command and the thinking time of the AI, reported on exit
+        final CommandRouter router = new CommandRouter();
+        final CommandMetrics metrics = new CommandMetrics();
+        router.addInterceptor(metrics);
+        metrics.dumpOnExit();
+
         // Initialize MVC components
-        final Model model = ModelImpl.createDefault();
+        final Model model = ModelImpl.createDefault(router);
         final ViewImpl view = new ViewImpl();
-        final Controller controller = new ControllerImpl(model, view);
+        final Controller controller = new ControllerImpl(model, view, metrics::recordThinking);
 
         // Launch application
         controller.launch();
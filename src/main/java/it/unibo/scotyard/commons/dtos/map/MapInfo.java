@@ -1,5 +1,7 @@
 package it.unibo.scotyard.commons.dtos.map;
 
+import it.unibo.scotyard.model.map.NodeId;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /** Provides read-only access to map information. */
@@ -15,6 +17,12 @@ public interface MapInfo {
      */
     Stream<Node> getNodes();
 
+    /**
+     * @param id the node identifier
+     * @return the node with the given identifier, or empty if the map has no such node
+     */
+    Optional<Node> getNode(NodeId id);
+
     /**
      * @return stream of all connections
      */
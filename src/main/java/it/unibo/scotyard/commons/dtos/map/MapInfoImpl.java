@@ -3,16 +3,28 @@ package it.unibo.scotyard.commons.dtos.map;
 import it.unibo.scotyard.model.map.MapConnection;
 import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.MapNode;
+import it.unibo.scotyard.model.map.NodeId;
 import it.unibo.scotyard.model.map.TransportType;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-/** adapts MapData to the DTO interface. */
+/**
+ * adapts MapData to the DTO interface. Nodes and connections are converted once, on construction, since the map never
+ * changes: the transports of every node are collected in a single pass over the connections.
+ */
 public final class MapInfoImpl implements MapInfo {
 
-    private final MapData mapData;
+    private final String name;
+    private final List<Node> nodes;
+    private final Map<NodeId, Node> nodesById;
+    private final List<Connection> connections;
 
     /**
      * Creates a MapInfo from MapData.
@@ -21,33 +33,54 @@ public final class MapInfoImpl implements MapInfo {
      * @throws NullPointerException if mapData is null
      */
     public MapInfoImpl(final MapData mapData) {
-        this.mapData = Objects.requireNonNull(mapData, "MapData cannot be null");
+        Objects.requireNonNull(mapData, "MapData cannot be null");
+        this.name = mapData.getName();
+
+        // extract available transports for every node
+        final Map<NodeId, Set<TransportType>> transports = new HashMap<>();
+        for (final MapConnection connection : mapData.getConnections()) {
+            transports
+                    .computeIfAbsent(connection.getFrom(), id -> EnumSet.noneOf(TransportType.class))
+                    .add(connection.getTransport());
+            transports
+                    .computeIfAbsent(connection.getTo(), id -> EnumSet.noneOf(TransportType.class))
+                    .add(connection.getTransport());
+        }
+
+        final Map<NodeId, Node> byId = new LinkedHashMap<>();
+        for (final MapNode node : mapData.getNodes()) {
+            byId.put(
+                    node.getId(),
+                    new NodeImpl(
+                            node.getId(),
+                            node.getX(),
+                            node.getY(),
+                            transports.getOrDefault(node.getId(), EnumSet.noneOf(TransportType.class))));
+        }
+        this.nodes = List.copyOf(byId.values());
+        this.nodesById = Map.copyOf(byId);
+        this.connections = mapData.getConnections().stream()
+                .<Connection>map(conn -> new ConnectionImpl(conn.getFrom(), conn.getTo(), conn.getTransport()))
+                .toList();
     }
 
     @Override
     public String getName() {
-        return this.mapData.getName();
+        return this.name;
     }
 
     @Override
     public Stream<Node> getNodes() {
-        return this.mapData.getNodes().stream().map(this::createNodeInfo);
+        return this.nodes.stream();
     }
 
     @Override
-    public Stream<Connection> getConnections() {
-        return this.mapData.getConnections().stream()
-                .map(conn -> new ConnectionImpl(conn.getFrom(), conn.getTo(), conn.getTransport()));
+    public Optional<Node> getNode(final NodeId id) {
+        return Optional.ofNullable(this.nodesById.get(id));
     }
 
-    // extract available transports for a node
-    private Node createNodeInfo(final MapNode node) {
-        final Set<TransportType> transports = this.mapData.getConnections().stream()
-                .filter(c -> c.getFrom().id() == node.getId().id()
-                        || c.getTo().id() == node.getId().id())
-                .map(MapConnection::getTransport)
-                .collect(Collectors.toSet());
-
-        return new NodeImpl(node.getId(), node.getX(), node.getY(), transports);
+    @Override
+    public Stream<Connection> getConnections() {
+        return this.connections.stream();
     }
 }
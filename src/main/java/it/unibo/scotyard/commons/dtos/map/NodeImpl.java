@@ -2,6 +2,8 @@ package it.unibo.scotyard.commons.dtos.map;
 
 import it.unibo.scotyard.model.map.NodeId;
 import it.unibo.scotyard.model.map.TransportType;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Set;
 
@@ -20,7 +22,10 @@ public record NodeImpl(NodeId id, int x, int y, Set<TransportType> availableTran
      */
     public NodeImpl {
         Objects.requireNonNull(availableTransports, "Available transports cannot be null");
-        availableTransports = Set.copyOf(availableTransports); // Defensive copy
+        // Defensive copy into an EnumSet, whose lookups are a single bit test
+        final EnumSet<TransportType> transports = EnumSet.noneOf(TransportType.class);
+        transports.addAll(availableTransports);
+        availableTransports = Collections.unmodifiableSet(transports);
     }
 
     @Override
@@ -30,6 +30,7 @@ public final class ScotColors {
     // Nodi
     public static final Color VALID_NODE = new Color(0, 255, 0, 80); // verde semi-trasp
     public static final Color SELECTED_NODE = new Color(0, 150, 255, 180); // blu semi-trasp
+    public static final Color RUNNER_CANDIDATE_NODE = new Color(239, 16, 35, 60); // rosso semi-trasp
 
     // varie
     public static final Color SHADOW_COLOR = new Color(0, 0, 0, 30); // shadow
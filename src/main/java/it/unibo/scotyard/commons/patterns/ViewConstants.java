@@ -36,6 +36,8 @@ public final class ViewConstants {
     public static final String UNDERGROUND_TEXT = "Metro";
     public static final String FERRY_TEXT = "Traghetto";
 
+    public static final String NODE_TOOLTIP_TEXT = "Nodo ";
+
     public static final String SELECTION_TRANSPORT_JDIALOG = "Seleziona mezzo di trasporto";
     public static final String SELECTION_TRANSPORT_TITLE = "Seleziona mezzo di trasporto verso il nodo: ";
 
@@ -14,6 +14,7 @@ import it.unibo.scotyard.controller.menu.StatisticsController;
 import it.unibo.scotyard.controller.menu.StatisticsControllerImpl;
 import it.unibo.scotyard.model.Model;
 import it.unibo.scotyard.model.Pair;
+import it.unibo.scotyard.model.ai.AsyncBrainExecutor;
 import it.unibo.scotyard.model.command.game.InitializeGameCommand;
 import it.unibo.scotyard.model.command.round.StartRoundCommand;
 import it.unibo.scotyard.model.game.GameDifficulty;
@@ -25,6 +26,7 @@ import it.unibo.scotyard.view.game.GameView;
 import it.unibo.scotyard.view.menu.MainMenuView;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.LongConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JPanel;
@@ -34,6 +36,8 @@ public final class ControllerImpl implements Controller {
 
     private final Model model;
     private final ViewImpl view;
+    private final LongConsumer thinkingTimes;
+    private AsyncBrainExecutor brainExecutor;
 
     /**
      * Creates a controller with model and view.
@@ -43,8 +47,21 @@ public final class ControllerImpl implements Controller {
      * @throws NullPointerException if any parameter is null
      */
     public ControllerImpl(final Model model, final ViewImpl view) {
+        this(model, view, nanos -> {});
+    }
+
+    /**
+     * Creates a controller with model and view, reporting how long the AI thinks about every turn.
+     *
+     * @param model         the game model
+     * @param view          the game view
+     * @param thinkingTimes called with the nanoseconds spent by the AI on every turn, from the thread of the AI
+     * @throws NullPointerException if any parameter is null
+     */
+    public ControllerImpl(final Model model, final ViewImpl view, final LongConsumer thinkingTimes) {
         this.model = Objects.requireNonNull(model, "Model cannot be null");
         this.view = Objects.requireNonNull(view, "View cannot be null");
+        this.thinkingTimes = Objects.requireNonNull(thinkingTimes, "Thinking times cannot be null");
     }
 
     @Override
@@ -60,6 +77,7 @@ public final class ControllerImpl implements Controller {
 
     @Override
     public void loadMainMenu() {
+        this.stopBrains();
         final MainMenuController menuController = new MainMenuControllerImpl(this, this.view);
         final MainMenuView mainMenuView = view.showMainMenuView(menuController);
         menuController.setView(mainMenuView);
@@ -96,6 +114,11 @@ public final class ControllerImpl implements Controller {
         final GameView gameView =
                 this.view.createGameView(this.model.getMapData().info());
 
+        // The AI thinks off the UI thread, which keeps writing the model
+        this.stopBrains();
+        this.brainExecutor = new AsyncBrainExecutor(gameView::executeOnUIThread, this.thinkingTimes);
+        this.model.setBrainExecutor(this.brainExecutor);
+
         final GameController gameController;
         if (this.model.getGameState().getGameMode() == GameMode.MISTER_X) {
             // Modalità Mister X
@@ -126,6 +149,14 @@ public final class ControllerImpl implements Controller {
         System.exit(0);
     }
 
+    /** Cancels the AI turns of the game being left. */
+    private void stopBrains() {
+        if (this.brainExecutor != null) {
+            this.brainExecutor.close();
+            this.brainExecutor = null;
+        }
+    }
+
     // Callback for resolution selection
     private void run(final Size resolution) {
         final Size selectedResolution = Objects.requireNonNull(resolution, "Resolution cannot be null");
@@ -56,7 +56,6 @@ public final class DetectiveGameControllerImpl extends GameControllerImpl {
                 int index = Integer.parseInt(currentPlayer.getName().substring(5, 6)) - 1;
                 this.view.getMapPanel().setBobbyPosition(currentPlayer.getPosition(), index);
         }
-        this.view.getMapPanel().repaint();
     }
 
     /**
@@ -75,7 +74,10 @@ public final class DetectiveGameControllerImpl extends GameControllerImpl {
                 .collect(Collectors.toSet());
 
         this.view.getMapPanel().loadPossibleDestinations(destinationNodes);
-        this.view.getMapPanel().repaint();
+        this.gameState
+                .getRunnerBeliefTracker()
+                .ifPresent(tracker ->
+                        this.view.getMapPanel().setRunnerCandidates(tracker.getCandidates().toNodeIds()));
     }
 
     @Override
@@ -95,7 +97,6 @@ public final class DetectiveGameControllerImpl extends GameControllerImpl {
             this.view.getSidebar().enableEndTurnButton(true);
         }
         this.selectedDestination = newPositionId;
-        this.view.getMapPanel().repaint();
     }
 
     /** Action listener for the EndTurn button. It moves the player. */
@@ -110,11 +111,14 @@ public final class DetectiveGameControllerImpl extends GameControllerImpl {
     }
 
     private void movePlayer() {
+        // The AI may still be thinking about its turn
+        if (!this.gameState.getCurrentPlayer().isHuman()) {
+            return;
+        }
         if (this.gameState.isMovableCurrentPlayer(this.selectedDestination, this.selectedTransportType)) {
             this.view.getMapPanel().setSelectedDestination(HIDDEN_POSITION);
             this.dispatcher.dispatch(new MoveCommand(this.selectedDestination, this.selectedTransportType));
             this.updatePlayerPositionView(this.gameState.getCurrentPlayer());
-            this.view.getMapPanel().repaint();
             this.dispatcher.dispatch(new EndTurnCommand());
             this.manageGameRound();
         }
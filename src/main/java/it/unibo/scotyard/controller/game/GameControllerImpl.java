@@ -17,12 +17,10 @@ import it.unibo.scotyard.view.game.GameView;
 import it.unibo.scotyard.view.map.MapPanel;
 import it.unibo.scotyard.view.sidebar.SidebarPanel;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 
 /**
  * The controller for all game related actions.
@@ -146,11 +144,7 @@ public abstract class GameControllerImpl implements GameController, GameStateSub
 
     @Override
     public Set<Pair<NodeId, TransportType>> loadPossibleDestinations() {
-        Set<Pair<NodeId, TransportType>> possibleDestinations =
-                new HashSet<>(this.mainController.getPossibleDestinations(
-                        this.gameState.getCurrentPlayer().getPosition()));
-        possibleDestinations = this.gameState.loadPossibleDestinations(possibleDestinations);
-        return possibleDestinations;
+        return this.gameState.getPossibleDestinations();
     }
 
     /**
@@ -175,14 +169,12 @@ public abstract class GameControllerImpl implements GameController, GameStateSub
     @Override
     public void onExposedPosition(ExposedPosition exposedPosition) {
         this.view.getMapPanel().setLastExposedPosition(exposedPosition);
-        SwingUtilities.invokeLater(() -> this.view.getMapPanel().repaint());
     }
 
     @Override
     public void onConcealRunner() {
         final boolean keepRunnerVisible = gameState.getGameMode() == GameMode.MISTER_X;
         this.view.getMapPanel().hideExposedPosition(keepRunnerVisible);
-        SwingUtilities.invokeLater(() -> this.view.getMapPanel().repaint());
     }
 
     @Override
@@ -10,6 +10,7 @@ import it.unibo.scotyard.model.game.GameStatus;
 import it.unibo.scotyard.model.game.turn.TurnManagerImpl.MoveOption;
 import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import it.unibo.scotyard.model.map.TransportType;
 import it.unibo.scotyard.model.players.Bobby;
 import it.unibo.scotyard.model.players.MisterX;
@@ -107,23 +108,11 @@ public final class MrXGameControllerImpl extends GameControllerImpl {
      * Calculates occupied positions (Detective + all Bobbies).
      * Mr. X cannot move to these positions.
      *
-     * @return set of occupied node IDs
+     * @return set of occupied nodes
      *
      */
-    private Set<NodeId> getOccupiedPositions() {
-        final Set<NodeId> occupied = new java.util.HashSet<>();
-
-        // Add detective position
-        if (this.gameState.getDetective() != null) {
-            occupied.add(this.gameState.getDetective().getPosition());
-        }
-
-        // Add all bobby positions
-        for (final Bobby bobby : this.gameState.getBobbies()) {
-            occupied.add(bobby.getPosition());
-        }
-
-        return occupied;
+    private NodeSet getOccupiedPositions() {
+        return this.gameState.getSeekerPositions();
     }
 
     /**
@@ -132,7 +121,8 @@ public final class MrXGameControllerImpl extends GameControllerImpl {
      * @param nodeId the clicked node ID
      */
     private void onNodeClicked(final NodeId nodeId) {
-        if (this.gameState.getGameStatus() != GameStatus.PLAYING) {
+        if (!this.gameState.getCurrentPlayer().isHuman()
+                || this.gameState.getGameStatus() != GameStatus.PLAYING) {
             return;
         }
 
@@ -254,7 +244,8 @@ public final class MrXGameControllerImpl extends GameControllerImpl {
 
     /** Handles double move button click. */
     private void onDoubleMoveButtonClicked() {
-        if (this.gameState.getGameStatus() != GameStatus.PLAYING) {
+        if (!this.gameState.getCurrentPlayer().isHuman()
+                || this.gameState.getGameStatus() != GameStatus.PLAYING) {
             return;
         }
 
@@ -407,8 +398,6 @@ public final class MrXGameControllerImpl extends GameControllerImpl {
             } else {
                 this.getMapPanel().setValidMoves(mrX.getValidMoves(getOccupiedPositions()));
             }
-
-            this.getMapPanel().repaint();
         });
     }
 
@@ -1,6 +1,9 @@
 package it.unibo.scotyard.model;
 
+import it.unibo.scotyard.model.ai.BrainExecutor;
+import it.unibo.scotyard.model.ai.ThinkingTimes;
 import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.MoveGenerator;
 import it.unibo.scotyard.model.game.matchhistory.MatchHistoryRepository;
 import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.NodeId;
@@ -34,6 +37,14 @@ public interface Model {
      */
     MapData getMapData();
 
+    /**
+     * Returns the legal move generator of the loaded map.
+     *
+     * @return the move generator
+     * @throws IllegalStateException if model not initialized
+     */
+    MoveGenerator getMoveGenerator();
+
     /**
      * Sets the active game state.
      */
@@ -72,6 +83,34 @@ public interface Model {
      */
     CommandDispatcher getDispatcher();
 
+    /**
+     * Returns the executor running the turns of the AI players.
+     *
+     * @return the brain executor, running the turns on the dispatching thread by default
+     */
+    BrainExecutor getBrainExecutor();
+
+    /**
+     * Sets the executor running the turns of the AI players.
+     *
+     * @param brainExecutor the brain executor
+     */
+    void setBrainExecutor(BrainExecutor brainExecutor);
+
+    /**
+     * Returns how long the AI may think about a turn at every difficulty.
+     *
+     * @return the thinking times
+     */
+    ThinkingTimes getThinkingTimes();
+
+    /**
+     * Sets how long the AI may think about a turn at every difficulty.
+     *
+     * @param thinkingTimes the thinking times
+     */
+    void setThinkingTimes(ThinkingTimes thinkingTimes);
+
     /**
      * Gets the singleton instance of MatchHistory repository.
      *
@@ -1,10 +1,13 @@
 package it.unibo.scotyard.model;
 
+import it.unibo.scotyard.model.ai.BrainExecutor;
+import it.unibo.scotyard.model.ai.ThinkingTimes;
 import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.MoveGenerator;
 import it.unibo.scotyard.model.game.matchhistory.InMemoryMatchHistoryRepository;
 import it.unibo.scotyard.model.game.matchhistory.JsonMatchHistoryRepository;
 import it.unibo.scotyard.model.game.matchhistory.MatchHistoryRepository;
-import it.unibo.scotyard.model.map.MapConnection;
+import it.unibo.scotyard.model.map.ConnectionIndex;
 import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.MapReader;
 import it.unibo.scotyard.model.map.NodeId;
@@ -17,6 +20,7 @@ import it.unibo.scotyard.model.service.TurnService;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Random;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,8 +32,11 @@ public final class ModelImpl implements Model {
     private final CommandDispatcher dispatcher;
     private final MatchHistoryRepository matchHistoryRepository;
     private MapData mapData;
+    private MoveGenerator moveGenerator;
     private GameState gameState;
     private Random random;
+    private BrainExecutor brainExecutor = BrainExecutor.direct();
+    private ThinkingTimes thinkingTimes = ThinkingTimes.fromSystemProperties();
     private boolean initialized;
 
     /**
@@ -38,8 +45,18 @@ public final class ModelImpl implements Model {
      * @param dispatcher the command dispatcher
      */
     public ModelImpl(final CommandDispatcher dispatcher) {
+        this(dispatcher, createMatchHistoryRepository());
+    }
+
+    /**
+     * The model layer state, tracking the outcomes in the given repository.
+     *
+     * @param dispatcher the command dispatcher
+     * @param matchHistoryRepository the repository of the match outcomes
+     */
+    public ModelImpl(final CommandDispatcher dispatcher, final MatchHistoryRepository matchHistoryRepository) {
         this.dispatcher = dispatcher;
-        this.matchHistoryRepository = createMatchHistoryRepository();
+        this.matchHistoryRepository = matchHistoryRepository;
     }
 
     @Override
@@ -47,6 +64,7 @@ public final class ModelImpl implements Model {
         try {
             final MapReader mapReader = new MapReader();
             this.mapData = mapReader.loadDefaultMap();
+            this.moveGenerator = new MoveGenerator(this.mapData);
             this.random = new Random(System.currentTimeMillis());
             this.initialized = true;
         } catch (final MapReader.MapLoadException e) {
@@ -68,6 +86,14 @@ public final class ModelImpl implements Model {
         return this.mapData;
     }
 
+    @Override
+    public MoveGenerator getMoveGenerator() {
+        if (!this.initialized || this.moveGenerator == null) {
+            throw new IllegalStateException("Modello non inizializzato. Chiamare initialize() prima.");
+        }
+        return this.moveGenerator;
+    }
+
     @Override
     public void setGameState(final GameState gameState) {
         this.gameState = gameState;
@@ -92,8 +118,30 @@ public final class ModelImpl implements Model {
      * @return the model instance
      */
     public static Model createDefault() {
-        final CommandRouter store = new CommandRouter();
-        final Model model = new ModelImpl(store);
+        return createDefault(new CommandRouter());
+    }
+
+    /**
+     * Creates the {@code Model} with the default command listeners registered on the given router.
+     *
+     * @param store the command router
+     * @return the model instance
+     */
+    public static Model createDefault(final CommandRouter store) {
+        return createDefault(store, createMatchHistoryRepository());
+    }
+
+    /**
+     * Creates the {@code Model} with the default command listeners registered on the given router, tracking the
+     * outcomes in the given repository.
+     *
+     * @param store the command router
+     * @param matchHistoryRepository the repository of the match outcomes
+     * @return the model instance
+     */
+    public static Model createDefault(
+            final CommandRouter store, final MatchHistoryRepository matchHistoryRepository) {
+        final Model model = new ModelImpl(store, matchHistoryRepository);
 
         final GameStateService gameStateService = new GameStateService(model);
         gameStateService.register(store);
@@ -114,15 +162,36 @@ public final class ModelImpl implements Model {
 
     @Override
     public List<Pair<NodeId, TransportType>> getPossibleDestinations(final NodeId idStartPosition) {
-        final List<Pair<NodeId, TransportType>> resultList = new ArrayList<>();
-        final List<MapConnection> connections = this.getMapData().getConnectionsFrom(idStartPosition);
-        for (final MapConnection connection : connections) {
-            resultList.add(new Pair<>(connection.getTo(), connection.getTransport()));
+        final ConnectionIndex index = this.getMapData().getConnectionIndex();
+        final int end = index.end(idStartPosition.id());
+        final List<Pair<NodeId, TransportType>> resultList = new ArrayList<>(index.degree(idStartPosition.id()));
+        for (int edge = index.start(idStartPosition.id()); edge < end; edge++) {
+            resultList.add(new Pair<>(new NodeId(index.target(edge)), index.transport(edge)));
         }
 
         return resultList;
     }
 
+    @Override
+    public BrainExecutor getBrainExecutor() {
+        return brainExecutor;
+    }
+
+    @Override
+    public void setBrainExecutor(final BrainExecutor brainExecutor) {
+        this.brainExecutor = Objects.requireNonNull(brainExecutor, "Brain executor cannot be null");
+    }
+
+    @Override
+    public ThinkingTimes getThinkingTimes() {
+        return thinkingTimes;
+    }
+
+    @Override
+    public void setThinkingTimes(final ThinkingTimes thinkingTimes) {
+        this.thinkingTimes = Objects.requireNonNull(thinkingTimes, "Thinking times cannot be null");
+    }
+
     @Override
     public MatchHistoryRepository getMatchHistoryRepository() {
         return matchHistoryRepository;
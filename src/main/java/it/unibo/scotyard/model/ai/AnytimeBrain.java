@@ -0,0 +1,26 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import it.unibo.scotyard.model.game.GameState;
+import java.util.List;
+
+/**
+ * A brain that can be told how long it may think and be stopped at any moment, still playing the best turn found
+ * so far.
+ */
+public interface AnytimeBrain extends PlayerBrain {
+    /**
+     * Plays the turn within the budget, reporting to it every better turn found while thinking. The brain returns
+     * soon after the budget is exhausted, with the best turn found so far.
+     *
+     * @param gameState the current game state
+     * @param budget the budget of the turn
+     * @return the list of actions performed by the AI
+     */
+    List<GameCommand> playTurn(GameState gameState, TurnBudget budget);
+
+    @Override
+    default List<GameCommand> playTurn(final GameState gameState) {
+        return playTurn(gameState, TurnBudget.unlimited());
+    }
+}
@@ -0,0 +1,147 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Plays the AI turns on a dedicated thread and hands their commands back to the thread that writes the model, so
+ * that the thinking time of the brains never blocks that thread.
+ *
+ * <p>
+ * A turn is only delivered once its brain has returned, and the model is not written until the turn is delivered,
+ * because the turn only goes on with its commands: the brain can safely read the game state while it thinks. If a
+ * brain fails, the failure is rethrown on the model thread. Closing the executor cancels the turns not delivered
+ * yet, and discards their commands and failures.
+ * </p>
+ *
+ * <p>
+ * The executor enforces the deadline of every turn, which starts when the brain starts playing it rather than when
+ * the turn is queued behind the previous one. When the deadline expires the turn is cancelled, and once the brain
+ * has stopped the best turn reported to its budget so far is delivered in place of whatever it returns, failures
+ * included. A brain ignoring its cancellation delays its own turn, and the turns queued after it.
+ * </p>
+ */
+public final class AsyncBrainExecutor implements BrainExecutor, AutoCloseable {
+
+    private final ExecutorService thinker;
+    private final ScheduledExecutorService timer;
+    private final Executor modelThread;
+    private final LongConsumer thinkingTimes;
+    private final Set<CancellationToken> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the executor with its own daemon threads.
+     *
+     * @param modelThread runs a task on the thread that writes the model
+     */
+    public AsyncBrainExecutor(final Executor modelThread) {
+        this(modelThread, nanos -> {});
+    }
+
+    /**
+     * Creates the executor with its own daemon threads, reporting how long every turn kept its brain busy.
+     *
+     * @param modelThread runs a task on the thread that writes the model
+     * @param thinkingTimes called on the thread of the brains with the nanoseconds spent playing every turn, even
+     *     when the turn failed or was overtaken by its deadline
+     */
+    public AsyncBrainExecutor(final Executor modelThread, final LongConsumer thinkingTimes) {
+        this.modelThread = Objects.requireNonNull(modelThread, "Model thread cannot be null");
+        this.thinkingTimes = Objects.requireNonNull(thinkingTimes, "Thinking times cannot be null");
+        this.thinker = Executors.newSingleThreadExecutor(task -> daemon(task, "ai-brain"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> daemon(task, "ai-deadline"));
+    }
+
+    @Override
+    public void execute(
+            final Supplier<List<GameCommand>> turn,
+            final TurnBudget budget,
+            final Consumer<List<GameCommand>> delivery) {
+        final CancellationToken cancellation = budget.getCancellation();
+        pending.add(cancellation);
+
+        thinker.execute(() -> {
+            budget.start();
+            final AtomicBoolean overtaken = new AtomicBoolean();
+            final ScheduledFuture<?> timeout = budget.getDeadline().isUnlimited()
+                    ? null
+                    : timer.schedule(
+                            () -> {
+                                overtaken.set(true);
+                                cancellation.cancel();
+                            },
+                            budget.getDeadline().remainingNanos(),
+                            TimeUnit.NANOSECONDS);
+
+            final long start = System.nanoTime();
+            List<GameCommand> commands = null;
+            RuntimeException failure = null;
+            try {
+                commands = turn.get();
+            } catch (final RuntimeException e) {
+                failure = e;
+            }
+            thinkingTimes.accept(System.nanoTime() - start);
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+
+            if (overtaken.get() && budget.getBestSoFar().isPresent()) {
+                deliver(cancellation, budget.getBestSoFar().get(), delivery);
+            } else if (failure != null) {
+                final RuntimeException cause = failure;
+                modelThread.execute(() -> {
+                    if (pending.remove(cancellation)) {
+                        throw new IllegalStateException("The AI failed to play its turn", cause);
+                    }
+                });
+            } else {
+                deliver(cancellation, commands, delivery);
+            }
+        });
+    }
+
+    /** Cancels the turns not delivered yet and stops the threads of the executor. */
+    @Override
+    public void close() {
+        pending.removeIf(cancellation -> {
+            cancellation.cancel();
+            return true;
+        });
+        timer.shutdownNow();
+        thinker.shutdownNow();
+    }
+
+    /**
+     * Delivers the commands of a turn on the model thread, unless the executor was closed in the meantime.
+     */
+    private void deliver(
+            final CancellationToken cancellation,
+            final List<GameCommand> commands,
+            final Consumer<List<GameCommand>> delivery) {
+        modelThread.execute(() -> {
+            if (pending.remove(cancellation)) {
+                delivery.accept(commands);
+            }
+        });
+    }
+
+    private static Thread daemon(final Runnable task, final String name) {
+        final Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,35 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Decides on which thread the AI plays a turn and on which thread the resulting commands are delivered.
+ */
+@FunctionalInterface
+public interface BrainExecutor {
+    /**
+     * Plays a turn and delivers its commands. The deadline of the budget is started when the turn starts being
+     * played, and the delivery must happen on the thread that writes the model.
+     *
+     * @param turn plays the turn, returning its commands
+     * @param budget the budget of the turn, whose cancellation token is cancelled by the executor if it stops
+     *     before the turn is delivered
+     * @param delivery dispatches the commands of the turn
+     */
+    void execute(Supplier<List<GameCommand>> turn, TurnBudget budget, Consumer<List<GameCommand>> delivery);
+
+    /**
+     * Returns an executor playing the turn and delivering its commands on the calling thread, before returning.
+     *
+     * @return the direct executor
+     */
+    static BrainExecutor direct() {
+        return (turn, budget, delivery) -> {
+            budget.start();
+            delivery.accept(turn.get());
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package it.unibo.scotyard.model.ai;
+
+/**
+ * Tells a brain, possibly thinking on another thread, that its turn is no longer needed.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    /** Cancels the turn. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether the turn has been cancelled.
+     *
+     * @return true if cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,97 @@
+package it.unibo.scotyard.model.ai;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A point in time, measured on the monotonic clock, by which a brain has to stop thinking.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0, true);
+
+    private final long expiresAtNanos;
+    private final boolean unlimited;
+
+    private Deadline(final long expiresAtNanos, final boolean unlimited) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.unlimited = unlimited;
+    }
+
+    /**
+     * Returns the deadline expiring after the given time from now.
+     *
+     * @param budget the time left
+     * @return the deadline
+     */
+    public static Deadline after(final Duration budget) {
+        Objects.requireNonNull(budget, "Budget cannot be null");
+        return new Deadline(System.nanoTime() + budget.toNanos(), false);
+    }
+
+    /**
+     * Returns the deadline that never expires.
+     *
+     * @return the unlimited deadline
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Returns whether the deadline has passed.
+     *
+     * @return true if the deadline has passed
+     */
+    public boolean isExpired() {
+        return !unlimited && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Returns whether the deadline never expires.
+     *
+     * @return true if the deadline is unlimited
+     */
+    public boolean isUnlimited() {
+        return unlimited;
+    }
+
+    /**
+     * Returns the time left before the deadline.
+     *
+     * @return the nanoseconds left, zero if expired, {@link Long#MAX_VALUE} if unlimited
+     */
+    public long remainingNanos() {
+        return unlimited ? Long.MAX_VALUE : Math.max(0, expiresAtNanos - System.nanoTime());
+    }
+
+    /**
+     * Returns the deadline expiring after a share of the time left, so that part of a turn can be spent on something
+     * else. The unlimited deadline stays unlimited.
+     *
+     * @param share the share of the time left, between 0 and 1
+     * @return the deadline
+     */
+    public Deadline portion(final double share) {
+        if (unlimited) {
+            return this;
+        }
+        return after(Duration.ofNanos((long) (remainingNanos() * share)));
+    }
+
+    /**
+     * Returns the earlier of this deadline and the given one.
+     *
+     * @param other the other deadline
+     * @return the deadline expiring first
+     */
+    public Deadline earliest(final Deadline other) {
+        if (unlimited) {
+            return other;
+        }
+        if (other.unlimited) {
+            return this;
+        }
+        return expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+}
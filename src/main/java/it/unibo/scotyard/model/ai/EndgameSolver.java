@@ -0,0 +1,211 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.map.DistanceTable;
+import it.unibo.scotyard.model.map.MapData;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Solves exactly the last rounds of a match, so that Mister X never throws away a position he cannot lose.
+ *
+ * <p>
+ * Close to {@link MagicNumbers#FINAL_ROUND_COUNT} the positions reachable from the current one are few enough to be
+ * solved by backward induction: a position is won by Mister X if he survives the last round, if some move of his
+ * leads to a won position, or if every move of the seeker to move does. The seekers are assumed to see Mister X, so
+ * a win is a win whatever they know, and Mister X is assumed to play single moves, which only leaves out wins. Solved
+ * positions are kept in a least recently used map bounded in size, keyed by the snapshots themselves, which pack a
+ * position in two longs and an int.
+ * </p>
+ *
+ * <p>
+ * A solver is not thread safe and is meant to be owned by a single brain.
+ * </p>
+ */
+public final class EndgameSolver {
+
+    private static final int CLOCK_CHECK_NODES = 1 << 10;
+
+    private final MoveGenerator generator;
+    private final DistanceTable distances;
+    private final int horizonRounds;
+    private final long maxNodes;
+    private final Map<GameSnapshot, Boolean> solved;
+    private final List<MoveBuffer> buffers = new ArrayList<>();
+    private final List<int[]> orders = new ArrayList<>();
+
+    private TurnBudget budget;
+    private long nodes;
+    private boolean aborted;
+
+    /**
+     * Creates the solver.
+     *
+     * @param mapData the map data
+     * @param horizonRounds the number of final rounds the solver tries to solve
+     * @param maxNodes the number of positions visited by a solve before giving up
+     * @param maxSolved the number of solved positions remembered
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public EndgameSolver(final MapData mapData, final int horizonRounds, final long maxNodes, final int maxSolved) {
+        if (horizonRounds <= 0 || maxNodes <= 0 || maxSolved <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid solver limits: " + horizonRounds + ", " + maxNodes + ", " + maxSolved);
+        }
+        this.generator = new MoveGenerator(mapData);
+        this.distances = mapData.getSeekerDistances();
+        this.horizonRounds = horizonRounds;
+        this.maxNodes = maxNodes;
+        this.solved = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<GameSnapshot, Boolean> eldest) {
+                return size() > maxSolved;
+            }
+        };
+    }
+
+    /**
+     * Returns whether the snapshot is within the final rounds handled by the solver.
+     *
+     * @param snapshot the snapshot
+     * @return true if the solver may be asked about the snapshot
+     */
+    public boolean isInHorizon(final GameSnapshot snapshot) {
+        return MagicNumbers.FINAL_ROUND_COUNT - snapshot.getRound() < horizonRounds;
+    }
+
+    /**
+     * Returns the number of solved positions remembered.
+     *
+     * @return the number of remembered positions
+     */
+    public int getSolvedCount() {
+        return solved.size();
+    }
+
+    /**
+     * Looks for a move of Mister X that wins whatever the seekers do.
+     *
+     * @param snapshot the snapshot, with Mister X to move and within the horizon
+     * @param budget the budget of the solve
+     * @return the winning move, or empty if there is none or the position could not be solved within the budget
+     * @throws IllegalArgumentException if Mister X is not to move or the snapshot is outside the horizon
+     */
+    public OptionalInt winningMove(final GameSnapshot snapshot, final TurnBudget budget) {
+        if (snapshot.getCurrentPlayer() != GameSnapshot.RUNNER || !isInHorizon(snapshot)) {
+            throw new IllegalArgumentException("The solver needs Mister X to move within the last rounds");
+        }
+        this.budget = budget;
+        this.nodes = 0;
+        this.aborted = false;
+        try {
+            final int count = order(snapshot, 0);
+            final int[] moves = orders.getFirst();
+            for (int i = 0; i < count; i++) {
+                final boolean won = runnerWins(RunnerPlayout.advance(snapshot, moves[i]), 1);
+                if (aborted) {
+                    return OptionalInt.empty();
+                }
+                if (won) {
+                    return OptionalInt.of(moves[i]);
+                }
+            }
+            return OptionalInt.empty();
+        } finally {
+            this.budget = null;
+        }
+    }
+
+    /**
+     * Returns whether Mister X wins the position with perfect play. The result is meaningless once the solve has
+     * been aborted.
+     */
+    private boolean runnerWins(final GameSnapshot snapshot, final int ply) {
+        if (snapshot.isRunnerCaught()) {
+            return false;
+        }
+        if (snapshot.getRound() > MagicNumbers.FINAL_ROUND_COUNT) {
+            return true;
+        }
+        final Boolean known = solved.get(snapshot);
+        if (known != null) {
+            return known;
+        }
+        if ((++nodes % CLOCK_CHECK_NODES == 0 && budget.isExhausted()) || nodes >= maxNodes) {
+            aborted = true;
+            return false;
+        }
+
+        final boolean runner = snapshot.getCurrentPlayer() == GameSnapshot.RUNNER;
+        final int count = order(snapshot, ply);
+        boolean wins;
+        if (count == 0) {
+            // Mister X cannot move, which is as good as being caught, while a seeker simply passes
+            wins = !runner && runnerWins(snapshot.endTurn(), ply + 1);
+        } else {
+            final int[] moves = orders.get(ply);
+            // Mister X needs one winning move, the seekers one move that wins for them
+            wins = !runner;
+            for (int i = 0; i < count && wins != runner && !aborted; i++) {
+                wins = runnerWins(RunnerPlayout.advance(snapshot, moves[i]), ply + 1);
+            }
+        }
+        if (aborted) {
+            return false;
+        }
+        solved.put(snapshot, wins);
+        return wins;
+    }
+
+    /**
+     * Generates the moves of the player to move, the most promising first: Mister X away from the nearest seeker,
+     * the seekers towards Mister X.
+     */
+    private int order(final GameSnapshot snapshot, final int ply) {
+        while (buffers.size() <= ply) {
+            buffers.add(new MoveBuffer());
+            orders.add(new int[0]);
+        }
+        final MoveBuffer buffer = buffers.get(ply);
+        final int count = generator.generate(snapshot, buffer);
+        if (orders.get(ply).length < count) {
+            orders.set(ply, new int[count]);
+        }
+        final int[] moves = orders.get(ply);
+        final int[] scores = new int[count];
+        final boolean runner = snapshot.getCurrentPlayer() == GameSnapshot.RUNNER;
+        final int runnerPosition = snapshot.getPosition(GameSnapshot.RUNNER);
+        for (int i = 0; i < count; i++) {
+            final int move = buffer.get(i);
+            final int destination = MoveGenerator.destination(move);
+            final int score = runner
+                    ? nearestSeeker(snapshot, destination)
+                    : -distances.distance(destination, runnerPosition);
+            int j = i;
+            while (j > 0 && scores[j - 1] < score) {
+                moves[j] = moves[j - 1];
+                scores[j] = scores[j - 1];
+                j--;
+            }
+            moves[j] = move;
+            scores[j] = score;
+        }
+        return count;
+    }
+
+    private int nearestSeeker(final GameSnapshot snapshot, final int nodeId) {
+        int nearest = DistanceTable.UNREACHABLE;
+        for (int seeker = GameSnapshot.RUNNER + 1; seeker < snapshot.getPlayerCount(); seeker++) {
+            nearest = Math.min(nearest, distances.distance(snapshot.getPosition(seeker), nodeId));
+        }
+        return nearest;
+    }
+}
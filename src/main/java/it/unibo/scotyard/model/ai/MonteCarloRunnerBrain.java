@@ -0,0 +1,373 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import it.unibo.scotyard.model.command.turn.EndTurnCommand;
+import it.unibo.scotyard.model.command.turn.MoveCommand;
+import it.unibo.scotyard.model.entities.MoveAction;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.NodeSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * A Runner AI that picks its move with a Monte Carlo Tree Search (UCT) over simulated futures of the match.
+ *
+ * <p>
+ * The tree alternates the turns of Mister X and of the seekers, every node keeping the reward from the point of view
+ * of the player that moved into it. Leaves are evaluated with a {@link RunnerPlayout}, and the reward is the share of
+ * the look-ahead rounds Mister X survived. The search stops after the iteration budget or the budget of the turn,
+ * whichever comes first, reporting the most visited move as it changes; it is deterministic for a given seed as long
+ * as the iteration budget is reached first.
+ * </p>
+ *
+ * <p>
+ * While the human seekers think, the brain can ponder: it searches the tree rooted at their turn, as seen from the
+ * following turn of Mister X. When that turn comes, the subtree matching the moves the seekers actually played
+ * becomes the root of the search and the rest of the tree is discarded. Pondering runs at most four times the
+ * iteration budget, which also bounds the memory held by the tree. Searching and pondering share the playout and
+ * the pondered tree, so they hold the lock of the brain.
+ * </p>
+ */
+public final class MonteCarloRunnerBrain implements PonderingBrain {
+
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int LOOK_AHEAD_ROUNDS = 5;
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+    private static final int PONDER_ITERATIONS_FACTOR = 4;
+
+    private final RunnerPlayout playout;
+    private final int iterations;
+    private volatile Tree pondered;
+
+    /**
+     * Creates the brain.
+     *
+     * @param mapData the map data
+     * @param iterations the maximum number of search iterations per move
+     * @throws IllegalArgumentException if iterations is not positive
+     */
+    public MonteCarloRunnerBrain(final MapData mapData, final int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive: " + iterations);
+        }
+        this.playout = new RunnerPlayout(mapData);
+        this.iterations = iterations;
+    }
+
+    @Override
+    public List<GameCommand> playTurn(final GameState gameState, final TurnBudget budget) {
+        final List<MoveAction> legalMoves = gameState.getTurnState().getLegalMoves();
+        final long seed = gameState.getSeededRandom().nextLong();
+        budget.report(commandsFor(legalMoves.getFirst()));
+        if (legalMoves.size() == 1) {
+            return commandsFor(legalMoves.getFirst());
+        }
+
+        final GameSnapshot root = GameSnapshot.from(gameState);
+        final MoveBuffer rootMoves = new MoveBuffer();
+        final int origin = root.getPosition(GameSnapshot.RUNNER);
+        for (final MoveAction move : legalMoves) {
+            rootMoves.add(MoveGenerator.encode(origin, move.destination().id(), move.transportType()));
+        }
+
+        final int selected =
+                search(root, rootMoves, seed, budget, index -> budget.report(commandsFor(legalMoves.get(index))));
+        final List<GameCommand> commands = commandsFor(legalMoves.get(selected));
+        budget.report(commands);
+        return commands;
+    }
+
+    private static List<GameCommand> commandsFor(final MoveAction move) {
+        return List.of(MoveCommand.fromMoveAction(move), new EndTurnCommand());
+    }
+
+    /**
+     * Runs the search and returns the index of the best root move.
+     *
+     * @param root the snapshot of the current game
+     * @param rootMoves the legal moves of Mister X
+     * @param seed the seed of the search
+     * @return the index in rootMoves of the most visited move
+     */
+    int search(final GameSnapshot root, final MoveBuffer rootMoves, final long seed) {
+        return search(root, rootMoves, seed, TurnBudget.unlimited(), index -> {});
+    }
+
+    /**
+     * Runs the search within the budget of the turn and returns the index of the best root move. The search starts
+     * from the matching subtree of the last pondered tree, if any.
+     *
+     * @param root the snapshot of the current game
+     * @param rootMoves the legal moves of Mister X
+     * @param seed the seed of the search
+     * @param budget the budget of the turn
+     * @param bestSoFar called with the index of the most visited move whenever it changes
+     * @return the index in rootMoves of the most visited move
+     */
+    synchronized int search(
+            final GameSnapshot root,
+            final MoveBuffer rootMoves,
+            final long seed,
+            final TurnBudget budget,
+            final IntConsumer bestSoFar) {
+        final Tree tree = takePondered(root).orElseGet(() -> newTree(root, copy(rootMoves)));
+        final int[] reported = {0};
+        iterate(tree, iterations, budget.getDeadline(), budget.getCancellation(), new SplittableRandom(seed), () -> {
+            final int best = mostVisited(tree.root(), rootMoves);
+            if (best != reported[0]) {
+                reported[0] = best;
+                bestSoFar.accept(best);
+            }
+        });
+        return mostVisited(tree.root(), rootMoves);
+    }
+
+    @Override
+    public synchronized void ponder(
+            final GameSnapshot root,
+            final NodeSet runnerCandidates,
+            final GameDifficulty gameDifficulty,
+            final TurnBudget budget) {
+        // A later turn of the same round keeps growing the tree of the previous one
+        final Tree tree = takePondered(root).orElseGet(() -> newTree(root, null));
+        final int left = Math.max(0, iterations * PONDER_ITERATIONS_FACTOR - tree.root().visits);
+        final SplittableRandom random = new SplittableRandom(root.hashCode());
+        iterate(tree, left, budget.getDeadline(), budget.getCancellation(), random, () -> {});
+        this.pondered = tree;
+    }
+
+    /**
+     * Returns whether a pondered tree is waiting to be reused.
+     *
+     * @return true if a tree has been pondered and not reused yet
+     */
+    boolean hasPondered() {
+        return pondered != null;
+    }
+
+    /**
+     * Returns how many iterations of the pondered tree went through the snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return the visits of the matching node, zero if there is none
+     */
+    int ponderedVisits(final GameSnapshot snapshot) {
+        final Tree tree = pondered;
+        return tree == null ? 0 : tree.find(snapshot).map(node -> node.visits).orElse(0);
+    }
+
+    /**
+     * Creates the tree rooted at the snapshot. A tree rooted at a turn of the seekers is searched as seen from the
+     * next turn of Mister X, so that its subtrees can be reused once the seekers have moved.
+     *
+     * @param root the snapshot at the root
+     * @param rootMoves the moves of the root, or null to generate them
+     * @return the tree
+     */
+    private Tree newTree(final GameSnapshot root, final int[] rootMoves) {
+        final int baseRound = baseRound(root);
+        final int horizon = RunnerPlayout.horizon(root, LOOK_AHEAD_ROUNDS + baseRound - root.getRound());
+        final int[] moves = rootMoves != null ? rootMoves : legalMoves(root, horizon, new MoveBuffer());
+        return new Tree(new Node(null, RunnerPlayout.PASS, root, -1, moves), baseRound, horizon);
+    }
+
+    private static int baseRound(final GameSnapshot snapshot) {
+        return snapshot.getCurrentPlayer() == GameSnapshot.RUNNER ? snapshot.getRound() : snapshot.getRound() + 1;
+    }
+
+    /**
+     * Takes the subtree of the pondered tree rooted at the snapshot, discarding the rest of the tree.
+     *
+     * @param root the snapshot of the current game
+     * @return the subtree, or an empty optional if nothing was pondered or the game went another way
+     */
+    private Optional<Tree> takePondered(final GameSnapshot root) {
+        final Tree tree = this.pondered;
+        this.pondered = null;
+        if (tree == null || tree.baseRound() != baseRound(root)) {
+            return Optional.empty();
+        }
+        return tree.find(root).map(node -> {
+            node.parent = null;
+            return new Tree(node, tree.baseRound(), tree.horizon());
+        });
+    }
+
+    private void iterate(
+            final Tree tree,
+            final int maxIterations,
+            final Deadline deadline,
+            final CancellationToken cancellation,
+            final SplittableRandom random,
+            final Runnable onClockCheck) {
+        final MoveBuffer buffer = new MoveBuffer();
+        final int horizon = tree.horizon();
+        final double horizonLength = Math.max(1, horizon - tree.baseRound());
+        final Node rootNode = tree.root();
+        for (int i = 0; i < maxIterations; i++) {
+            if (i % CLOCK_CHECK_INTERVAL == 0 && i > 0) {
+                if (deadline.isExpired() || cancellation.isCancelled()) {
+                    break;
+                }
+                onClockCheck.run();
+            }
+
+            // Selection
+            Node node = rootNode;
+            while (node.isFullyExpanded() && !node.children.isEmpty()) {
+                node = node.bestChild();
+            }
+
+            // Expansion
+            if (node.untriedCount > 0) {
+                final int pick = random.nextInt(node.untriedCount);
+                final int move = node.untried[pick];
+                node.untried[pick] = node.untried[--node.untriedCount];
+                final GameSnapshot next = RunnerPlayout.advance(node.snapshot, move);
+                node = node.addChild(move, next, legalMoves(next, horizon, buffer));
+            }
+
+            // Simulation, with the reward seen from Mister X
+            final int endRound = node.isTerminal()
+                    ? Math.min(node.snapshot.getRound(), horizon)
+                    : playout.play(node.snapshot, horizon, random, buffer);
+            final double reward = Math.max(0, endRound - tree.baseRound()) / horizonLength;
+
+            // Backpropagation
+            for (Node current = node; current != null; current = current.parent) {
+                current.visits++;
+                current.reward += current.mover == GameSnapshot.RUNNER ? reward : 1 - reward;
+            }
+        }
+    }
+
+    /** Returns the index in rootMoves of the most visited child of the root among the legal moves. */
+    private static int mostVisited(final Node rootNode, final MoveBuffer rootMoves) {
+        int best = 0;
+        int bestVisits = -1;
+        for (final Node child : rootNode.children) {
+            final int index = indexOf(rootMoves, child.move);
+            if (index >= 0 && child.visits > bestVisits) {
+                best = index;
+                bestVisits = child.visits;
+            }
+        }
+        return best;
+    }
+
+    private static int indexOf(final MoveBuffer moves, final int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int[] legalMoves(final GameSnapshot snapshot, final int horizon, final MoveBuffer buffer) {
+        if (snapshot.isRunnerCaught() || snapshot.getRound() >= horizon) {
+            return new int[0];
+        }
+        if (playout.getMoveGenerator().generate(snapshot, buffer) == 0) {
+            // Mister X without moves has lost, seekers without moves pass
+            return snapshot.getCurrentPlayer() == GameSnapshot.RUNNER ? new int[0] : new int[] {RunnerPlayout.PASS};
+        }
+        return copy(buffer);
+    }
+
+    private static int[] copy(final MoveBuffer buffer) {
+        final int[] moves = new int[buffer.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = buffer.get(i);
+        }
+        return moves;
+    }
+
+    /**
+     * A search tree, with the reward measured from the first round of Mister X it looks at.
+     *
+     * @param root the root node
+     * @param baseRound the round the survival of Mister X is counted from
+     * @param horizon the last round to simulate (exclusive)
+     */
+    private record Tree(Node root, int baseRound, int horizon) {
+
+        /** Looks for the snapshot among the nodes reached by the turns of the seekers, breadth first. */
+        Optional<Node> find(final GameSnapshot snapshot) {
+            List<Node> level = List.of(root);
+            for (int depth = 0; depth <= GameSnapshot.MAX_PLAYERS && !level.isEmpty(); depth++) {
+                final List<Node> next = new ArrayList<>();
+                for (final Node node : level) {
+                    if (node.snapshot.equals(snapshot)) {
+                        return Optional.of(node);
+                    }
+                    if (node.snapshot.getCurrentPlayer() != GameSnapshot.RUNNER) {
+                        next.addAll(node.children);
+                    }
+                }
+                level = next;
+            }
+            return Optional.empty();
+        }
+    }
+
+    /** A node of the search tree. */
+    private static final class Node {
+        private Node parent;
+        private final int move;
+        private final GameSnapshot snapshot;
+        private final int mover;
+        private final int[] untried;
+        private int untriedCount;
+        private final List<Node> children = new ArrayList<>();
+        private int visits;
+        private double reward;
+
+        Node(final Node parent, final int move, final GameSnapshot snapshot, final int mover, final int[] untried) {
+            this.parent = parent;
+            this.move = move;
+            this.snapshot = snapshot;
+            this.mover = mover;
+            this.untried = untried;
+            this.untriedCount = untried.length;
+        }
+
+        boolean isFullyExpanded() {
+            return untriedCount == 0;
+        }
+
+        boolean isTerminal() {
+            // Only terminal snapshots have no legal moves, see legalMoves
+            return untriedCount == 0 && children.isEmpty();
+        }
+
+        Node addChild(final int childMove, final GameSnapshot childSnapshot, final int[] childMoves) {
+            final Node child = new Node(this, childMove, childSnapshot, snapshot.getCurrentPlayer(), childMoves);
+            children.add(child);
+            return child;
+        }
+
+        Node bestChild() {
+            final double logVisits = Math.log(visits);
+            Node best = children.getFirst();
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (final Node child : children) {
+                final double value =
+                        child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    best = child;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.map.MapData;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The precomputed moves of the first rounds of a match, so that the brains answer them without searching.
+ *
+ * <p>
+ * Positions are keyed by their {@link ZobristKeys} together with the difficulty that searched them, and stored in an
+ * open addressing table, so a lookup costs one hash and a few probes. The book is written by
+ * {@link OpeningBookGenerator} as a compact binary resource: a header followed by one key and one encoded move per
+ * position. Changing how positions are hashed invalidates the books written before, which is why the header carries a
+ * version.
+ * </p>
+ */
+public final class OpeningBook {
+
+    /** The classpath resource holding the book of the default map. */
+    public static final String DEFAULT_RESOURCE = "/it/unibo/scotyard/model/ai/OpeningBook.bin";
+
+    private static final Logger LOGGER = Logger.getLogger(OpeningBook.class.getName());
+    private static final int MAGIC = 0x5359_4F42;
+    private static final int VERSION = 1;
+    private static final long KEY_SEED = 0x0B00_C0DEL;
+    private static final long EMPTY = 0;
+    private static final Map<String, OpeningBook> DEFAULTS = new ConcurrentHashMap<>();
+
+    private final ZobristKeys keys;
+    private final long[] difficultyKeys;
+    private final int maxNodeId;
+    private final int rounds;
+    private final long[] slotKeys;
+    private final int[] slotMoves;
+    private final int size;
+
+    private OpeningBook(final int maxNodeId, final int rounds, final Map<Long, Integer> entries) {
+        this.keys = new ZobristKeys(maxNodeId, KEY_SEED);
+        this.difficultyKeys = new SplittableRandom(KEY_SEED + 1)
+                .longs(GameDifficulty.values().length)
+                .toArray();
+        this.maxNodeId = maxNodeId;
+        this.rounds = rounds;
+        this.size = entries.size();
+
+        // At most half full, so that probe sequences stay short
+        final int capacity = Integer.highestOneBit(Math.max(1, size) * 4 - 1);
+        this.slotKeys = new long[capacity];
+        this.slotMoves = new int[capacity];
+        entries.forEach((key, move) -> {
+            int slot = slot(key);
+            while (slotKeys[slot] != EMPTY) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slotKeys[slot] = key;
+            slotMoves[slot] = move;
+        });
+    }
+
+    /**
+     * Returns a book without positions.
+     *
+     * @param mapData the map data
+     * @return the empty book
+     */
+    public static OpeningBook empty(final MapData mapData) {
+        return new OpeningBook(mapData.getMaxNodeId(), 0, Map.of());
+    }
+
+    /**
+     * Returns the bundled book of a map, loading it once. A missing or unreadable book is logged and replaced by an
+     * empty one, since the brains can always search instead.
+     *
+     * @param mapData the map data
+     * @return the book of the map
+     */
+    public static OpeningBook getDefault(final MapData mapData) {
+        return DEFAULTS.computeIfAbsent(mapData.getName(), name -> {
+            try (InputStream in = OpeningBook.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (in == null) {
+                    LOGGER.warning("Opening book not found: " + DEFAULT_RESOURCE);
+                    return empty(mapData);
+                }
+                return read(in, mapData);
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARNING, "Cannot read the opening book", e);
+                return empty(mapData);
+            }
+        });
+    }
+
+    /**
+     * Reads a book written by {@link #write(OutputStream)}.
+     *
+     * @param in the stream, left open
+     * @param mapData the map the book has been generated for
+     * @return the book
+     * @throws IOException if the stream cannot be read or does not hold a book of the map
+     */
+    public static OpeningBook read(final InputStream in, final MapData mapData) throws IOException {
+        final DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("Not an opening book of version " + VERSION);
+        }
+        final int maxNodeId = data.readInt();
+        if (maxNodeId != mapData.getMaxNodeId()) {
+            throw new IOException("The opening book belongs to another map");
+        }
+        final int rounds = data.readInt();
+        final int count = data.readInt();
+        final Map<Long, Integer> entries = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            entries.put(data.readLong(), data.readInt());
+        }
+        return new OpeningBook(maxNodeId, rounds, entries);
+    }
+
+    /**
+     * Writes the book.
+     *
+     * @param out the stream, left open
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(final OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(maxNodeId);
+        data.writeInt(rounds);
+        data.writeInt(size);
+        for (int slot = 0; slot < slotKeys.length; slot++) {
+            if (slotKeys[slot] != EMPTY) {
+                data.writeLong(slotKeys[slot]);
+                data.writeInt(slotMoves[slot]);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Returns the number of rounds covered by the book.
+     *
+     * @return the number of rounds, 0 for an empty book
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the number of positions of the book.
+     *
+     * @return the number of positions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks up the move of a position.
+     *
+     * @param snapshot the position
+     * @param difficulty the difficulty of the brain to move
+     * @return the encoded move, or empty if the position is not in the book
+     */
+    public OptionalInt lookup(final GameSnapshot snapshot, final GameDifficulty difficulty) {
+        if (snapshot.getRound() > rounds) {
+            return OptionalInt.empty();
+        }
+        final long key = key(snapshot, difficulty);
+        for (int slot = slot(key); slotKeys[slot] != EMPTY; slot = (slot + 1) & (slotKeys.length - 1)) {
+            if (slotKeys[slot] == key) {
+                return OptionalInt.of(slotMoves[slot]);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    private long key(final GameSnapshot snapshot, final GameDifficulty difficulty) {
+        final long key = keys.hash(snapshot) ^ difficultyKeys[difficulty.ordinal()];
+        // The empty slot marker cannot be a key
+        return key == EMPTY ? 1 : key;
+    }
+
+    private int slot(final long key) {
+        return (int) (key ^ key >>> 32) & (slotKeys.length - 1);
+    }
+
+    /** Collects the positions of a book. */
+    public static final class Builder {
+        private final OpeningBook keying;
+        private final int rounds;
+        private final Map<Long, Integer> entries = new LinkedHashMap<>();
+
+        /**
+         * Creates the builder of a book.
+         *
+         * @param mapData the map data
+         * @param rounds the number of rounds covered by the book
+         */
+        public Builder(final MapData mapData, final int rounds) {
+            this.keying = empty(mapData);
+            this.rounds = rounds;
+        }
+
+        /**
+         * Returns whether the book already has a position.
+         *
+         * @param snapshot the position
+         * @param difficulty the difficulty of the brain to move
+         * @return true if the position has a move
+         */
+        public boolean contains(final GameSnapshot snapshot, final GameDifficulty difficulty) {
+            return entries.containsKey(keying.key(snapshot, difficulty));
+        }
+
+        /**
+         * Adds the move of a position.
+         *
+         * @param snapshot the position
+         * @param difficulty the difficulty of the brain to move
+         * @param move the encoded move
+         * @return this builder
+         */
+        public Builder put(final GameSnapshot snapshot, final GameDifficulty difficulty, final int move) {
+            entries.put(keying.key(snapshot, difficulty), move);
+            return this;
+        }
+
+        /**
+         * Returns the book.
+         *
+         * @return the book with the collected positions
+         */
+        public OpeningBook build() {
+            return new OpeningBook(keying.maxNodeId, rounds, entries);
+        }
+    }
+}
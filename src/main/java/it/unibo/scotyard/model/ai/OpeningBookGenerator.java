@@ -0,0 +1,187 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.GameStateImpl;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.game.Players;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.MapReader;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.players.Bobby;
+import it.unibo.scotyard.model.players.Detective;
+import it.unibo.scotyard.model.players.MisterX;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the opening book of Mister X on the default map, run offline whenever the searches or the map change.
+ *
+ * <p>
+ * Starting from every assignment of the initial positions to the players of the detective game mode, where Mister X
+ * is played by the computer, the generator walks the first rounds: Mister X plays the move found by a search several
+ * times longer than the one allowed during a match, while every move of the human seekers is followed. Positions
+ * reached through different move orders are searched once.
+ * </p>
+ */
+public final class OpeningBookGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(OpeningBookGenerator.class.getName());
+    private static final int OFFLINE_FACTOR = 4;
+
+    // The seekers of the detective game mode at every difficulty, as chosen by GameStateService
+    private static final Map<GameDifficulty, Integer> SEEKERS =
+            Map.of(GameDifficulty.MEDIUM, 2, GameDifficulty.DIFFICULT, 1);
+
+    private final MapData mapData;
+    private final MoveGenerator generator;
+    private final OpeningBook.Builder builder;
+    private final int rounds;
+
+    /**
+     * Creates the generator.
+     *
+     * @param mapData the map data
+     * @param rounds the number of rounds to cover
+     * @throws IllegalArgumentException if rounds is not positive
+     */
+    public OpeningBookGenerator(final MapData mapData, final int rounds) {
+        if (rounds <= 0) {
+            throw new IllegalArgumentException("Rounds must be positive: " + rounds);
+        }
+        this.mapData = mapData;
+        this.generator = new MoveGenerator(mapData);
+        this.builder = new OpeningBook.Builder(mapData, rounds);
+        this.rounds = rounds;
+    }
+
+    /**
+     * Searches every opening of Mister X at a difficulty.
+     *
+     * @param difficulty the difficulty of the game
+     * @param iterations the iterations of every search
+     * @param onStart called with the number of start assignments searched so far
+     * @return this generator
+     */
+    public OpeningBookGenerator generate(
+            final GameDifficulty difficulty, final int iterations, final IntConsumer onStart) {
+        final MonteCarloRunnerBrain search = new MonteCarloRunnerBrain(mapData, iterations);
+        final List<NodeId> pool = mapData.getInitialPositions();
+        final int seekers = SEEKERS.getOrDefault(difficulty, 0);
+        final int[] started = {0};
+        assign(pool, new ArrayList<>(), seekers + 1, positions -> {
+            explore(start(positions, difficulty), difficulty, search);
+            onStart.accept(++started[0]);
+        });
+        return this;
+    }
+
+    /**
+     * Returns the book of the openings searched so far.
+     *
+     * @return the book
+     */
+    public OpeningBook build() {
+        return builder.build();
+    }
+
+    private void assign(
+            final List<NodeId> pool,
+            final List<NodeId> assigned,
+            final int players,
+            final Consumer<List<NodeId>> action) {
+        if (assigned.size() == players) {
+            action.accept(assigned);
+            return;
+        }
+        for (final NodeId position : pool) {
+            if (!assigned.contains(position)) {
+                assigned.add(position);
+                assign(pool, assigned, players, action);
+                assigned.removeLast();
+            }
+        }
+    }
+
+    private GameSnapshot start(final List<NodeId> positions, final GameDifficulty difficulty) {
+        final List<Bobby> bobbies = positions.subList(2, positions.size()).stream()
+                .map(Bobby::new)
+                .toList();
+        final Players players = new Players(
+                GameMode.DETECTIVE, new MisterX(positions.get(0)), new Detective(positions.get(1)), bobbies);
+        final GameStateImpl gameState =
+                new GameStateImpl(new Random(0), GameMode.DETECTIVE, players, difficulty, mapData);
+        gameState.resetTurn();
+        return GameSnapshot.from(gameState);
+    }
+
+    private void explore(
+            final GameSnapshot snapshot, final GameDifficulty difficulty, final MonteCarloRunnerBrain search) {
+        if (snapshot.getRound() > rounds || snapshot.isRunnerCaught()) {
+            return;
+        }
+        final MoveBuffer moves = new MoveBuffer();
+        if (generator.generate(snapshot, moves) == 0) {
+            explore(snapshot.endTurn(), difficulty, search);
+            return;
+        }
+        if (snapshot.getCurrentPlayer() != GameSnapshot.RUNNER) {
+            for (int i = 0; i < moves.size(); i++) {
+                explore(snapshot.apply(moves.get(i)).endTurn(), difficulty, search);
+            }
+            return;
+        }
+        if (builder.contains(snapshot, difficulty)) {
+            return;
+        }
+        final int move = moves.get(search.search(snapshot, moves, snapshot.hashCode()));
+        builder.put(snapshot, difficulty, move);
+        explore(snapshot.apply(move).endTurn(), difficulty, search);
+    }
+
+    /**
+     * Writes the opening book of the default map.
+     *
+     * @param args the number of rounds, 1 if missing, and the output file, the bundled resource if missing
+     * @throws IOException if the map cannot be read or the book cannot be written
+     */
+    public static void main(final String[] args) throws IOException {
+        final int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        final Path output =
+                Path.of(args.length > 1 ? args[1] : "src/main/resources" + OpeningBook.DEFAULT_RESOURCE);
+        final MapData mapData;
+        try {
+            mapData = new MapReader().loadDefaultMap();
+        } catch (final MapReader.MapLoadException e) {
+            throw new IOException(e);
+        }
+
+        final OpeningBookGenerator generator = new OpeningBookGenerator(mapData, rounds);
+        for (final GameDifficulty difficulty : List.of(GameDifficulty.MEDIUM, GameDifficulty.DIFFICULT)) {
+            generator.generate(difficulty, RunnerBrain.iterationsFor(difficulty) * OFFLINE_FACTOR, started -> {
+                if (started % 100 == 0) {
+                    LOGGER.log(Level.INFO, "{0}: {1} starts", new Object[] {difficulty, started});
+                }
+            });
+        }
+
+        final OpeningBook book = generator.build();
+        Files.createDirectories(output.getParent());
+        try (OutputStream out = Files.newOutputStream(output)) {
+            book.write(out);
+        }
+        LOGGER.log(Level.INFO, "Wrote {0} positions to {1}", new Object[] {book.size(), output});
+    }
+}
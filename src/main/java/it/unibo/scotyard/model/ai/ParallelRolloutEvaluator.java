@@ -0,0 +1,242 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.map.MapData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Scores the candidate moves of Mister X by running many randomized {@link RunnerPlayout}s after each of them, spread
+ * over a dedicated {@link ForkJoinPool}.
+ *
+ * <p>
+ * The rollouts of every candidate are split in fixed-size batches, submitted round by round: the first batch of
+ * every candidate, then the second one of every candidate, and so on. Under a deadline every candidate thus gets
+ * about as many rollouts, whatever its position among the candidates. Every batch gets its own
+ * {@link SplittableRandom} split from the seed in submission order. Batch results are summed as integers, so the
+ * scores do not depend on the number of threads or on the scheduling.
+ * </p>
+ */
+public final class ParallelRolloutEvaluator implements AutoCloseable {
+
+    private static final int ROLLOUTS_PER_TASK = 32;
+    private static final int LOOK_AHEAD_ROUNDS = 5;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final long SKIPPED = -1;
+
+    private final RunnerPlayout playout;
+    private final ForkJoinPool pool;
+    private final LongAdder playouts = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+
+    /**
+     * Creates an evaluator using one worker per available processor.
+     *
+     * @param mapData the map data
+     */
+    public ParallelRolloutEvaluator(final MapData mapData) {
+        this(mapData, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an evaluator with the given number of workers.
+     *
+     * @param mapData the map data
+     * @param parallelism the number of worker threads
+     * @throws IllegalArgumentException if parallelism is not positive
+     */
+    public ParallelRolloutEvaluator(final MapData mapData, final int parallelism) {
+        this.playout = new RunnerPlayout(mapData);
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Returns the average number of rounds Mister X survives after each candidate move.
+     *
+     * @param root the snapshot before the move, with Mister X to move
+     * @param candidates the candidate moves of Mister X
+     * @param rolloutsPerMove the number of rollouts run for every candidate
+     * @param seed the seed the random streams are derived from
+     * @return the average survival length of every candidate, in the order of the buffer
+     * @throws IllegalArgumentException if rolloutsPerMove is not positive
+     */
+    public double[] evaluate(
+            final GameSnapshot root, final MoveBuffer candidates, final int rolloutsPerMove, final long seed) {
+        return evaluate(root, candidates, rolloutsPerMove, seed, TurnBudget.unlimited());
+    }
+
+    /**
+     * Returns the average number of rounds Mister X survives after each candidate move, skipping the batches not
+     * started yet once the budget is exhausted. The scores are then averaged over the rollouts actually run.
+     *
+     * @param root the snapshot before the move, with Mister X to move
+     * @param candidates the candidate moves of Mister X
+     * @param rolloutsPerMove the maximum number of rollouts run for every candidate
+     * @param seed the seed the random streams are derived from
+     * @param budget the budget of the turn
+     * @return the average survival length of every candidate, in the order of the buffer, or negative infinity for
+     *     the candidates without rollouts
+     * @throws IllegalArgumentException if rolloutsPerMove is not positive
+     */
+    public double[] evaluate(
+            final GameSnapshot root,
+            final MoveBuffer candidates,
+            final int rolloutsPerMove,
+            final long seed,
+            final TurnBudget budget) {
+        return evaluate(root, candidates, rolloutsPerMove, seed, budget, leader -> {});
+    }
+
+    /**
+     * Returns the average number of rounds Mister X survives after each candidate move, skipping the batches not
+     * started yet once the budget is exhausted, and reporting the leading candidate as the rounds of batches end.
+     *
+     * @param root the snapshot before the move, with Mister X to move
+     * @param candidates the candidate moves of Mister X
+     * @param rolloutsPerMove the maximum number of rollouts run for every candidate
+     * @param seed the seed the random streams are derived from
+     * @param budget the budget of the turn
+     * @param onLeader called with the index of the best candidate so far whenever it changes after a round
+     * @return the average survival length of every candidate, in the order of the buffer, or negative infinity for
+     *     the candidates without rollouts
+     * @throws IllegalArgumentException if rolloutsPerMove is not positive
+     */
+    public double[] evaluate(
+            final GameSnapshot root,
+            final MoveBuffer candidates,
+            final int rolloutsPerMove,
+            final long seed,
+            final TurnBudget budget,
+            final IntConsumer onLeader) {
+        if (rolloutsPerMove <= 0) {
+            throw new IllegalArgumentException("Rollouts must be positive: " + rolloutsPerMove);
+        }
+        final long start = System.nanoTime();
+        final int horizon = RunnerPlayout.horizon(root, LOOK_AHEAD_ROUNDS);
+        final SplittableRandom seeds = new SplittableRandom(seed);
+        final GameSnapshot[] afterMoves = new GameSnapshot[candidates.size()];
+        for (int i = 0; i < afterMoves.length; i++) {
+            afterMoves[i] = RunnerPlayout.advance(root, candidates.get(i));
+        }
+
+        final int batches = (rolloutsPerMove + ROLLOUTS_PER_TASK - 1) / ROLLOUTS_PER_TASK;
+        final List<List<ForkJoinTask<Long>>> rounds = new ArrayList<>(batches);
+        for (int batch = 0; batch < batches; batch++) {
+            final int count = batchSize(batch, rolloutsPerMove);
+            final List<ForkJoinTask<Long>> round = new ArrayList<>(afterMoves.length);
+            for (final GameSnapshot afterMove : afterMoves) {
+                final SplittableRandom random = seeds.split();
+                round.add(pool.submit(() -> budget.isExhausted()
+                        ? SKIPPED
+                        : rollouts(afterMove, root.getRound(), horizon, count, random)));
+            }
+            rounds.add(round);
+        }
+
+        final long[] survived = new long[afterMoves.length];
+        final long[] run = new long[afterMoves.length];
+        final double[] scores = new double[afterMoves.length];
+        Arrays.fill(scores, Double.NEGATIVE_INFINITY);
+        int leader = -1;
+        for (int batch = 0; batch < batches; batch++) {
+            final List<ForkJoinTask<Long>> round = rounds.get(batch);
+            for (int i = 0; i < afterMoves.length; i++) {
+                final long result = round.get(i).join();
+                if (result != SKIPPED) {
+                    survived[i] += result;
+                    run[i] += batchSize(batch, rolloutsPerMove);
+                    scores[i] = (double) survived[i] / run[i];
+                }
+            }
+            final int roundLeader = best(scores);
+            if (roundLeader != leader && scores[roundLeader] != Double.NEGATIVE_INFINITY) {
+                leader = roundLeader;
+                onLeader.accept(leader);
+            }
+        }
+
+        evaluationNanos.add(System.nanoTime() - start);
+        return scores;
+    }
+
+    /**
+     * Returns the index of the highest score, the first one on ties.
+     *
+     * @param scores the scores, not empty
+     * @return the index of the best score
+     */
+    public static int best(final double[] scores) {
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the total number of playouts run by this evaluator.
+     *
+     * @return the number of playouts
+     */
+    public long getPlayouts() {
+        return playouts.sum();
+    }
+
+    /**
+     * Returns the playouts run per second of evaluation, measured on the wall clock.
+     *
+     * @return the playout throughput, or zero if nothing was evaluated yet
+     */
+    public double getPlayoutsPerSecond() {
+        final long nanos = evaluationNanos.sum();
+        return nanos == 0 ? 0 : playouts.sum() * NANOS_PER_SECOND / nanos;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the parallelism of the pool
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int batchSize(final int batch, final int rolloutsPerMove) {
+        return Math.min(ROLLOUTS_PER_TASK, rolloutsPerMove - batch * ROLLOUTS_PER_TASK);
+    }
+
+    private long rollouts(
+            final GameSnapshot start,
+            final int startRound,
+            final int horizon,
+            final int count,
+            final SplittableRandom random) {
+        final MoveBuffer buffer = new MoveBuffer();
+        long survived = 0;
+        for (int i = 0; i < count; i++) {
+            survived += playout.play(start, horizon, random, buffer) - startRound;
+        }
+        playouts.add(count);
+        return survived;
+    }
+}
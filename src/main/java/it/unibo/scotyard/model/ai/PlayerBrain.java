@@ -1,8 +1,10 @@
 package it.unibo.scotyard.model.ai;
 
 import it.unibo.scotyard.model.command.GameCommand;
+import it.unibo.scotyard.model.game.GameDifficulty;
 import it.unibo.scotyard.model.game.GameState;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * The AI brain of a Player.
@@ -16,4 +18,13 @@ public interface PlayerBrain {
      * @return the list of actions performed by the AI
      */
     List<GameCommand> playTurn(GameState gameState);
+
+    /**
+     * Returns the difficulty the brain plays at, when it does not follow the difficulty of the game.
+     *
+     * @return the difficulty of the brain, or empty if it plays at the difficulty of the game
+     */
+    default Optional<GameDifficulty> getDifficulty() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,104 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.GameStateSubscriber;
+import it.unibo.scotyard.model.game.RunnerBeliefTracker;
+import it.unibo.scotyard.model.map.NodeSet;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lets a {@link PonderingBrain} think on a background thread while a human player is on turn.
+ *
+ * <p>
+ * Pondering starts from a snapshot of the game taken when the turn of the human player starts, and is cancelled when
+ * that turn ends, waiting for the brain to store what it found before the game goes on. All the methods must be
+ * called on the thread that writes the model.
+ * </p>
+ */
+public final class Ponderer implements GameStateSubscriber {
+
+    private static final Logger LOGGER = Logger.getLogger(Ponderer.class.getName());
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(task -> {
+        final Thread thread = new Thread(task, "ai-ponder");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final GameState gameState;
+    private final PonderingBrain brain;
+    private CancellationToken cancellation;
+    private Future<?> running;
+
+    /**
+     * Creates the ponderer, which still has to be subscribed to the game state.
+     *
+     * @param gameState the game state
+     * @param brain the brain pondering during the turns of the human players
+     */
+    public Ponderer(final GameState gameState, final PonderingBrain brain) {
+        this.gameState = Objects.requireNonNull(gameState, "Game state cannot be null");
+        this.brain = Objects.requireNonNull(brain, "Brain cannot be null");
+    }
+
+    @Override
+    public void onTurnStart() {
+        stop();
+        if (!gameState.getCurrentPlayer().isHuman()) {
+            return;
+        }
+        final GameSnapshot root = GameSnapshot.from(gameState);
+        final NodeSet candidates = gameState
+                .getRunnerBeliefTracker()
+                .map(RunnerBeliefTracker::getCandidates)
+                .orElseGet(() -> new NodeSet(0));
+        final GameDifficulty difficulty = gameState.getGameDifficulty();
+        final TurnBudget budget = new TurnBudget(Deadline.none(), new CancellationToken());
+        this.cancellation = budget.getCancellation();
+        this.running = EXECUTOR.submit(() -> brain.ponder(root, candidates, difficulty, budget));
+    }
+
+    @Override
+    public void onTurnEnd() {
+        stop();
+    }
+
+    @Override
+    public void onGameOver() {
+        stop();
+    }
+
+    /**
+     * Returns whether the brain is pondering.
+     *
+     * @return true if pondering has started and has not been stopped
+     */
+    public boolean isPondering() {
+        return running != null;
+    }
+
+    /** Cancels pondering and waits for the brain to stop. */
+    public void stop() {
+        if (running == null) {
+            return;
+        }
+        cancellation.cancel();
+        try {
+            running.get();
+        } catch (final ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Pondering failed", e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.map.NodeSet;
+
+/**
+ * A brain that can think ahead while another player is on turn, reusing what it found when its own turn comes.
+ */
+public interface PonderingBrain extends AnytimeBrain {
+    /**
+     * Searches the replies to the possible moves of the player on turn, until the budget is exhausted. Called on a
+     * background thread, only after the brain returned from its last turn, since turns are delivered once their brain
+     * has stopped. Implementations still guard the state they share with their turns, so as not to rely on the
+     * executor alone.
+     *
+     * @param root the snapshot of the game at the start of the turn of the other player
+     * @param runnerCandidates the nodes where the seekers know Mister X may be, empty if they do not track him; a
+     *     copy the brain may keep
+     * @param gameDifficulty the difficulty of the game
+     * @param budget the budget of the pondering, cancelled when the turn of the other player ends
+     */
+    void ponder(GameSnapshot root, NodeSet runnerCandidates, GameDifficulty gameDifficulty, TurnBudget budget);
+}
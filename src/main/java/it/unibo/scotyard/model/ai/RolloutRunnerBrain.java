@@ -0,0 +1,70 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import it.unibo.scotyard.model.command.turn.EndTurnCommand;
+import it.unibo.scotyard.model.command.turn.MoveCommand;
+import it.unibo.scotyard.model.entities.MoveAction;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A Runner AI that plays the legal move after which Mister X survives the longest on average, as measured by a
+ * {@link ParallelRolloutEvaluator}. The leading move is reported to the budget after every round of rollouts, and
+ * once the budget of the turn is exhausted the moves are compared on the rollouts run so far.
+ */
+public final class RolloutRunnerBrain implements AnytimeBrain {
+
+    private final ParallelRolloutEvaluator evaluator;
+    private final int rolloutsPerMove;
+
+    /**
+     * Creates the brain.
+     *
+     * @param evaluator the evaluator scoring the candidate moves
+     * @param rolloutsPerMove the number of rollouts run for every candidate move
+     * @throws IllegalArgumentException if rolloutsPerMove is not positive
+     */
+    public RolloutRunnerBrain(final ParallelRolloutEvaluator evaluator, final int rolloutsPerMove) {
+        if (rolloutsPerMove <= 0) {
+            throw new IllegalArgumentException("Rollouts must be positive: " + rolloutsPerMove);
+        }
+        this.evaluator = Objects.requireNonNull(evaluator, "Evaluator cannot be null");
+        this.rolloutsPerMove = rolloutsPerMove;
+    }
+
+    @Override
+    public List<GameCommand> playTurn(final GameState gameState, final TurnBudget budget) {
+        final List<MoveAction> legalMoves = gameState.getTurnState().getLegalMoves();
+        final long seed = gameState.getSeededRandom().nextLong();
+        budget.report(commandsFor(legalMoves.getFirst()));
+        if (legalMoves.size() == 1) {
+            return commandsFor(legalMoves.getFirst());
+        }
+
+        final GameSnapshot root = GameSnapshot.from(gameState);
+        final MoveBuffer candidates = new MoveBuffer();
+        final int origin = root.getPosition(GameSnapshot.RUNNER);
+        for (final MoveAction move : legalMoves) {
+            candidates.add(MoveGenerator.encode(origin, move.destination().id(), move.transportType()));
+        }
+
+        final double[] scores = evaluator.evaluate(
+                root,
+                candidates,
+                rolloutsPerMove,
+                seed,
+                budget,
+                leader -> budget.report(commandsFor(legalMoves.get(leader))));
+        final List<GameCommand> commands = commandsFor(legalMoves.get(ParallelRolloutEvaluator.best(scores)));
+        budget.report(commands);
+        return commands;
+    }
+
+    private static List<GameCommand> commandsFor(final MoveAction move) {
+        return List.of(MoveCommand.fromMoveAction(move), new EndTurnCommand());
+    }
+}
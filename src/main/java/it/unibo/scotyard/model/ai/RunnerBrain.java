@@ -4,129 +4,216 @@ import it.unibo.scotyard.model.command.GameCommand;
 import it.unibo.scotyard.model.command.turn.EndTurnCommand;
 import it.unibo.scotyard.model.command.turn.MoveCommand;
 import it.unibo.scotyard.model.entities.MoveAction;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameSnapshot;
 import it.unibo.scotyard.model.game.GameState;
-import it.unibo.scotyard.model.map.MapConnection;
+import it.unibo.scotyard.model.game.MoveGenerator;
 import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import it.unibo.scotyard.model.map.TransportType;
-import it.unibo.scotyard.model.players.Player;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Random;
-import java.util.function.ToIntFunction;
 
 /**
  * The AI used by the Runner
  */
-public class RunnerBrain implements PlayerBrain {
-
-    private final MapData mapData;
+public class RunnerBrain implements PonderingBrain {
+
+    private static final int MEDIUM_ITERATIONS = 1_000;
+    private static final int DIFFICULT_ITERATIONS = 10_000;
+    private static final int MEDIUM_ROLLOUTS_PER_MOVE = 64;
+    private static final int ENDGAME_ROUNDS = 2;
+    private static final long ENDGAME_NODES = 2_000_000;
+    private static final int ENDGAME_SOLVED_POSITIONS = 1 << 17;
+    private static final double ENDGAME_TIME_SHARE = 0.5;
+
+    private final AnytimeBrain mediumSearch;
+    private final AnytimeBrain difficultSearch;
+    private final Optional<OpeningBook> openingBook;
+    private final Optional<EndgameSolver> endgameSolver;
+    private final Optional<GameDifficulty> difficulty;
 
+    /**
+     * Creates the brain, searching the moves with a Monte Carlo tree search.
+     *
+     * @param mapData the map data
+     */
     public RunnerBrain(final MapData mapData) {
-        this.mapData = mapData;
+        this(mapData, new MonteCarloRunnerBrain(mapData, MEDIUM_ITERATIONS), Optional.empty());
     }
 
-    @Override
-    public List<GameCommand> playTurn(GameState gameState) {
-        return switch (gameState.getGameDifficulty()) {
-            case EASY -> movingRandomly(gameState);
-            case MEDIUM -> moveFurthestAway(gameState, 0.6f);
-            case DIFFICULT -> moveFurthestAway(gameState, 0.2f);
-        };
+    /**
+     * Creates the brain playing at the given difficulty, whatever the difficulty of the game.
+     *
+     * @param mapData the map data
+     * @param difficulty the difficulty of the brain
+     */
+    public RunnerBrain(final MapData mapData, final GameDifficulty difficulty) {
+        this(mapData, new MonteCarloRunnerBrain(mapData, MEDIUM_ITERATIONS), Optional.of(difficulty));
     }
 
     /**
-     * An AI that plays a random valid move each turn.
+     * Creates the brain playing at the given difficulty in parallel evaluation mode: at the medium difficulty every
+     * legal move is scored with rollouts run on the evaluator instead of the tree search, which uses a single core.
+     * The evaluator is owned by the caller, which has to close it once the game is over.
      *
-     * @param gameState the game state
-     * @return the actions performed by the AI
+     * @param mapData the map data
+     * @param difficulty the difficulty of the brain
+     * @param evaluator the evaluator running the rollouts
      */
-    private List<GameCommand> movingRandomly(GameState gameState) {
-        final Random random = gameState.getSeededRandom();
-        final List<MoveAction> legalMoves = gameState.getTurnState().getLegalMoves();
+    public RunnerBrain(
+            final MapData mapData, final GameDifficulty difficulty, final ParallelRolloutEvaluator evaluator) {
+        this(mapData, new RolloutRunnerBrain(evaluator, MEDIUM_ROLLOUTS_PER_MOVE), Optional.of(difficulty));
+    }
 
-        final MoveAction selectedMove = random.ints(0, legalMoves.size())
-                .mapToObj(legalMoves::get)
-                .findFirst()
-                .orElseThrow();
+    private RunnerBrain(
+            final MapData mapData, final AnytimeBrain mediumSearch, final Optional<GameDifficulty> difficulty) {
+        this.mediumSearch = mediumSearch;
+        this.difficultSearch = new MonteCarloRunnerBrain(mapData, DIFFICULT_ITERATIONS);
+        this.openingBook = Optional.of(OpeningBook.getDefault(mapData));
+        this.endgameSolver = Optional.of(newEndgameSolver(mapData));
+        this.difficulty = difficulty;
+    }
 
-        return List.of(MoveCommand.fromMoveAction(selectedMove), new EndTurnCommand());
+    @Override
+    public Optional<GameDifficulty> getDifficulty() {
+        return difficulty;
+    }
+
+    @Override
+    public List<GameCommand> playTurn(GameState gameState, TurnBudget budget) {
+        if (gameState.getTurnState().getLegalMoves().isEmpty()) {
+            // Mister X is surrounded and can only pass
+            final List<GameCommand> commands = List.of(new EndTurnCommand());
+            budget.report(commands);
+            return commands;
+        }
+        final GameDifficulty gameDifficulty = difficulty.orElse(gameState.getGameDifficulty());
+        if (gameDifficulty != GameDifficulty.EASY) {
+            final Optional<List<GameCommand>> known = fromOpeningBook(gameState, gameDifficulty)
+                    .or(() -> fromEndgameSolver(gameState, budget));
+            if (known.isPresent()) {
+                budget.report(known.get());
+                return known.get();
+            }
+        }
+        return switch (gameDifficulty) {
+            case EASY -> movingRandomly(gameState, budget);
+            case MEDIUM -> mediumSearch.playTurn(gameState, budget);
+            case DIFFICULT -> difficultSearch.playTurn(gameState, budget);
+        };
     }
 
     /**
-     * A Runner AI that prioritizes nodes further away from the seekers.
+     * Returns the number of iterations of the search at a difficulty.
      *
-     * @param gameState the game state
-     * @param error the percentage of randomness in the moves,
-     *              with one being only random moves and zero
-     *              being the move furthest away from the seekers
-     * @return the actions performed by the AI
+     * @param difficulty the difficulty
+     * @return the iterations of the tree search, 0 if Mister X does not search
      */
-    private List<GameCommand> moveFurthestAway(final GameState gameState, final float error) {
-        final Random random = gameState.getSeededRandom();
-        final List<MoveAction> legalMoves = gameState.getTurnState().getLegalMoves();
-        final List<NodeId> seekersPositions =
-                gameState.getPlayers().getSeekers().map(Player::getPosition).toList();
-
-        final int[] distanceMap = seekerMinimumDistance(seekersPositions);
-        final ToIntFunction<MoveAction> scoringFunction =
-                it -> distanceMap[it.destination().id()];
-
-        final List<MoveAction> sortedMoves = legalMoves.stream()
-                .sorted(Comparator.comparingInt(scoringFunction).reversed())
-                .toList();
+    static int iterationsFor(final GameDifficulty difficulty) {
+        return switch (difficulty) {
+            case EASY -> 0;
+            case MEDIUM -> MEDIUM_ITERATIONS;
+            case DIFFICULT -> DIFFICULT_ITERATIONS;
+        };
+    }
 
-        final int acceptedRange = Math.max(1, Math.round(sortedMoves.size() * error));
-        final int moveQuality = random.nextInt(acceptedRange);
-        final MoveAction selectedMove = sortedMoves.get(moveQuality);
+    /**
+     * Answers the first rounds from the opening book, when the position is in it and its move is still legal.
+     *
+     * @param gameState the game state
+     * @param gameDifficulty the difficulty of the brain
+     * @return the commands of the booked move, or empty if the position has to be searched
+     */
+    private Optional<List<GameCommand>> fromOpeningBook(
+            final GameState gameState, final GameDifficulty gameDifficulty) {
+        if (openingBook.isEmpty() || gameState.getGameRound() > openingBook.get().getRounds()) {
+            return Optional.empty();
+        }
+        final OptionalInt move = openingBook.get().lookup(GameSnapshot.from(gameState), gameDifficulty);
+        return move.isEmpty() ? Optional.empty() : commandsFor(gameState, move.getAsInt());
+    }
 
-        return List.of(MoveCommand.fromMoveAction(selectedMove), new EndTurnCommand());
+    /**
+     * Plays a move that wins whatever the seekers do, once the end of the match is close enough to be solved. The
+     * solver gets half of the time left, so that the search can still run when it fails.
+     *
+     * @param gameState the game state
+     * @param budget the budget of the turn
+     * @return the commands of the winning move, or empty if the position has to be searched
+     */
+    private Optional<List<GameCommand>> fromEndgameSolver(final GameState gameState, final TurnBudget budget) {
+        if (endgameSolver.isEmpty()) {
+            return Optional.empty();
+        }
+        final GameSnapshot snapshot = GameSnapshot.from(gameState);
+        if (!endgameSolver.get().isInHorizon(snapshot)) {
+            return Optional.empty();
+        }
+        final TurnBudget solveBudget = new TurnBudget(
+                budget.getDeadline().portion(ENDGAME_TIME_SHARE), budget.getCancellation());
+        final OptionalInt move = endgameSolver.get().winningMove(snapshot, solveBudget);
+        return move.isEmpty() ? Optional.empty() : commandsFor(gameState, move.getAsInt());
     }
 
     /**
-     * Uses Multi-Source BFS to calculate the minimum number of hops
-     * needed to reach each graph node from any seeker position.
+     * Returns the commands playing an encoded move, if it is still legal.
      *
-     * @param seekerPositions the position of all seeker players
-     * @return an array where the i-th index contains the distance between the seekers and the node with id i
+     * @param gameState the game state
+     * @param move the encoded move
+     * @return the commands, or empty if the move is not legal
      */
-    private int[] seekerMinimumDistance(final Collection<NodeId> seekerPositions) {
-        // We allocate for one more node to allow direct indexing with the 1-based node ids
-        final boolean[] visited = new boolean[mapData.getNodeCount() + 1];
-        final int[] distance = new int[mapData.getNodeCount() + 1];
+    private static Optional<List<GameCommand>> commandsFor(final GameState gameState, final int move) {
+        final NodeId destination = new NodeId(MoveGenerator.destination(move));
+        final TransportType transport = MoveGenerator.transport(move);
+        return gameState.getTurnState().getLegalMoves().stream()
+                .filter(it -> it.destination().equals(destination) && it.transportType() == transport)
+                .findFirst()
+                .map(it -> List.of(MoveCommand.fromMoveAction(it), new EndTurnCommand()));
+    }
 
-        // High value for unreachable nodes
-        Arrays.fill(distance, 200);
+    private static EndgameSolver newEndgameSolver(final MapData mapData) {
+        return new EndgameSolver(mapData, ENDGAME_ROUNDS, ENDGAME_NODES, ENDGAME_SOLVED_POSITIONS);
+    }
 
-        // Set to zero the distances to the seekers current position
-        for (final NodeId node : seekerPositions) {
-            distance[node.id()] = 0;
+    @Override
+    public void ponder(
+            final GameSnapshot root,
+            final NodeSet runnerCandidates,
+            final GameDifficulty gameDifficulty,
+            final TurnBudget budget) {
+        final AnytimeBrain search =
+                switch (difficulty.orElse(gameDifficulty)) {
+                    case EASY -> null;
+                    case MEDIUM -> mediumSearch;
+                    case DIFFICULT -> difficultSearch;
+                };
+        if (search instanceof PonderingBrain pondering) {
+            pondering.ponder(root, runnerCandidates, gameDifficulty, budget);
         }
+    }
 
-        Queue<NodeId> queue = new LinkedList<>(seekerPositions);
-        while (!queue.isEmpty()) {
-            final NodeId current = queue.remove();
-
-            for (final MapConnection con : mapData.getConnectionsFrom(current)) {
-                if (con.getTransport() == TransportType.FERRY) {
-                    // Seekers cannot take ferries, we cannot mark the node as visited
-                    // in case there is an alternative connection with another ticket type
-                    continue;
-                }
-
-                final NodeId node = con.getTo();
-                if (!visited[node.id()]) {
-                    visited[node.id()] = true;
-                    distance[node.id()] = distance[current.id()] + 1;
-                    queue.add(node);
-                }
-            }
-        }
+    /**
+     * An AI that plays a random valid move each turn.
+     *
+     * @param gameState the game state
+     * @param budget the budget of the turn
+     * @return the actions performed by the AI
+     */
+    private List<GameCommand> movingRandomly(GameState gameState, TurnBudget budget) {
+        final Random random = gameState.getSeededRandom();
+        final List<MoveAction> legalMoves = gameState.getTurnState().getLegalMoves();
+
+        final MoveAction selectedMove = random.ints(0, legalMoves.size())
+                .mapToObj(legalMoves::get)
+                .findFirst()
+                .orElseThrow();
 
-        return distance;
+        final List<GameCommand> commands = List.of(MoveCommand.fromMoveAction(selectedMove), new EndTurnCommand());
+        budget.report(commands);
+        return commands;
     }
 }
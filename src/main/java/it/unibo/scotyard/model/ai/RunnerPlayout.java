@@ -0,0 +1,147 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.map.DistanceTable;
+import it.unibo.scotyard.model.map.MapData;
+import java.util.SplittableRandom;
+
+/**
+ * Simulates the rest of a match from a {@link GameSnapshot} with cheap, distance-based policies: Mister X usually
+ * moves away from the closest seeker and the seekers usually move towards Mister X. Every choice is made at random
+ * with a small probability, so repeated playouts explore different futures.
+ *
+ * <p>
+ * The instance only holds immutable map data and can be shared between threads, as long as every thread passes its
+ * own random generator and move buffer.
+ * </p>
+ */
+public final class RunnerPlayout {
+
+    /** Move that passes the turn, used when the player to move has no legal moves. */
+    public static final int PASS = -1;
+
+    private static final double GREEDY_PROBABILITY = 0.8;
+
+    private final MoveGenerator moveGenerator;
+    private final DistanceTable distances;
+
+    /**
+     * Creates the playout policy for the map.
+     *
+     * @param mapData the map data
+     */
+    public RunnerPlayout(final MapData mapData) {
+        this.moveGenerator = new MoveGenerator(mapData);
+        this.distances = mapData.getSeekerDistances();
+    }
+
+    /**
+     * Returns the move generator used by the playouts.
+     *
+     * @return the move generator
+     */
+    public MoveGenerator getMoveGenerator() {
+        return moveGenerator;
+    }
+
+    /**
+     * Returns the round at which a search started from the snapshot should stop looking ahead.
+     *
+     * @param start the snapshot the search starts from
+     * @param rounds the number of rounds to look ahead
+     * @return the last round to simulate (exclusive)
+     */
+    public static int horizon(final GameSnapshot start, final int rounds) {
+        return Math.min(MagicNumbers.FINAL_ROUND_COUNT + 1, start.getRound() + rounds);
+    }
+
+    /**
+     * Applies a move and ends the turn when the player has no moves left, unless Mister X has been caught.
+     *
+     * @param snapshot the snapshot
+     * @param move the encoded move, or {@link #PASS}
+     * @return the resulting snapshot
+     */
+    public static GameSnapshot advance(final GameSnapshot snapshot, final int move) {
+        if (move == PASS) {
+            return snapshot.endTurn();
+        }
+        final GameSnapshot next = snapshot.apply(move);
+        return next.isRunnerCaught() || next.getRemainingMoves() > 0 ? next : next.endTurn();
+    }
+
+    /**
+     * Plays the match until Mister X is caught or trapped, or until the horizon is reached.
+     *
+     * @param start the snapshot to start from
+     * @param horizon the round at which the playout stops (exclusive)
+     * @param random the random generator of the calling thread
+     * @param buffer the move buffer of the calling thread
+     * @return the round in which the playout ended, equal to the horizon if Mister X survived
+     */
+    public int play(
+            final GameSnapshot start, final int horizon, final SplittableRandom random, final MoveBuffer buffer) {
+        GameSnapshot current = start;
+        while (!current.isRunnerCaught() && current.getRound() < horizon) {
+            if (moveGenerator.generate(current, buffer) == 0) {
+                if (current.getCurrentPlayer() == GameSnapshot.RUNNER) {
+                    // Mister X cannot move, which is as good as being caught
+                    break;
+                }
+                current = current.endTurn();
+                continue;
+            }
+            current = advance(current, choose(current, random, buffer));
+        }
+        return Math.min(current.getRound(), horizon);
+    }
+
+    /**
+     * Chooses the move of the current player among the moves in the buffer.
+     *
+     * @param snapshot the snapshot
+     * @param random the random generator of the calling thread
+     * @param buffer the legal moves of the current player, not empty
+     * @return the chosen encoded move
+     */
+    public int choose(final GameSnapshot snapshot, final SplittableRandom random, final MoveBuffer buffer) {
+        if (random.nextDouble() >= GREEDY_PROBABILITY) {
+            return buffer.get(random.nextInt(buffer.size()));
+        }
+
+        final boolean runner = snapshot.getCurrentPlayer() == GameSnapshot.RUNNER;
+        final int runnerPosition = snapshot.getPosition(GameSnapshot.RUNNER);
+        int best = buffer.get(0);
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < buffer.size(); i++) {
+            final int move = buffer.get(i);
+            final int destination = MoveGenerator.destination(move);
+            final int score = runner
+                    ? nearestSeekerDistance(snapshot, destination)
+                    : -distances.distance(destination, runnerPosition);
+            if (score > bestScore) {
+                best = move;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the minimum number of hops needed by any seeker of the snapshot to reach the node.
+     *
+     * @param snapshot the snapshot
+     * @param nodeId the target node id
+     * @return the distance between the closest seeker and the node
+     */
+    public int nearestSeekerDistance(final GameSnapshot snapshot, final int nodeId) {
+        int minimum = DistanceTable.UNREACHABLE;
+        for (int seeker = GameSnapshot.RUNNER + 1; seeker < snapshot.getPlayerCount(); seeker++) {
+            minimum = Math.min(minimum, distances.distance(snapshot.getPosition(seeker), nodeId));
+        }
+        return minimum;
+    }
+}
@@ -1,29 +1,67 @@
 package it.unibo.scotyard.model.ai;
 
-import it.unibo.scotyard.model.Pair;
 import it.unibo.scotyard.model.command.GameCommand;
 import it.unibo.scotyard.model.command.turn.EndTurnCommand;
 import it.unibo.scotyard.model.command.turn.MoveCommand;
+import it.unibo.scotyard.model.entities.MoveAction;
 import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameSnapshot;
 import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.game.RunnerBeliefTracker;
+import it.unibo.scotyard.model.map.DistanceTable;
+import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import it.unibo.scotyard.model.map.TransportType;
 import it.unibo.scotyard.model.players.Detective;
 import it.unibo.scotyard.model.players.Player;
 import it.unibo.scotyard.model.players.TicketType;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
+import java.util.function.ToIntFunction;
 
 /*
  * The AI used by Detective and Bobbies
  */
-public class SeekerBrain implements PlayerBrain {
+public class SeekerBrain implements PonderingBrain {
 
+    private final MapData mapData;
     private final Random random;
+    private final Optional<SeekerPlanner> planner;
+    private final Optional<SeekerSearch> search;
+    private final Optional<GameDifficulty> difficulty;
 
-    public SeekerBrain(final Random random) {
+    public SeekerBrain(final MapData mapData, final Random random) {
+        this.mapData = mapData;
         this.random = random;
+        this.planner = Optional.empty();
+        this.search = Optional.empty();
+        this.difficulty = Optional.empty();
+    }
+
+    /**
+     * Creates a brain playing at the given difficulty that searches its moves against the nodes where Mister X may
+     * be, as deep as the difficulty allows, and follows the joint plan of all the seekers when he cannot be tracked.
+     *
+     * @param mapData the map data
+     * @param random the random instance of the match
+     * @param planner the planner shared by all the seekers
+     * @param search the search shared by all the seekers
+     * @param difficulty the difficulty of the brain, whatever the difficulty of the game
+     */
+    public SeekerBrain(
+            final MapData mapData,
+            final Random random,
+            final SeekerPlanner planner,
+            final SeekerSearch search,
+            final GameDifficulty difficulty) {
+        this.mapData = mapData;
+        this.random = random;
+        this.planner = Optional.of(planner);
+        this.search = Optional.of(search);
+        this.difficulty = Optional.of(difficulty);
     }
 
     private TicketType convertTransportType(TransportType transportType) {
@@ -43,13 +81,17 @@ public class SeekerBrain implements PlayerBrain {
     }
 
     @Override
-    public List<GameCommand> playTurn(GameState gameState) {
-        GameDifficulty gameDifficulty = gameState.getGameDifficulty();
+    public Optional<GameDifficulty> getDifficulty() {
+        return difficulty;
+    }
+
+    @Override
+    public List<GameCommand> playTurn(GameState gameState, TurnBudget budget) {
+        GameDifficulty gameDifficulty = difficulty.orElse(gameState.getGameDifficulty());
         Player player = gameState.getCurrentPlayer();
-        List<Pair<NodeId, TransportType>> possibleDestinations = new ArrayList<>();
-        possibleDestinations = gameState.getPossibleDestinations().stream().toList();
+        final List<MoveAction> possibleDestinations = gameState.getTurnState().getLegalMoves();
 
-        Pair<NodeId, TransportType> selectedMove;
+        MoveAction selectedMove;
         NodeId misterXNodeId = gameState.getLastRevealedMisterXPosition();
 
         switch (gameDifficulty) {
@@ -57,37 +99,158 @@ public class SeekerBrain implements PlayerBrain {
             case EASY:
                 // Selects a random destination among the possible ones
                 selectedMove = possibleDestinations.get(random.nextInt(possibleDestinations.size()));
-                return List.of(new MoveCommand(selectedMove.getX(), selectedMove.getY()), new EndTurnCommand());
+                return report(budget, selectedMove);
             case MEDIUM:
             case DIFFICULT:
-                // Selects the destination that has the closer NodeId number to the NodeId of the current position of
-                // Mister X
+                final Optional<MoveAction> searched = search(gameState, gameDifficulty, budget);
+                if (searched.isPresent()) {
+                    return report(budget, searched.get());
+                }
+                // Selects the destination closest to the position of Mister X
+                final ToIntFunction<NodeId> distanceToRunner;
                 if (GameDifficulty.DIFFICULT.equals(gameDifficulty)) {
-                    misterXNodeId = gameState.getPlayers().getMisterX().getPosition();
+                    distanceToRunner = planner.map(it -> distanceTo(it.getTarget(gameState, player)))
+                            .orElseGet(() -> distanceToCandidates(gameState, misterXNodeId));
+                } else {
+                    distanceToRunner = distanceTo(misterXNodeId);
                 }
                 selectedMove = possibleDestinations.getFirst();
-                for (Pair<NodeId, TransportType> pair : possibleDestinations) {
-                    int currentDifference =
-                            Math.abs((misterXNodeId.id()) - pair.getX().id());
-                    int lowestDifference =
-                            Math.abs((misterXNodeId.id()) - selectedMove.getX().id());
+                report(budget, selectedMove);
+                for (MoveAction move : possibleDestinations) {
+                    if (budget.isExhausted()) {
+                        break;
+                    }
+                    int currentDifference = distanceToRunner.applyAsInt(move.destination());
+                    int lowestDifference = distanceToRunner.applyAsInt(selectedMove.destination());
                     if (currentDifference <= lowestDifference) {
                         /* If the player is a Detective and the two differences are the same,
                         /* the new closerNode is selected according to the number and type of tickets possessed
                         /* by the player : among the two possible destinations, the one selected is the one for
                         /* which the player has a bigger amount of tickets (according to the TicketType). */
                         if (player instanceof Detective && currentDifference == lowestDifference) {
-                            int ticketsPrevious = player.getNumberTickets(convertTransportType(selectedMove.getY()));
-                            int ticketsCurrent = player.getNumberTickets(convertTransportType(pair.getY()));
+                            int ticketsPrevious =
+                                    player.getNumberTickets(convertTransportType(selectedMove.transportType()));
+                            int ticketsCurrent = player.getNumberTickets(convertTransportType(move.transportType()));
                             if (ticketsPrevious <= ticketsCurrent) {
-                                selectedMove = pair;
+                                selectedMove = move;
                             }
                         } else {
-                            selectedMove = pair;
+                            selectedMove = move;
                         }
                     }
                 }
-                return List.of(new MoveCommand(selectedMove.getX(), selectedMove.getY()), new EndTurnCommand());
+                return report(budget, selectedMove);
+        }
+    }
+
+    /**
+     * Warms the search shared by the seekers while Mister X is on turn, searching the positions the first seeker
+     * may face after his move. Easy seekers and brains without a search do not ponder.
+     */
+    @Override
+    public void ponder(
+            final GameSnapshot root,
+            final NodeSet runnerCandidates,
+            final GameDifficulty gameDifficulty,
+            final TurnBudget budget) {
+        final Optional<SeekerSearch.Limits> limits =
+                SeekerSearch.Limits.forDifficulty(difficulty.orElse(gameDifficulty));
+        if (search.isPresent()
+                && limits.isPresent()
+                && !runnerCandidates.isEmpty()
+                && root.getCurrentPlayer() == GameSnapshot.RUNNER) {
+            search.get().ponder(root, runnerCandidates, limits.get(), budget);
+        }
+    }
+
+    /**
+     * Reports the move as the best one found so far.
+     *
+     * @param budget the budget of the turn
+     * @param move the move
+     * @return the commands playing the move
+     */
+    private static List<GameCommand> report(final TurnBudget budget, final MoveAction move) {
+        final List<GameCommand> commands = List.of(MoveCommand.fromMoveAction(move), new EndTurnCommand());
+        budget.report(commands);
+        return commands;
+    }
+
+    /**
+     * Searches the move of the seeker against the nodes where Mister X may be, reporting the best move of every
+     * completed iteration.
+     *
+     * @param gameState the game state
+     * @param gameDifficulty the difficulty of the brain
+     * @param budget the budget of the turn
+     * @return the move, or empty if the seeker does not search at this difficulty or Mister X is not tracked
+     */
+    private Optional<MoveAction> search(
+            final GameState gameState, final GameDifficulty gameDifficulty, final TurnBudget budget) {
+        final Optional<SeekerSearch.Limits> limits = SeekerSearch.Limits.forDifficulty(gameDifficulty);
+        final NodeSet candidates = gameState
+                .getRunnerBeliefTracker()
+                .map(RunnerBeliefTracker::getCandidates)
+                .orElseGet(() -> NodeSet.forMap(mapData));
+        if (search.isEmpty() || limits.isEmpty() || candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        final List<MoveAction> legalMoves = gameState.getTurnState().getLegalMoves();
+        final int move = search.get()
+                .search(
+                        GameSnapshot.from(gameState),
+                        candidates,
+                        limits.get(),
+                        budget,
+                        best -> report(budget, toMoveAction(best, legalMoves)));
+        return move == SeekerSearch.PASS ? Optional.empty() : Optional.of(toMoveAction(move, legalMoves));
+    }
+
+    private static MoveAction toMoveAction(final int move, final List<MoveAction> legalMoves) {
+        final NodeId destination = new NodeId(MoveGenerator.destination(move));
+        final TransportType transport = MoveGenerator.transport(move);
+        return legalMoves.stream()
+                .filter(it -> it.destination().equals(destination) && it.transportType() == transport)
+                .findFirst()
+                .orElse(legalMoves.getFirst());
+    }
+
+    /**
+     * Returns the distance from a node to the given position of Mister X.
+     *
+     * @param misterXNodeId the position of Mister X
+     * @return the distance function
+     */
+    private ToIntFunction<NodeId> distanceTo(final NodeId misterXNodeId) {
+        final DistanceTable distances = mapData.getSeekerDistances();
+        return node -> distances.distance(node, misterXNodeId);
+    }
+
+    /**
+     * Returns the total distance from a node to every position where Mister X may be, without peeking at his real
+     * position. Falls back to the last revealed position when Mister X is not tracked.
+     *
+     * @param gameState the game state
+     * @param misterXNodeId the last revealed position of Mister X
+     * @return the distance function
+     */
+    private ToIntFunction<NodeId> distanceToCandidates(final GameState gameState, final NodeId misterXNodeId) {
+        final NodeSet candidates = gameState
+                .getRunnerBeliefTracker()
+                .map(RunnerBeliefTracker::getCandidates)
+                .orElseGet(() -> NodeSet.forMap(mapData));
+        if (candidates.isEmpty()) {
+            return distanceTo(misterXNodeId);
         }
+        final DistanceTable distances = mapData.getSeekerDistances();
+        return node -> {
+            int total = 0;
+            for (int candidate = candidates.nextSetBit(0);
+                    candidate >= 0;
+                    candidate = candidates.nextSetBit(candidate + 1)) {
+                total += distances.distance(node.id(), candidate);
+            }
+            return total;
+        };
     }
 }
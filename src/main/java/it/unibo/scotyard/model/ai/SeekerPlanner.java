@@ -0,0 +1,208 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.RunnerBeliefTracker;
+import it.unibo.scotyard.model.map.DistanceTable;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.players.Player;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plans the pursuit of the seekers jointly, once per round, so that they spread over the places where Mister X may
+ * be instead of all chasing the same node.
+ *
+ * <p>
+ * The nodes where Mister X may be are split in as many regions as there are seekers, picking the region centres
+ * with a farthest-first traversal so that they are as far apart as possible. Seekers are then matched to regions by
+ * a minimum-cost assignment over the hop distances of the map, and every seeker walks towards the centre of its
+ * region. One planner is shared by the brains of all the seekers of a match.
+ * </p>
+ */
+public final class SeekerPlanner {
+
+    private final MapData mapData;
+    private final DistanceTable distances;
+
+    private GameState plannedGame;
+    private int plannedRound;
+    private List<Player> plannedSeekers = List.of();
+    private int[] plannedTargets = new int[0];
+
+    /**
+     * Creates the planner.
+     *
+     * @param mapData the map data
+     */
+    public SeekerPlanner(final MapData mapData) {
+        this.mapData = mapData;
+        this.distances = mapData.getSeekerDistances();
+    }
+
+    /**
+     * Returns the node the seeker should move towards in the current round, planning the round if needed.
+     *
+     * @param gameState the game state
+     * @param seeker the seeker to move
+     * @return the target node of the seeker
+     */
+    public NodeId getTarget(final GameState gameState, final Player seeker) {
+        if (plannedGame != gameState || plannedRound != gameState.getGameRound()) {
+            plan(gameState);
+        }
+        final int index = plannedSeekers.indexOf(seeker);
+        return index < 0 ? gameState.getLastRevealedMisterXPosition() : new NodeId(plannedTargets[index]);
+    }
+
+    private void plan(final GameState gameState) {
+        final List<Player> seekers = gameState.getPlayers().getSeekers().toList();
+        final NodeSet candidates = gameState
+                .getRunnerBeliefTracker()
+                .map(RunnerBeliefTracker::getCandidates)
+                .orElseGet(() -> NodeSet.forMap(mapData));
+        final NodeId lastRevealed = gameState.getLastRevealedMisterXPosition();
+        if (candidates.isEmpty() && lastRevealed.id() != MagicNumbers.NOT_REVEALED_YET) {
+            candidates.add(lastRevealed);
+        }
+
+        final int[] centres = regionCentres(candidates, seekers.size());
+        final int[][] costs = new int[seekers.size()][seekers.size()];
+        for (int s = 0; s < seekers.size(); s++) {
+            final int position = seekers.get(s).getPosition().id();
+            for (int r = 0; r < centres.length; r++) {
+                costs[s][r] = distances.distance(position, centres[r]);
+            }
+        }
+        final int[] assignment = assign(costs);
+
+        final int[] targets = new int[seekers.size()];
+        for (int s = 0; s < targets.length; s++) {
+            targets[s] = centres.length == 0 ? lastRevealed.id() : centres[assignment[s]];
+        }
+
+        this.plannedGame = gameState;
+        this.plannedRound = gameState.getGameRound();
+        this.plannedSeekers = seekers;
+        this.plannedTargets = targets;
+    }
+
+    /**
+     * Picks the centres of the regions with a farthest-first traversal of the candidates. When there are fewer
+     * candidates than regions, the centres repeat so that the extra seekers reinforce the busiest regions.
+     *
+     * @param candidates the nodes where Mister X may be
+     * @param regions the number of regions
+     * @return the region centres, or an empty array if there are no candidates
+     */
+    int[] regionCentres(final NodeSet candidates, final int regions) {
+        if (candidates.isEmpty()) {
+            return new int[0];
+        }
+        final int[] centres = new int[regions];
+        final int[] nearest = new int[mapData.getMaxNodeId() + 1];
+        Arrays.fill(nearest, Integer.MAX_VALUE);
+
+        // The first centre is the candidate closest to all the others
+        int first = candidates.nextSetBit(0);
+        int firstTotal = Integer.MAX_VALUE;
+        for (int node = candidates.nextSetBit(0); node >= 0; node = candidates.nextSetBit(node + 1)) {
+            int total = 0;
+            for (int other = candidates.nextSetBit(0); other >= 0; other = candidates.nextSetBit(other + 1)) {
+                total += distances.distance(node, other);
+            }
+            if (total < firstTotal) {
+                first = node;
+                firstTotal = total;
+            }
+        }
+
+        int distinct = 0;
+        int centre = first;
+        while (distinct < regions) {
+            centres[distinct++] = centre;
+            int farthest = centre;
+            int farthestDistance = 0;
+            for (int node = candidates.nextSetBit(0); node >= 0; node = candidates.nextSetBit(node + 1)) {
+                nearest[node] = Math.min(nearest[node], distances.distance(centre, node));
+                if (nearest[node] > farthestDistance) {
+                    farthest = node;
+                    farthestDistance = nearest[node];
+                }
+            }
+            if (farthestDistance == 0) {
+                // Every candidate is already a centre
+                break;
+            }
+            centre = farthest;
+        }
+        for (int r = distinct; r < regions; r++) {
+            centres[r] = centres[r - distinct];
+        }
+        return centres;
+    }
+
+    /**
+     * Solves the square assignment problem with the Hungarian algorithm in O(n^3).
+     *
+     * @param costs the cost of assigning every row to every column
+     * @return the column assigned to every row
+     */
+    static int[] assign(final int[][] costs) {
+        final int n = costs.length;
+        final long[] rowPotential = new long[n + 1];
+        final long[] columnPotential = new long[n + 1];
+        // columnOwner[c] is the row matched to column c, 1-based with 0 meaning free
+        final int[] columnOwner = new int[n + 1];
+        final int[] way = new int[n + 1];
+
+        for (int row = 1; row <= n; row++) {
+            columnOwner[0] = row;
+            int column = 0;
+            final long[] minimum = new long[n + 1];
+            final boolean[] used = new boolean[n + 1];
+            Arrays.fill(minimum, Long.MAX_VALUE);
+            do {
+                used[column] = true;
+                final int owner = columnOwner[column];
+                long delta = Long.MAX_VALUE;
+                int next = 0;
+                for (int c = 1; c <= n; c++) {
+                    if (!used[c]) {
+                        final long reduced = costs[owner - 1][c - 1] - rowPotential[owner] - columnPotential[c];
+                        if (reduced < minimum[c]) {
+                            minimum[c] = reduced;
+                            way[c] = column;
+                        }
+                        if (minimum[c] < delta) {
+                            delta = minimum[c];
+                            next = c;
+                        }
+                    }
+                }
+                for (int c = 0; c <= n; c++) {
+                    if (used[c]) {
+                        rowPotential[columnOwner[c]] += delta;
+                        columnPotential[c] -= delta;
+                    } else {
+                        minimum[c] -= delta;
+                    }
+                }
+                column = next;
+            } while (columnOwner[column] != 0);
+            do {
+                final int previous = way[column];
+                columnOwner[column] = columnOwner[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        final int[] assignment = new int[n];
+        for (int c = 1; c <= n; c++) {
+            assignment[columnOwner[c] - 1] = c - 1;
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,542 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.ai.TranspositionTable.Bound;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.map.ConnectionIndex;
+import it.unibo.scotyard.model.map.DistanceTable;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.map.TransportType;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+/**
+ * Searches the moves of the seekers against the nodes where Mister X may be, without ever looking at his position.
+ *
+ * <p>
+ * A ply is either the move of one seeker or a hidden turn of Mister X. The seekers play together, so every seeker
+ * ply maximises the same value, the chance of catching Mister X before the end of the game. A seeker landing on a
+ * candidate node is a chance node: Mister X is caught with probability one over the number of candidates, otherwise
+ * the search goes on without that node. A hidden turn of Mister X expands the candidates along every connection, as
+ * the {@link it.unibo.scotyard.model.game.RunnerBeliefTracker} does. Leaves are valued with the mean closeness of
+ * the nearest seeker to every candidate.
+ * </p>
+ *
+ * <p>
+ * The search deepens iteratively and carries alpha-beta windows through the chance nodes. Moves are tried in the
+ * order of the previous iteration, through the transposition table, then by two killer moves per ply and by the
+ * history heuristic. It stops at the depth or node limit of the difficulty, when the budget of the turn is exhausted
+ * or once an iteration searched the whole game tree, and answers with the best move of the last completed iteration.
+ * A result reused from the table only counts as the whole tree if no horizon cut it, so a search after a shallower
+ * one still deepens to its limit. One search is shared by all the seekers
+ * of a match, which take their turns one at a time.
+ * </p>
+ *
+ * <p>
+ * While Mister X is on turn the search can ponder: it searches the position the first seeker will face after every
+ * single move Mister X may make, one per transport, so that the transposition table already holds it when that turn
+ * comes. Searching and pondering hold the lock of the search, which is not thread safe.
+ * </p>
+ */
+public final class SeekerSearch {
+
+    /** The move returned when the seeker cannot move. */
+    public static final int PASS = RunnerPlayout.PASS;
+
+    private static final float WIN = 1;
+    private static final float CAPTURE_DECAY = 0.01f;
+    private static final float CLOSENESS_WEIGHT = 0.5f;
+    private static final int MAX_PLY = 64;
+    private static final int KILLERS = 2;
+    private static final int CLOCK_CHECK_NODES = 1 << 10;
+    private static final int TABLE_ENTRIES = 1 << 16;
+    private static final long KEY_SEED = 0x5EE4E25L;
+    // The depth of the results whose whole subtree was searched, valid at any depth
+    private static final int PROVEN = TranspositionTable.MAX_DEPTH;
+
+    private final MoveGenerator generator;
+    private final DistanceTable distances;
+    private final NodeSet[] reach;
+    private final NodeSet[][] reachByTransport;
+    private final ZobristKeys keys;
+    private final TranspositionTable table;
+    private final NodeSet occupied;
+    private final NodeSet[] remaining = new NodeSet[MAX_PLY];
+    private final NodeSet[] expanded = new NodeSet[MAX_PLY];
+    private final MoveBuffer[] buffers = new MoveBuffer[MAX_PLY];
+    private final int[][] ordered = new int[MAX_PLY][];
+    private final int[][] priorities = new int[MAX_PLY][];
+    private final int[][] killers = new int[MAX_PLY][KILLERS];
+    private final int[][] history;
+
+    private Limits limits;
+    private TurnBudget budget;
+    private long nodes;
+    private boolean aborted;
+    private boolean horizonReached;
+
+    /**
+     * Creates the search for a map.
+     *
+     * @param mapData the map data
+     */
+    public SeekerSearch(final MapData mapData) {
+        this.generator = new MoveGenerator(mapData);
+        this.distances = mapData.getSeekerDistances();
+        this.keys = new ZobristKeys(mapData.getMaxNodeId(), KEY_SEED);
+        this.table = new TranspositionTable(TABLE_ENTRIES);
+        this.occupied = NodeSet.forMap(mapData);
+
+        // Mister X may use any transport, ferries included, since the seekers do not know his tickets
+        final ConnectionIndex index = mapData.getConnectionIndex();
+        this.reach = new NodeSet[mapData.getMaxNodeId() + 1];
+        for (int node = 0; node < reach.length; node++) {
+            reach[node] = NodeSet.forMap(mapData);
+            for (int edge = index.start(node); edge < index.end(node); edge++) {
+                reach[node].add(index.target(edge));
+            }
+        }
+        this.reachByTransport = new NodeSet[TransportType.values().length][mapData.getMaxNodeId() + 1];
+        for (final TransportType transport : TransportType.values()) {
+            final NodeSet[] byNode = reachByTransport[transport.ordinal()];
+            for (int node = 0; node < byNode.length; node++) {
+                byNode[node] = NodeSet.forMap(mapData);
+                for (int edge = index.start(node, transport); edge < index.end(node, transport); edge++) {
+                    byNode[node].add(index.target(edge));
+                }
+            }
+        }
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            remaining[ply] = NodeSet.forMap(mapData);
+            expanded[ply] = NodeSet.forMap(mapData);
+            buffers[ply] = new MoveBuffer();
+            ordered[ply] = new int[0];
+            priorities[ply] = new int[0];
+        }
+        this.history = new int[GameSnapshot.MAX_PLAYERS][mapData.getMaxNodeId() + 1];
+    }
+
+    /**
+     * Searches the best move of the seeker to move in the snapshot. The position of Mister X stored in the snapshot
+     * is never read: he is assumed to be on any of the candidate nodes.
+     *
+     * @param root the snapshot, with a seeker to move
+     * @param candidates the nodes where Mister X may be, not empty
+     * @param limits the depth and node limits of the search
+     * @param budget the budget of the turn
+     * @param onIteration called with the best move every time an iteration completes
+     * @return the best move found, or {@link #PASS} if the seeker cannot move
+     * @throws IllegalArgumentException if Mister X is to move or there are no candidates
+     */
+    public synchronized int search(
+            final GameSnapshot root,
+            final NodeSet candidates,
+            final Limits limits,
+            final TurnBudget budget,
+            final IntConsumer onIteration) {
+        if (root.getCurrentPlayer() == GameSnapshot.RUNNER || candidates.isEmpty()) {
+            throw new IllegalArgumentException("The search needs a seeker to move and at least one candidate");
+        }
+        final int count = generator.generate(root, buffers[0]);
+        if (count == 0) {
+            return PASS;
+        }
+        final int[] moves = new int[count];
+        final float[] scores = new float[count];
+        for (int i = 0; i < count; i++) {
+            moves[i] = buffers[0].get(i);
+        }
+        int best = moves[0];
+        onIteration.accept(best);
+        if (count == 1) {
+            return best;
+        }
+
+        this.limits = limits;
+        this.budget = budget;
+        this.nodes = 0;
+        this.aborted = false;
+        for (final int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, TranspositionTable.NO_MOVE);
+        }
+        for (final int[] playerHistory : history) {
+            for (int node = 0; node < playerHistory.length; node++) {
+                playerHistory[node] >>= 1;
+            }
+        }
+
+        final long key = keys.withoutRunner(keys.hash(root), root);
+        final long candidatesKey = keys.candidates(candidates);
+        for (int depth = 1; depth <= limits.maxDepth(); depth++) {
+            horizonReached = false;
+            float bestValue = Float.NEGATIVE_INFINITY;
+            int iterationBest = moves[0];
+            for (int i = 0; i < count && !aborted; i++) {
+                scores[i] = afterMove(root, key, candidates, candidatesKey, moves[i], depth - 1, 0, bestValue, WIN);
+                if (scores[i] > bestValue) {
+                    bestValue = scores[i];
+                    iterationBest = moves[i];
+                }
+            }
+            if (aborted) {
+                break;
+            }
+            best = iterationBest;
+            onIteration.accept(best);
+            sortByScore(moves, scores);
+            if (!horizonReached) {
+                // The whole game tree has been searched
+                break;
+            }
+        }
+        this.budget = null;
+        return best;
+    }
+
+    /**
+     * Searches, while Mister X is on turn, the positions the first seeker may face next, one for every transport
+     * Mister X has tickets for. The candidates of each position are expanded along that transport and exclude the
+     * nodes of the seekers, as the {@link it.unibo.scotyard.model.game.RunnerBeliefTracker} will do once the
+     * transport is known. Only the transposition table is kept, for the search of that turn.
+     *
+     * @param root the snapshot, with Mister X to move a single move
+     * @param candidates the nodes where Mister X may be before his turn
+     * @param limits the depth and node limits of every search
+     * @param budget the budget of the pondering
+     * @throws IllegalArgumentException if a seeker is to move
+     */
+    public synchronized void ponder(
+            final GameSnapshot root, final NodeSet candidates, final Limits limits, final TurnBudget budget) {
+        if (root.getCurrentPlayer() != GameSnapshot.RUNNER) {
+            throw new IllegalArgumentException("Pondering needs Mister X to move");
+        }
+        final int position = root.getPosition(GameSnapshot.RUNNER);
+        for (final TransportType transport : TransportType.values()) {
+            if (budget.isExhausted()) {
+                return;
+            }
+            if (root.getTickets(GameSnapshot.RUNNER, transport) == 0) {
+                continue;
+            }
+            // The position of Mister X is never read, only the ticket he uses
+            final GameSnapshot next = root.apply(MoveGenerator.encode(position, position, transport)).endTurn();
+            final NodeSet nextCandidates = afterHiddenMove(next, candidates, transport);
+            if (!nextCandidates.isEmpty()) {
+                search(next, nextCandidates, limits, budget, move -> {});
+            }
+        }
+    }
+
+    /**
+     * Returns the number of positions visited by the last search.
+     *
+     * @return the visited positions
+     */
+    long getSearchedNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the candidates after Mister X moved along a transport, without the nodes of the seekers.
+     */
+    private NodeSet afterHiddenMove(
+            final GameSnapshot snapshot, final NodeSet candidates, final TransportType transport) {
+        final NodeSet[] byNode = reachByTransport[transport.ordinal()];
+        final NodeSet next = new NodeSet(reach.length - 1);
+        candidates.forEach(node -> next.union(byNode[node]));
+        for (int seeker = 1; seeker < snapshot.getPlayerCount(); seeker++) {
+            next.remove(snapshot.getPosition(seeker));
+        }
+        return next;
+    }
+
+    /**
+     * Returns the value of the position after the seeker to move made the move, ending its turn.
+     */
+    private float afterMove(
+            final GameSnapshot snapshot,
+            final long key,
+            final NodeSet candidates,
+            final long candidatesKey,
+            final int move,
+            final int depth,
+            final int ply,
+            final float alpha,
+            final float beta) {
+        final GameSnapshot moved = snapshot.apply(move);
+        final GameSnapshot next = moved.endTurn();
+        final long nextKey = keys.afterEndTurn(keys.afterMove(key, snapshot, move), moved);
+        final int destination = MoveGenerator.destination(move);
+        if (!candidates.contains(destination)) {
+            return value(next, nextKey, candidates, candidatesKey, depth, ply + 1, alpha, beta);
+        }
+
+        // Chance node: Mister X is caught if he was on the destination, otherwise he was somewhere else
+        final float win = captureValue(moved);
+        final int size = candidates.size();
+        if (size == 1) {
+            return win;
+        }
+        final float caught = 1f / size;
+        final float missed = 1 - caught;
+        final NodeSet rest = remaining[ply];
+        rest.clear();
+        rest.union(candidates).remove(destination);
+        final float value = value(
+                next,
+                nextKey,
+                rest,
+                candidatesKey ^ keys.position(GameSnapshot.RUNNER, destination),
+                depth,
+                ply + 1,
+                (alpha - caught * win) / missed,
+                (beta - caught * win) / missed);
+        return caught * win + missed * value;
+    }
+
+    /**
+     * Returns the value of a position, or a bound of it outside the window.
+     */
+    private float value(
+            final GameSnapshot snapshot,
+            final long key,
+            final NodeSet candidates,
+            final long candidatesKey,
+            final int depth,
+            final int ply,
+            final float alpha,
+            final float beta) {
+        if ((++nodes % CLOCK_CHECK_NODES == 0 && budget.isExhausted()) || nodes >= limits.maxNodes()) {
+            aborted = true;
+            return 0;
+        }
+        if (snapshot.getRound() > MagicNumbers.FINAL_ROUND_COUNT) {
+            return 0;
+        }
+        if (depth == 0 || ply == MAX_PLY - 1) {
+            horizonReached = true;
+            return evaluate(snapshot, candidates);
+        }
+
+        final long tableKey = key ^ candidatesKey;
+        final long entry = table.probe(tableKey);
+        int tableMove = TranspositionTable.NO_MOVE;
+        if (entry != TranspositionTable.MISS) {
+            final float stored = TranspositionTable.value(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                final Bound bound = TranspositionTable.bound(entry);
+                if (bound == Bound.EXACT
+                        || bound == Bound.LOWER && stored >= beta
+                        || bound == Bound.UPPER && stored <= alpha) {
+                    // A result cut by the horizon of an earlier search still hides the positions beyond it
+                    horizonReached |= TranspositionTable.depth(entry) != PROVEN;
+                    return stored;
+                }
+            }
+            tableMove = TranspositionTable.move(entry);
+        }
+
+        final int player = snapshot.getCurrentPlayer();
+        if (player == GameSnapshot.RUNNER) {
+            return hiddenTurn(snapshot, key, candidates, depth, ply, alpha, beta);
+        }
+
+        final int count = order(snapshot, ply, tableMove);
+        if (count == 0) {
+            return value(
+                    snapshot.endTurn(),
+                    keys.afterEndTurn(key, snapshot),
+                    candidates,
+                    candidatesKey,
+                    depth - 1,
+                    ply + 1,
+                    alpha,
+                    beta);
+        }
+        final int[] moves = ordered[ply];
+        float best = Float.NEGATIVE_INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+        float window = alpha;
+        final boolean horizonReachedBefore = horizonReached;
+        horizonReached = false;
+        for (int i = 0; i < count; i++) {
+            final int move = moves[i];
+            final float value = afterMove(snapshot, key, candidates, candidatesKey, move, depth - 1, ply, window, beta);
+            if (aborted) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestMove = move;
+                window = Math.max(window, value);
+                if (value >= beta) {
+                    remember(ply, player, move, depth);
+                    break;
+                }
+            }
+        }
+        final Bound bound = best <= alpha ? Bound.UPPER : best >= beta ? Bound.LOWER : Bound.EXACT;
+        table.store(tableKey, horizonReached ? depth : PROVEN, best, bound, bestMove);
+        horizonReached |= horizonReachedBefore;
+        return best;
+    }
+
+    /**
+     * Returns the value of a position where Mister X moves unseen to any node next to a candidate.
+     */
+    private float hiddenTurn(
+            final GameSnapshot snapshot,
+            final long key,
+            final NodeSet candidates,
+            final int depth,
+            final int ply,
+            final float alpha,
+            final float beta) {
+        occupied.clear();
+        for (int seeker = 1; seeker < snapshot.getPlayerCount(); seeker++) {
+            occupied.add(snapshot.getPosition(seeker));
+        }
+        final NodeSet next = expanded[ply];
+        next.clear();
+        for (int node = candidates.nextSetBit(0); node >= 0; node = candidates.nextSetBit(node + 1)) {
+            next.union(reach[node]);
+        }
+        next.andNot(occupied);
+        if (next.isEmpty()) {
+            // Mister X has nowhere to go
+            return captureValue(snapshot);
+        }
+        return value(
+                snapshot.endTurn(),
+                keys.afterEndTurn(key, snapshot),
+                next,
+                keys.candidates(next),
+                depth - 1,
+                ply + 1,
+                alpha,
+                beta);
+    }
+
+    /**
+     * Values a position with the mean closeness of the nearest seeker to every candidate, below any capture.
+     */
+    private float evaluate(final GameSnapshot snapshot, final NodeSet candidates) {
+        float total = 0;
+        for (int node = candidates.nextSetBit(0); node >= 0; node = candidates.nextSetBit(node + 1)) {
+            int nearest = DistanceTable.UNREACHABLE;
+            for (int seeker = 1; seeker < snapshot.getPlayerCount(); seeker++) {
+                nearest = Math.min(nearest, distances.distance(snapshot.getPosition(seeker), node));
+            }
+            total += 1f / (1 + nearest);
+        }
+        return CLOSENESS_WEIGHT * total / candidates.size();
+    }
+
+    /**
+     * Returns the value of catching Mister X in the round of the snapshot, higher for earlier captures.
+     */
+    private static float captureValue(final GameSnapshot snapshot) {
+        return WIN - CAPTURE_DECAY * snapshot.getRound();
+    }
+
+    /**
+     * Generates the moves of the seeker to move and sorts them: the transposition table move, the killer moves and
+     * then by history.
+     */
+    private int order(final GameSnapshot snapshot, final int ply, final int tableMove) {
+        final MoveBuffer buffer = buffers[ply];
+        final int count = generator.generate(snapshot, buffer);
+        if (ordered[ply].length < count) {
+            ordered[ply] = new int[count];
+            priorities[ply] = new int[count];
+        }
+        final int[] moves = ordered[ply];
+        final int[] priority = priorities[ply];
+        final int[] playerHistory = history[snapshot.getCurrentPlayer()];
+        for (int i = 0; i < count; i++) {
+            final int move = buffer.get(i);
+            final int score;
+            if (move == tableMove) {
+                score = Integer.MAX_VALUE;
+            } else if (move == killers[ply][0]) {
+                score = Integer.MAX_VALUE - 1;
+            } else if (move == killers[ply][1]) {
+                score = Integer.MAX_VALUE - 2;
+            } else {
+                score = Math.min(Integer.MAX_VALUE - 3, playerHistory[MoveGenerator.destination(move)]);
+            }
+            // Insertion sort, the lists are short
+            int j = i;
+            while (j > 0 && priority[j - 1] < score) {
+                moves[j] = moves[j - 1];
+                priority[j] = priority[j - 1];
+                j--;
+            }
+            moves[j] = move;
+            priority[j] = score;
+        }
+        return count;
+    }
+
+    private void remember(final int ply, final int player, final int move, final int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        history[player][MoveGenerator.destination(move)] += depth * depth;
+    }
+
+    private static void sortByScore(final int[] moves, final float[] scores) {
+        for (int i = 1; i < moves.length; i++) {
+            final int move = moves[i];
+            final float score = scores[i];
+            int j = i;
+            while (j > 0 && scores[j - 1] < score) {
+                moves[j] = moves[j - 1];
+                scores[j] = scores[j - 1];
+                j--;
+            }
+            moves[j] = move;
+            scores[j] = score;
+        }
+    }
+
+    /**
+     * How deep and how wide a search may go.
+     *
+     * @param maxDepth the deepest iteration, in plies
+     * @param maxNodes the number of positions after which the search stops
+     */
+    public record Limits(int maxDepth, long maxNodes) {
+
+        /**
+         * Validates the limits.
+         *
+         * @throws IllegalArgumentException if a limit is not positive or the depth is too large
+         */
+        public Limits {
+            if (maxDepth <= 0 || maxDepth >= MAX_PLY - 1 || maxNodes <= 0) {
+                throw new IllegalArgumentException("Invalid search limits: " + maxDepth + ", " + maxNodes);
+            }
+        }
+
+        /**
+         * Returns the limits of the seekers at a difficulty.
+         *
+         * @param difficulty the difficulty of the seekers
+         * @return the limits, or empty if the seekers do not search at that difficulty
+         */
+        public static Optional<Limits> forDifficulty(final GameDifficulty difficulty) {
+            return switch (difficulty) {
+                case EASY -> Optional.empty();
+                case MEDIUM -> Optional.of(new Limits(2, 5_000));
+                case DIFFICULT -> Optional.of(new Limits(12, 200_000));
+            };
+        }
+    }
+}
@@ -8,9 +8,11 @@ import java.util.List;
 /**
  * An AI that does nothing but skip the turn
  */
-public class SkipTurnBrain implements PlayerBrain {
+public class SkipTurnBrain implements AnytimeBrain {
     @Override
-    public List<GameCommand> playTurn(GameState gameState) {
-        return List.of(new EndTurnCommand());
+    public List<GameCommand> playTurn(GameState gameState, TurnBudget budget) {
+        final List<GameCommand> commands = List.of(new EndTurnCommand());
+        budget.report(commands);
+        return commands;
     }
 }
@@ -0,0 +1,79 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.game.GameDifficulty;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * How long the AI may think about a turn at every difficulty.
+ *
+ * <p>
+ * The defaults can be changed per deployment with the system properties {@code scotyard.ai.easy.millis},
+ * {@code scotyard.ai.medium.millis} and {@code scotyard.ai.difficult.millis}.
+ * </p>
+ */
+public final class ThinkingTimes {
+
+    private static final Map<GameDifficulty, Duration> DEFAULTS = Map.of(
+            GameDifficulty.EASY, Duration.ofMillis(100),
+            GameDifficulty.MEDIUM, Duration.ofMillis(500),
+            GameDifficulty.DIFFICULT, Duration.ofMillis(1_500));
+
+    private final Map<GameDifficulty, Optional<Duration>> times = new EnumMap<>(GameDifficulty.class);
+
+    private ThinkingTimes(final Map<GameDifficulty, Optional<Duration>> times) {
+        this.times.putAll(times);
+    }
+
+    /**
+     * Returns the default thinking times, overridden by the system properties.
+     *
+     * @return the thinking times
+     */
+    public static ThinkingTimes fromSystemProperties() {
+        final Map<GameDifficulty, Optional<Duration>> times = new EnumMap<>(GameDifficulty.class);
+        for (final GameDifficulty difficulty : GameDifficulty.values()) {
+            final String property = "scotyard.ai." + difficulty.name().toLowerCase(Locale.ROOT) + ".millis";
+            final Long millis = Long.getLong(property);
+            times.put(
+                    difficulty, Optional.of(millis == null ? DEFAULTS.get(difficulty) : Duration.ofMillis(millis)));
+        }
+        return new ThinkingTimes(times);
+    }
+
+    /**
+     * Returns thinking times without limits, so that games only depend on their seed.
+     *
+     * @return the unlimited thinking times
+     */
+    public static ThinkingTimes unlimited() {
+        final Map<GameDifficulty, Optional<Duration>> times = new EnumMap<>(GameDifficulty.class);
+        for (final GameDifficulty difficulty : GameDifficulty.values()) {
+            times.put(difficulty, Optional.empty());
+        }
+        return new ThinkingTimes(times);
+    }
+
+    /**
+     * Returns the thinking time at the given difficulty.
+     *
+     * @param difficulty the difficulty
+     * @return the thinking time, or an empty optional if unlimited
+     */
+    public Optional<Duration> get(final GameDifficulty difficulty) {
+        return times.get(difficulty);
+    }
+
+    /**
+     * Returns the deadline of a turn starting now at the given difficulty.
+     *
+     * @param difficulty the difficulty
+     * @return the deadline
+     */
+    public Deadline deadlineFor(final GameDifficulty difficulty) {
+        return get(difficulty).map(Deadline::after).orElseGet(Deadline::none);
+    }
+}
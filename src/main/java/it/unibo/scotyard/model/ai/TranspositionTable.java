@@ -0,0 +1,170 @@
+package it.unibo.scotyard.model.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size table of search results keyed by {@link ZobristKeys}, shared without locks by any number of search
+ * threads.
+ *
+ * <p>
+ * Every entry is packed in one {@code long}: the value as a float (32 bits), the search depth (8 bits), the bound
+ * (2 bits) and the best move (22 bits). The table stores every entry next to the XOR of its key and data, so that an
+ * entry torn by concurrent writers fails the key check and reads as a miss instead of a wrong result. Keys map to
+ * buckets of two slots: the first keeps the deepest result, the second always takes the latest one.
+ * </p>
+ */
+public final class TranspositionTable {
+
+    /** The result of a probe that found nothing. */
+    public static final long MISS = 0;
+
+    /** The move stored when there is no best move. */
+    public static final int NO_MOVE = (1 << 22) - 1;
+
+    /** The deepest depth that can be stored. */
+    public static final int MAX_DEPTH = 0xFF;
+
+    private static final int SLOTS_PER_BUCKET = 2;
+    private static final int LONGS_PER_SLOT = 2;
+    private static final int MOVE_MASK = NO_MOVE;
+    private static final int BOUND_SHIFT = 22;
+    private static final int DEPTH_SHIFT = 24;
+    private static final int VALUE_SHIFT = 32;
+
+    private final AtomicLongArray slots;
+    private final int bucketMask;
+
+    /**
+     * Creates a table with room for at least the given number of entries.
+     *
+     * @param entries the minimum number of entries, rounded up to a power of two
+     * @throws IllegalArgumentException if entries is not positive or too large
+     */
+    public TranspositionTable(final int entries) {
+        if (entries <= 0 || entries > 1 << 28) {
+            throw new IllegalArgumentException("Invalid number of entries: " + entries);
+        }
+        final int buckets = Math.max(1, Integer.highestOneBit(entries * 2 - 1) / SLOTS_PER_BUCKET);
+        this.bucketMask = buckets - 1;
+        this.slots = new AtomicLongArray(buckets * SLOTS_PER_BUCKET * LONGS_PER_SLOT);
+    }
+
+    /**
+     * Returns the number of entries of the table.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return slots.length() / LONGS_PER_SLOT;
+    }
+
+    /**
+     * Looks up the entry of a position.
+     *
+     * @param key the Zobrist key of the position
+     * @return the packed entry, or {@link #MISS}
+     */
+    public long probe(final long key) {
+        final int base = bucket(key);
+        for (int slot = 0; slot < SLOTS_PER_BUCKET; slot++) {
+            final int index = base + slot * LONGS_PER_SLOT;
+            final long data = slots.get(index + 1);
+            if (data != MISS && (slots.get(index) ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of searching a position. The deepest result of a bucket is replaced only by a result at
+     * least as deep or of the same position; other results go to the second slot of the bucket.
+     *
+     * @param key the Zobrist key of the position
+     * @param depth the depth of the search, capped at {@link #MAX_DEPTH}
+     * @param value the value of the position
+     * @param bound whether the value is exact or a bound
+     * @param bestMove the best encoded move, or {@link #NO_MOVE}
+     */
+    public void store(final long key, final int depth, final float value, final Bound bound, final int bestMove) {
+        final long data = pack(depth, value, bound, bestMove);
+        final int preferred = bucket(key);
+        final long preferredData = slots.get(preferred + 1);
+        final boolean samePosition = (slots.get(preferred) ^ preferredData) == key;
+        final int index = preferredData == MISS || samePosition || depth(preferredData) <= depth
+                ? preferred
+                : preferred + LONGS_PER_SLOT;
+        slots.set(index + 1, data);
+        slots.set(index, key ^ data);
+    }
+
+    /** Removes every entry. */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0);
+        }
+    }
+
+    /**
+     * Returns the value of a packed entry.
+     *
+     * @param entry the entry
+     * @return the value
+     */
+    public static float value(final long entry) {
+        return Float.intBitsToFloat((int) (entry >>> VALUE_SHIFT));
+    }
+
+    /**
+     * Returns the depth of a packed entry.
+     *
+     * @param entry the entry
+     * @return the depth
+     */
+    public static int depth(final long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    /**
+     * Returns the bound of a packed entry.
+     *
+     * @param entry the entry
+     * @return the bound
+     */
+    public static Bound bound(final long entry) {
+        return Bound.values()[((int) (entry >>> BOUND_SHIFT) & 0b11) - 1];
+    }
+
+    /**
+     * Returns the best move of a packed entry.
+     *
+     * @param entry the entry
+     * @return the encoded move, or {@link #NO_MOVE}
+     */
+    public static int move(final long entry) {
+        return (int) entry & MOVE_MASK;
+    }
+
+    private static long pack(final int depth, final float value, final Bound bound, final int bestMove) {
+        // The bound is stored 1-based so that no entry packs to MISS
+        return (long) Float.floatToIntBits(value) << VALUE_SHIFT
+                | (long) Math.min(MAX_DEPTH, Math.max(0, depth)) << DEPTH_SHIFT
+                | (long) (bound.ordinal() + 1) << BOUND_SHIFT
+                | bestMove & MOVE_MASK;
+    }
+
+    private int bucket(final long key) {
+        // The low bits select the bucket, the whole key is checked on probe
+        return ((int) key & bucketMask) * SLOTS_PER_BUCKET * LONGS_PER_SLOT;
+    }
+
+    /** How the stored value relates to the real value of the position. */
+    public enum Bound {
+        /** The value is exact. */
+        EXACT,
+        /** The real value is at least the stored one. */
+        LOWER,
+        /** The real value is at most the stored one. */
+        UPPER
+    }
+}
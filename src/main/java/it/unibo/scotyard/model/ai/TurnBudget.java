@@ -0,0 +1,120 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The limits of a turn played by an {@link AnytimeBrain}, together with the best turn it has found so far.
+ *
+ * <p>
+ * The brain reports a new best turn whenever it finds one, so that it can be read at any moment from any thread.
+ * The deadline may be given as a thinking time, which only starts running when the turn is started, so that a turn
+ * waiting for its brain does not spend its time.
+ * </p>
+ */
+public final class TurnBudget {
+
+    private final Optional<Duration> thinkingTime;
+    private final CancellationToken cancellation;
+    private volatile Deadline deadline;
+    private volatile boolean started;
+    private volatile List<GameCommand> bestSoFar;
+
+    /**
+     * Creates a budget whose deadline is already running.
+     *
+     * @param deadline the deadline of the turn
+     * @param cancellation the cancellation token of the turn
+     */
+    public TurnBudget(final Deadline deadline, final CancellationToken cancellation) {
+        this.thinkingTime = Optional.empty();
+        this.deadline = Objects.requireNonNull(deadline, "Deadline cannot be null");
+        this.cancellation = Objects.requireNonNull(cancellation, "Cancellation cannot be null");
+        this.started = true;
+    }
+
+    private TurnBudget(final Optional<Duration> thinkingTime, final CancellationToken cancellation) {
+        this.thinkingTime = Objects.requireNonNull(thinkingTime, "Thinking time cannot be null");
+        this.deadline = Deadline.none();
+        this.cancellation = Objects.requireNonNull(cancellation, "Cancellation cannot be null");
+    }
+
+    /**
+     * Returns a budget whose deadline only starts running when {@link #start()} is called.
+     *
+     * @param thinkingTime the time the brain may think once the turn started, or empty if unlimited
+     * @param cancellation the cancellation token of the turn
+     * @return the budget
+     */
+    public static TurnBudget startingWhenPlayed(
+            final Optional<Duration> thinkingTime, final CancellationToken cancellation) {
+        return new TurnBudget(thinkingTime, cancellation);
+    }
+
+    /**
+     * Returns a budget that never runs out.
+     *
+     * @return the unlimited budget
+     */
+    public static TurnBudget unlimited() {
+        return new TurnBudget(Deadline.none(), new CancellationToken());
+    }
+
+    /**
+     * Starts the deadline of a budget built from a thinking time. Does nothing if it has already started.
+     */
+    public synchronized void start() {
+        if (!started) {
+            deadline = thinkingTime.map(Deadline::after).orElseGet(Deadline::none);
+            started = true;
+        }
+    }
+
+    /**
+     * Returns the deadline of the turn, unlimited until the turn is started.
+     *
+     * @return the deadline
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Returns the cancellation token of the turn.
+     *
+     * @return the cancellation token
+     */
+    public CancellationToken getCancellation() {
+        return cancellation;
+    }
+
+    /**
+     * Returns whether the brain has to stop thinking, because the deadline passed or the turn was cancelled.
+     *
+     * @return true if the budget is exhausted
+     */
+    public boolean isExhausted() {
+        return cancellation.isCancelled() || deadline.isExpired();
+    }
+
+    /**
+     * Reports the best turn found so far.
+     *
+     * @param commands the commands of the turn
+     */
+    public void report(final List<GameCommand> commands) {
+        this.bestSoFar = List.copyOf(commands);
+    }
+
+    /**
+     * Returns the best turn found so far.
+     *
+     * @return the commands of the turn, or an empty optional if nothing was reported yet
+     */
+    public Optional<List<GameCommand>> getBestSoFar() {
+        return Optional.ofNullable(bestSoFar);
+    }
+}
@@ -0,0 +1,232 @@
+package it.unibo.scotyard.model.ai;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.inventory.Inventory;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.players.TicketType;
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys of the positions of a match, so that a search can recognise a position reached through different
+ * move orders, such as the two halves of a double move or seekers moving to the same nodes in another order.
+ *
+ * <p>
+ * The key of a {@link GameSnapshot} is the XOR of a random key for every (player, node) pair, every (player, ticket
+ * type, ticket count) triple, the player to move, the moves left in the turn and the round. Applying or undoing a
+ * move only changes a few of them, so the keys are updated incrementally with a handful of XORs.
+ * </p>
+ */
+public final class ZobristKeys {
+
+    private static final int TICKET_COUNTS = 16;
+    private static final int INFINITE_COUNT = TICKET_COUNTS - 1;
+    private static final int REMAINING_MOVES = 4;
+    private static final int ROUNDS = 256;
+
+    private final long[][] positions;
+    private final long[][][] tickets;
+    private final long[] currentPlayers;
+    private final long[] remainingMoves;
+    private final long[] rounds;
+
+    /**
+     * Creates the keys of a map.
+     *
+     * @param maxNodeId the highest node id of the map
+     * @param seed the seed of the keys
+     */
+    public ZobristKeys(final int maxNodeId, final long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final int ticketTypes = TicketType.values().length;
+        this.positions = new long[GameSnapshot.MAX_PLAYERS][maxNodeId + 1];
+        this.tickets = new long[GameSnapshot.MAX_PLAYERS][ticketTypes][TICKET_COUNTS];
+        for (int player = 0; player < GameSnapshot.MAX_PLAYERS; player++) {
+            fill(positions[player], random);
+            for (int type = 0; type < ticketTypes; type++) {
+                fill(tickets[player][type], random);
+            }
+        }
+        this.currentPlayers = fill(new long[GameSnapshot.MAX_PLAYERS], random);
+        this.remainingMoves = fill(new long[REMAINING_MOVES], random);
+        this.rounds = fill(new long[ROUNDS], random);
+    }
+
+    /**
+     * Returns the key of a player standing on a node.
+     *
+     * @param player the player index
+     * @param node the node
+     * @return the key
+     */
+    public long position(final int player, final NodeId node) {
+        return positions[player][node.id()];
+    }
+
+    /**
+     * Returns the key of a player standing on a node.
+     *
+     * @param player the player index
+     * @param nodeId the node id
+     * @return the key
+     */
+    public long position(final int player, final int nodeId) {
+        return positions[player][nodeId];
+    }
+
+    /**
+     * Returns the key of a player holding a number of tickets of a type.
+     *
+     * @param player the player index
+     * @param type the ticket type
+     * @param count the number of tickets, or {@link MagicNumbers#INFINITE}
+     * @return the key
+     */
+    public long tickets(final int player, final TicketType type, final int count) {
+        return tickets[player][type.ordinal()][count == MagicNumbers.INFINITE ? INFINITE_COUNT : count];
+    }
+
+    /**
+     * Computes the key of a snapshot from scratch.
+     *
+     * @param snapshot the snapshot
+     * @return the key
+     */
+    public long hash(final GameSnapshot snapshot) {
+        long key = currentPlayers[snapshot.getCurrentPlayer()]
+                ^ remainingMoves[snapshot.getRemainingMoves()]
+                ^ rounds[snapshot.getRound()]
+                ^ tickets(GameSnapshot.RUNNER, TicketType.DOUBLE_MOVE, snapshot.getDoubleMoves());
+        for (int player = 0; player < snapshot.getPlayerCount(); player++) {
+            key ^= positions[player][snapshot.getPosition(player)];
+            for (final TransportType transport : TransportType.values()) {
+                key ^= ticketKey(snapshot, player, transport);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Returns the key of the snapshot with the position of Mister X removed, for searches run by the seekers who
+     * cannot see him.
+     *
+     * @param key the key of the snapshot
+     * @param snapshot the snapshot
+     * @return the key without the position of Mister X
+     */
+    public long withoutRunner(final long key, final GameSnapshot snapshot) {
+        return key ^ positions[GameSnapshot.RUNNER][snapshot.getPosition(GameSnapshot.RUNNER)];
+    }
+
+    /**
+     * Returns the key of the nodes where Mister X may be, which stands for his position in the searches of the
+     * seekers. Adding or removing a candidate toggles {@link #position(int, int)} of Mister X on that node.
+     *
+     * @param candidates the nodes where Mister X may be
+     * @return the key
+     */
+    public long candidates(final NodeSet candidates) {
+        long key = 0;
+        for (int node = candidates.nextSetBit(0); node >= 0; node = candidates.nextSetBit(node + 1)) {
+            key ^= positions[GameSnapshot.RUNNER][node];
+        }
+        return key;
+    }
+
+    /**
+     * Returns the key of the snapshot after the current player made the move.
+     *
+     * @param key the key of the snapshot
+     * @param snapshot the snapshot before the move
+     * @param move the encoded move
+     * @return the key of {@code snapshot.apply(move)}
+     */
+    public long afterMove(final long key, final GameSnapshot snapshot, final int move) {
+        final int player = snapshot.getCurrentPlayer();
+        final TransportType transport = MoveGenerator.transport(move);
+        final int held = snapshot.getTickets(player, transport);
+        final int left = held == MagicNumbers.INFINITE || held == 0 ? held : held - 1;
+        final int remaining = snapshot.getRemainingMoves();
+        return key
+                ^ positions[player][snapshot.getPosition(player)]
+                ^ positions[player][MoveGenerator.destination(move)]
+                ^ ticketDelta(player, transport, held, left)
+                ^ remainingMoves[remaining]
+                ^ remainingMoves[remaining - 1];
+    }
+
+    /**
+     * Returns the key of the snapshot before the current player made the move.
+     *
+     * @param key the key of the snapshot
+     * @param snapshot the snapshot after the move
+     * @param move the encoded move
+     * @return the key of {@code snapshot.undo(move)}
+     */
+    public long beforeMove(final long key, final GameSnapshot snapshot, final int move) {
+        final int player = snapshot.getCurrentPlayer();
+        final TransportType transport = MoveGenerator.transport(move);
+        final int held = snapshot.getTickets(player, transport);
+        final int restored = held == MagicNumbers.INFINITE ? held : held + 1;
+        final int remaining = snapshot.getRemainingMoves();
+        return key
+                ^ positions[player][snapshot.getPosition(player)]
+                ^ positions[player][MoveGenerator.origin(move)]
+                ^ ticketDelta(player, transport, held, restored)
+                ^ remainingMoves[remaining]
+                ^ remainingMoves[remaining + 1];
+    }
+
+    /**
+     * Returns the key of the snapshot after the current player ended the turn.
+     *
+     * @param key the key of the snapshot
+     * @param snapshot the snapshot
+     * @return the key of {@code snapshot.endTurn()}
+     */
+    public long afterEndTurn(final long key, final GameSnapshot snapshot) {
+        final GameSnapshot next = snapshot.endTurn();
+        return key
+                ^ currentPlayers[snapshot.getCurrentPlayer()]
+                ^ currentPlayers[next.getCurrentPlayer()]
+                ^ remainingMoves[snapshot.getRemainingMoves()]
+                ^ remainingMoves[next.getRemainingMoves()]
+                ^ rounds[snapshot.getRound()]
+                ^ rounds[next.getRound()];
+    }
+
+    /**
+     * Returns the key of the snapshot after Mister X used a double move ticket.
+     *
+     * @param key the key of the snapshot
+     * @param snapshot the snapshot
+     * @return the key of {@code snapshot.useDoubleMove()}
+     */
+    public long afterDoubleMove(final long key, final GameSnapshot snapshot) {
+        final GameSnapshot next = snapshot.useDoubleMove();
+        return key
+                ^ remainingMoves[snapshot.getRemainingMoves()]
+                ^ remainingMoves[next.getRemainingMoves()]
+                ^ tickets(GameSnapshot.RUNNER, TicketType.DOUBLE_MOVE, snapshot.getDoubleMoves())
+                ^ tickets(GameSnapshot.RUNNER, TicketType.DOUBLE_MOVE, next.getDoubleMoves());
+    }
+
+    private long ticketDelta(final int player, final TransportType transport, final int before, final int after) {
+        final TicketType type = Inventory.getTicketTypeForTransport(transport);
+        return tickets(player, type, before) ^ tickets(player, type, after);
+    }
+
+    private long ticketKey(final GameSnapshot snapshot, final int player, final TransportType transport) {
+        return tickets(player, Inventory.getTicketTypeForTransport(transport), snapshot.getTickets(player, transport));
+    }
+
+    private static long[] fill(final long[] keys, final SplittableRandom random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+        return keys;
+    }
+}
@@ -4,4 +4,33 @@ import it.unibo.scotyard.model.command.GameCommand;
 import it.unibo.scotyard.model.game.GameDifficulty;
 import it.unibo.scotyard.model.game.GameMode;
 
-public record InitializeGameCommand(long seed, GameMode gameMode, GameDifficulty difficulty) implements GameCommand {}
+/**
+ * Starts a new game.
+ *
+ * @param seed the seed of the game
+ * @param gameMode the side played by the user
+ * @param difficulty the difficulty of the game, which decides the number of seekers
+ * @param computerOnly whether the side of the user is played by the computer too, for headless games
+ * @param runnerDifficulty the difficulty of the computer playing Mister X
+ * @param seekerDifficulty the difficulty of the computer playing the seekers
+ */
+public record InitializeGameCommand(
+        long seed,
+        GameMode gameMode,
+        GameDifficulty difficulty,
+        boolean computerOnly,
+        GameDifficulty runnerDifficulty,
+        GameDifficulty seekerDifficulty)
+        implements GameCommand {
+
+    /**
+     * Starts a new game with the user playing the side of the game mode.
+     *
+     * @param seed the seed of the game
+     * @param gameMode the side played by the user
+     * @param difficulty the difficulty of the game and of the computer
+     */
+    public InitializeGameCommand(final long seed, final GameMode gameMode, final GameDifficulty difficulty) {
+        this(seed, gameMode, difficulty, false, difficulty, difficulty);
+    }
+}
@@ -0,0 +1,351 @@
+package it.unibo.scotyard.model.game;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.game.turn.TurnState;
+import it.unibo.scotyard.model.inventory.Inventory;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.players.Player;
+import it.unibo.scotyard.model.players.TicketType;
+import java.util.List;
+
+/**
+ * Immutable and compact copy of the state of a match, meant for AI search. Players are indexed in turn order, so
+ * Mister X is always the player {@value #RUNNER}.
+ *
+ * <p>
+ * The whole state fits in two {@code long}s and an {@code int}:
+ * </p>
+ * <ul>
+ * <li>{@code state}: the node id of every player (10 bits each), the number of players, the
+ * current player, the moves left in the turn and the double move tickets of Mister X;</li>
+ * <li>{@code tickets}: the taxi, bus, underground and black tickets of the first four players, one nibble each;</li>
+ * <li>{@code extra}: the tickets of the fifth player and the round number.</li>
+ * </ul>
+ * Ticket counts range from 0 to 14, while 15 stands for {@link MagicNumbers#INFINITE}.
+ * Moves are the encoded moves of {@link MoveGenerator}, so applying and undoing them costs a few bit operations.
+ */
+public final class GameSnapshot {
+
+    /** Index of Mister X. */
+    public static final int RUNNER = 0;
+
+    /** Maximum number of players that fit in a snapshot. */
+    public static final int MAX_PLAYERS = 5;
+
+    private static final int POSITION_BITS = MoveGenerator.NODE_BITS;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+    private static final int COUNT_SHIFT = POSITION_BITS * MAX_PLAYERS;
+    private static final int CURRENT_SHIFT = COUNT_SHIFT + 3;
+    private static final int REMAINING_SHIFT = CURRENT_SHIFT + 3;
+    private static final int DOUBLE_MOVES_SHIFT = REMAINING_SHIFT + 2;
+    private static final long THREE_BITS = 0b111;
+    private static final long TWO_BITS = 0b11;
+
+    private static final int NIBBLE_BITS = 4;
+    private static final int NIBBLE_MASK = 0xF;
+    private static final int INFINITE_NIBBLE = 0xF;
+    private static final int MAX_TICKETS = INFINITE_NIBBLE - 1;
+    private static final int PLAYER_TICKET_BITS = NIBBLE_BITS * TransportType.values().length;
+    private static final int PACKED_PLAYERS = Long.SIZE / PLAYER_TICKET_BITS;
+    private static final int ROUND_SHIFT = PLAYER_TICKET_BITS;
+    private static final int ROUND_MASK = 0xFF;
+
+    private final long state;
+    private final long tickets;
+    private final int extra;
+
+    private GameSnapshot(final long state, final long tickets, final int extra) {
+        this.state = state;
+        this.tickets = tickets;
+        this.extra = extra;
+    }
+
+    /**
+     * Creates a snapshot of the live game state.
+     *
+     * @param gameState the game state
+     * @return the snapshot of the game state
+     * @throws IllegalArgumentException if the game does not fit in a snapshot
+     */
+    public static GameSnapshot from(final GameState gameState) {
+        final List<Player> turnOrder = gameState.getPlayers().getTurnOrder();
+        if (turnOrder.size() > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Too many players for a snapshot: " + turnOrder.size());
+        }
+        if (gameState.getGameRound() < 0 || gameState.getGameRound() > ROUND_MASK) {
+            throw new IllegalArgumentException("Round out of range: " + gameState.getGameRound());
+        }
+
+        long state = 0;
+        long tickets = 0;
+        int extra = gameState.getGameRound() << ROUND_SHIFT;
+        for (int i = 0; i < turnOrder.size(); i++) {
+            final Player player = turnOrder.get(i);
+            final int position = player.getPosition().id();
+            if (position < 0 || position > POSITION_MASK) {
+                throw new IllegalArgumentException("Node id out of range: " + position);
+            }
+            state |= (long) position << (i * POSITION_BITS);
+
+            for (final TransportType transport : TransportType.values()) {
+                final long nibble = toNibble(player.getNumberTickets(Inventory.getTicketTypeForTransport(transport)));
+                final int shift = ticketShift(i, transport);
+                if (i < PACKED_PLAYERS) {
+                    tickets |= nibble << shift;
+                } else {
+                    extra |= (int) nibble << shift;
+                }
+            }
+        }
+
+        final TurnState turnState = gameState.getTurnState();
+        final int remainingMoves = turnState == null ? 1 : turnState.getRemainingMoves();
+        state |= (long) turnOrder.size() << COUNT_SHIFT;
+        state |= (long) turnOrder.indexOf(gameState.getCurrentPlayer()) << CURRENT_SHIFT;
+        state |= (long) remainingMoves << REMAINING_SHIFT;
+        state |= toNibble(turnOrder.get(RUNNER).getNumberTickets(TicketType.DOUBLE_MOVE)) << DOUBLE_MOVES_SHIFT;
+
+        return new GameSnapshot(state, tickets, extra);
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return (int) ((state >>> COUNT_SHIFT) & THREE_BITS);
+    }
+
+    /**
+     * Returns the index of the player to move.
+     *
+     * @return the index of the current player
+     */
+    public int getCurrentPlayer() {
+        return (int) ((state >>> CURRENT_SHIFT) & THREE_BITS);
+    }
+
+    /**
+     * Returns the number of moves left to the current player in this turn.
+     *
+     * @return the number of remaining moves
+     */
+    public int getRemainingMoves() {
+        return (int) ((state >>> REMAINING_SHIFT) & TWO_BITS);
+    }
+
+    /**
+     * Returns the double move tickets left to Mister X.
+     *
+     * @return the double move tickets, or {@link MagicNumbers#INFINITE}
+     */
+    public int getDoubleMoves() {
+        return fromNibble((int) ((state >>> DOUBLE_MOVES_SHIFT) & NIBBLE_MASK));
+    }
+
+    /**
+     * Returns the current round.
+     *
+     * @return the round number
+     */
+    public int getRound() {
+        return (extra >>> ROUND_SHIFT) & ROUND_MASK;
+    }
+
+    /**
+     * Returns the node id of a player.
+     *
+     * @param player the player index
+     * @return the node id of the player
+     */
+    public int getPosition(final int player) {
+        return (int) ((state >>> (player * POSITION_BITS)) & POSITION_MASK);
+    }
+
+    /**
+     * Returns the tickets of a player for a transport.
+     *
+     * @param player the player index
+     * @param transport the transport type
+     * @return the number of tickets, or {@link MagicNumbers#INFINITE}
+     */
+    public int getTickets(final int player, final TransportType transport) {
+        return fromNibble(ticketNibble(player, transport));
+    }
+
+    /**
+     * Checks whether a seeker is standing on the node.
+     *
+     * @param nodeId the node id
+     * @return true if a seeker occupies the node
+     */
+    public boolean isSeekerAt(final int nodeId) {
+        final int count = getPlayerCount();
+        for (int i = RUNNER + 1; i < count; i++) {
+            if (getPosition(i) == nodeId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether Mister X has been caught by a seeker.
+     *
+     * @return true if a seeker occupies the position of Mister X
+     */
+    public boolean isRunnerCaught() {
+        return isSeekerAt(getPosition(RUNNER));
+    }
+
+    /**
+     * Returns the snapshot after the current player made the move.
+     *
+     * @param move the encoded move
+     * @return the new snapshot
+     * @throws IllegalStateException if the current player has no moves left
+     */
+    public GameSnapshot apply(final int move) {
+        final int remaining = getRemainingMoves();
+        if (remaining == 0) {
+            throw new IllegalStateException("No moves available");
+        }
+        final int player = getCurrentPlayer();
+        final TransportType transport = MoveGenerator.transport(move);
+        final int nibble = ticketNibble(player, transport);
+        final int used = nibble == INFINITE_NIBBLE || nibble == 0 ? nibble : nibble - 1;
+
+        final long newState =
+                withRemaining(withPosition(state, player, MoveGenerator.destination(move)), remaining - 1);
+        return withTickets(newState, player, transport, used);
+    }
+
+    /**
+     * Returns the snapshot before the current player made the move, reverting {@link #apply(int)}.
+     *
+     * @param move the encoded move
+     * @return the previous snapshot
+     */
+    public GameSnapshot undo(final int move) {
+        final int player = getCurrentPlayer();
+        final TransportType transport = MoveGenerator.transport(move);
+        final int nibble = ticketNibble(player, transport);
+        final int restored = nibble == INFINITE_NIBBLE ? nibble : nibble + 1;
+
+        final long newState =
+                withRemaining(withPosition(state, player, MoveGenerator.origin(move)), getRemainingMoves() + 1);
+        return withTickets(newState, player, transport, restored);
+    }
+
+    /**
+     * Returns the snapshot after Mister X used a double move ticket.
+     *
+     * @return the new snapshot
+     * @throws IllegalStateException if the current player cannot use a double move
+     */
+    public GameSnapshot useDoubleMove() {
+        final int nibble = (int) ((state >>> DOUBLE_MOVES_SHIFT) & NIBBLE_MASK);
+        if (getCurrentPlayer() != RUNNER || nibble == 0 || getRemainingMoves() == TWO_BITS) {
+            throw new IllegalStateException("Double move not available");
+        }
+        final int used = nibble == INFINITE_NIBBLE ? nibble : nibble - 1;
+        final long newState = (state & ~((long) NIBBLE_MASK << DOUBLE_MOVES_SHIFT))
+                | (long) used << DOUBLE_MOVES_SHIFT;
+        return new GameSnapshot(withRemaining(newState, getRemainingMoves() + 1), tickets, extra);
+    }
+
+    /**
+     * Returns the snapshot after the current player ended the turn. The round advances when the turn goes back to
+     * Mister X.
+     *
+     * @return the new snapshot
+     */
+    public GameSnapshot endTurn() {
+        final int next = (getCurrentPlayer() + 1) % getPlayerCount();
+        final long newState = (withRemaining(state, 1) & ~(THREE_BITS << CURRENT_SHIFT)) | (long) next << CURRENT_SHIFT;
+        final int round = next == RUNNER ? getRound() + 1 : getRound();
+        final int newExtra = (extra & ~(ROUND_MASK << ROUND_SHIFT)) | (round & ROUND_MASK) << ROUND_SHIFT;
+        return new GameSnapshot(newState, tickets, newExtra);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GameSnapshot)) {
+            return false;
+        }
+        final GameSnapshot that = (GameSnapshot) o;
+        return state == that.state && tickets == that.tickets && extra == that.extra;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(state * 31 + tickets) * 31 + extra;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder positions = new StringBuilder();
+        for (int i = 0; i < getPlayerCount(); i++) {
+            positions.append(i == 0 ? "" : ", ").append(getPosition(i));
+        }
+        return "GameSnapshot{"
+                + "positions=["
+                + positions
+                + "], current="
+                + getCurrentPlayer()
+                + ", remainingMoves="
+                + getRemainingMoves()
+                + ", round="
+                + getRound()
+                + '}';
+    }
+
+    private int ticketNibble(final int player, final TransportType transport) {
+        final int shift = ticketShift(player, transport);
+        return player < PACKED_PLAYERS
+                ? (int) ((tickets >>> shift) & NIBBLE_MASK)
+                : (extra >>> shift) & NIBBLE_MASK;
+    }
+
+    private GameSnapshot withTickets(
+            final long newState, final int player, final TransportType transport, final int nibble) {
+        final int shift = ticketShift(player, transport);
+        if (player < PACKED_PLAYERS) {
+            final long newTickets = (tickets & ~((long) NIBBLE_MASK << shift)) | (long) nibble << shift;
+            return new GameSnapshot(newState, newTickets, extra);
+        }
+        final int newExtra = (extra & ~(NIBBLE_MASK << shift)) | nibble << shift;
+        return new GameSnapshot(newState, tickets, newExtra);
+    }
+
+    private static long withPosition(final long state, final int player, final int nodeId) {
+        final int shift = player * POSITION_BITS;
+        return (state & ~(POSITION_MASK << shift)) | (long) nodeId << shift;
+    }
+
+    private static long withRemaining(final long state, final int remaining) {
+        return (state & ~(TWO_BITS << REMAINING_SHIFT)) | (long) remaining << REMAINING_SHIFT;
+    }
+
+    private static int ticketShift(final int player, final TransportType transport) {
+        return (player % PACKED_PLAYERS) * PLAYER_TICKET_BITS + transport.ordinal() * NIBBLE_BITS;
+    }
+
+    private static long toNibble(final int count) {
+        if (count == MagicNumbers.INFINITE) {
+            return INFINITE_NIBBLE;
+        }
+        if (count < 0 || count > MAX_TICKETS) {
+            throw new IllegalArgumentException("Ticket count out of range: " + count);
+        }
+        return count;
+    }
+
+    private static int fromNibble(final int nibble) {
+        return nibble == INFINITE_NIBBLE ? MagicNumbers.INFINITE : nibble;
+    }
+}
@@ -6,11 +6,13 @@ import it.unibo.scotyard.model.entities.RunnerTurnTracker;
 import it.unibo.scotyard.model.game.turn.TurnState;
 import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import it.unibo.scotyard.model.map.TransportType;
 import it.unibo.scotyard.model.players.Bobby;
 import it.unibo.scotyard.model.players.Player;
 import it.unibo.scotyard.model.players.TicketType;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -55,15 +57,13 @@ public interface GameState {
     String getResultGameString();
 
     /**
-     * Loads into a specific variable the possible destinations, eventually removing
-     * some of them, according to specific
-     * conditions.
+     * Loads into a specific variable the possible destinations of the current player, as produced by the
+     * {@link MoveGenerator}.
      *
-     * @param inputPossibleDestinations the possible destinations loaded from Model
+     * @param legalMoves the legal moves of the current player
      * @return the updated set of possible destinations
      */
-    Set<Pair<NodeId, TransportType>> loadPossibleDestinations(
-            Set<Pair<NodeId, TransportType>> inputPossibleDestinations);
+    Set<Pair<NodeId, TransportType>> loadPossibleDestinations(MoveBuffer legalMoves);
 
     /**
      * @return the set of possible destinations as pairs of integer and transport
@@ -231,6 +231,18 @@ public interface GameState {
      */
     Player getDetective();
 
+    /**
+     * Gets the nodes currently occupied by the seekers, which no player can move onto.
+     *
+     * <p>
+     * The set is computed again only when a seeker has moved, and is otherwise shared between calls: it must not be
+     * modified, and copied if it has to outlive the next move.
+     * </p>
+     *
+     * @return the positions of the Detective and of the Bobbies
+     */
+    NodeSet getSeekerPositions();
+
     /**
      * Resets the turn state to the start of the turn.
      */
@@ -252,6 +264,13 @@ public interface GameState {
      */
     RunnerTurnTracker getRunnerTurnTracker();
 
+    /**
+     * Gets the tracker of the nodes where Mister X may be, as known by the seekers.
+     *
+     * @return the runner belief tracker, or empty if the game state does not track Mister X
+     */
+    Optional<RunnerBeliefTracker> getRunnerBeliefTracker();
+
     /**
      * Computes the legal moves of the supplied player.
      *
@@ -260,7 +279,7 @@ public interface GameState {
      * @param excludedNodes additional nodes to exclude even if valid
      * @return the legal moves of the supplied player
      */
-    List<MoveAction> computeValidMoves(MapData mapData, Player player, List<NodeId> excludedNodes);
+    List<MoveAction> computeValidMoves(MapData mapData, Player player, NodeSet excludedNodes);
 
     /**
      * Exposes Mister X position for all seekers to see.
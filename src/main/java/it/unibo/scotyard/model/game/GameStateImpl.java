@@ -9,16 +9,15 @@ import it.unibo.scotyard.model.entities.RunnerTurnTrackerImpl;
 import it.unibo.scotyard.model.game.turn.TurnState;
 import it.unibo.scotyard.model.game.turn.TurnStateImpl;
 import it.unibo.scotyard.model.inventory.Inventory;
-import it.unibo.scotyard.model.map.MapConnection;
 import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import it.unibo.scotyard.model.map.TransportType;
 import it.unibo.scotyard.model.players.Bobby;
 import it.unibo.scotyard.model.players.Player;
 import it.unibo.scotyard.model.players.TicketType;
 import java.util.*;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  * The game state.
@@ -47,8 +46,16 @@ public final class GameStateImpl implements GameState {
 
     private TurnState turnState;
     private final RunnerTurnTrackerImpl runnerTurnTracker;
+    private final RunnerBeliefTracker runnerBeliefTracker;
     private boolean runnerExposed;
 
+    private MoveGenerator moveGenerator;
+    private MapData moveGeneratorMap;
+
+    // Le posizioni dei cercatori, ricalcolate solo quando uno di loro si è mosso
+    private final NodeSet seekerPositions = new NodeSet(0);
+    private final NodeId[] seekerPositionsOf;
+
     private final long gameStartTime;
     private long gameEndTime;
     private long gameDuration;
@@ -67,9 +74,28 @@ public final class GameStateImpl implements GameState {
      */
     public GameStateImpl(
             final Random random, final GameMode gameMode, final Players players, final GameDifficulty gameDifficulty) {
+        this(random, gameMode, players, gameDifficulty, null);
+    }
+
+    /**
+     * Creates a new game state that also tracks the nodes where Mister X may be.
+     *
+     * @param random         the seeded random instance used the active match
+     * @param gameMode       the game mode
+     * @param players        the involved players
+     * @param gameDifficulty the game difficulty
+     * @param mapData        the map data used to track Mister X, or null to disable the tracking
+     */
+    public GameStateImpl(
+            final Random random,
+            final GameMode gameMode,
+            final Players players,
+            final GameDifficulty gameDifficulty,
+            final MapData mapData) {
         this.random = random;
         this.gameMode = gameMode;
         this.players = players;
+        this.seekerPositionsOf = new NodeId[1 + players.getBobbies().size()];
         this.gameDifficulty = gameDifficulty;
         this.availableTransports = new ArrayList<>();
         this.possibleDestinations = new HashSet<>();
@@ -81,6 +107,11 @@ public final class GameStateImpl implements GameState {
         this.hasWon = false;
         this.resultGameString = "";
         this.exposedPositions = new ArrayList<>();
+        this.runnerBeliefTracker = mapData == null ? null : new RunnerBeliefTracker(mapData);
+        if (this.runnerBeliefTracker != null) {
+            this.runnerBeliefTracker.exclude(getSeekerPositions());
+            this.runnerTurnTracker.subscribe(turns -> this.runnerBeliefTracker.sync(turns, getSeekerPositions()));
+        }
     }
 
     @Override
@@ -96,10 +127,10 @@ public final class GameStateImpl implements GameState {
         boolean isOver = false;
 
         if (GameMode.DETECTIVE == this.gameMode) {
-            isOver = this.possibleDestinations.isEmpty();
+            isOver = this.isCurrentPlayerStuck();
         } else {
             if (this.getCurrentPlayer() != this.players.getMisterX()) {
-                isOver = this.possibleDestinations.isEmpty();
+                isOver = this.isCurrentPlayerStuck();
             }
         }
 
@@ -128,7 +159,7 @@ public final class GameStateImpl implements GameState {
                 this.resultGameString = victoryString + ViewConstants.CAPTURED_DETECTIVE_MODE_TEXT;
             }
         } else {
-            if (this.possibleDestinations.isEmpty()) {
+            if (this.isCurrentPlayerStuck()) {
                 if (GameMode.DETECTIVE == this.gameMode) {
                     this.resultGameString = lossString + ViewConstants.NO_MORE_TICKETS_AVAILABLE_TEXT;
                 } else {
@@ -152,6 +183,15 @@ public final class GameStateImpl implements GameState {
         this.hasWon = this.resultGameString.contains(ViewConstants.WINNER_TEXT);
     }
 
+    /**
+     * Returns whether the current player could not move at the start of the turn. The possible destinations are
+     * emptied once the last move of the turn is made, so they only tell a stuck player before the first move.
+     */
+    private boolean isCurrentPlayerStuck() {
+        return this.possibleDestinations.isEmpty()
+                && (this.turnState == null || this.turnState.getMoves().isEmpty());
+    }
+
     @Override
     public boolean hasUserWon() {
         this.computeResultGame();
@@ -165,60 +205,9 @@ public final class GameStateImpl implements GameState {
     }
 
     @Override
-    public Set<Pair<NodeId, TransportType>> loadPossibleDestinations(
-            final Set<Pair<NodeId, TransportType>> inputPossibleDestinations) {
+    public Set<Pair<NodeId, TransportType>> loadPossibleDestinations(final MoveBuffer legalMoves) {
         this.possibleDestinations.clear();
-
-        /*
-         * Updating the variable possibleDestinations with the possible destinations
-         * given as input,
-         * with the removal of destinations in which other players are present :
-         * - Mister X can't go where the detective and bobbies are
-         * - Detective can't go where other bobbies are
-         * - Bobbies can't go where detective is
-         */
-        for (final Pair<NodeId, TransportType> destination : inputPossibleDestinations) {
-            final NodeId pos = destination.getX();
-            final TransportType transport = destination.getY();
-            this.possibleDestinations.add(destination);
-            /* Mister X can't go where detective is. */
-            if (this.gameMode == GameMode.MISTER_X
-                    && this.getCurrentPlayer().equals(this.players.getUserPlayer())
-                    && pos.equals(this.players.getComputerPlayer().getPosition())) {
-                this.possibleDestinations.remove(destination);
-            }
-            /* Mister X can't go where detective is. */
-            if (this.gameMode == GameMode.DETECTIVE
-                    && this.getCurrentPlayer().equals(this.players.getComputerPlayer())
-                    && pos.equals(this.players.getUserPlayer().getPosition())) {
-                this.possibleDestinations.remove(destination);
-            }
-            /*
-             * No player can go where other bobbies are.
-             * Bobbies can't go where detective is.
-             */
-            for (final Player bobby : this.players.getBobbies()) {
-                if (bobby.getPosition().equals(pos)
-                        || (this.gameMode == GameMode.DETECTIVE
-                                && this.getCurrentPlayer().equals(bobby)
-                                && pos.equals(this.players.getUserPlayer().getPosition()))) {
-                    this.possibleDestinations.remove(destination);
-                }
-            }
-            // Removal of destinations that can be reached by ferry, if player isn't Mister
-            // X
-            if ((GameMode.DETECTIVE.equals(this.gameMode)
-                            && this.getCurrentPlayer() != this.players.getComputerPlayer())
-                    || (GameMode.MISTER_X.equals(this.gameMode)
-                            && this.getCurrentPlayer() != this.players.getUserPlayer())) {
-                this.possibleDestinations.removeIf(item -> TransportType.FERRY == item.getY());
-            }
-            // Removal of destinations for which current player has no tickets
-            if (this.getCurrentPlayer().getNumberTickets(Inventory.getTicketTypeForTransport(transport)) == 0) {
-                this.possibleDestinations.remove(destination);
-            }
-        }
-
+        legalMoves.addTo(this.possibleDestinations);
         return this.possibleDestinations;
     }
 
@@ -266,6 +255,10 @@ public final class GameStateImpl implements GameState {
     public void moveCurrentPlayer(final NodeId destinationId, final TransportType transport) {
         this.getCurrentPlayer().setPosition(destinationId);
         this.getCurrentPlayer().useTicket(Inventory.getTicketTypeForTransport(transport));
+        if (this.runnerBeliefTracker != null && this.getCurrentPlayer() != this.players.getMisterX()) {
+            // A seeker that did not catch Mister X rules out its destination
+            this.runnerBeliefTracker.exclude(NodeSet.of(List.of(destinationId)));
+        }
     }
 
     @Override
@@ -361,6 +354,72 @@ public final class GameStateImpl implements GameState {
         return this.players.getDetective();
     }
 
+    /**
+     * Restores the positions, the tickets, the round and the current player stored in the snapshot. The turn of the
+     * current player restarts, keeping only the extra move of a double move in progress.
+     *
+     * @param snapshot the snapshot to restore
+     * @throws IllegalArgumentException if the snapshot has a different number of players
+     */
+    public void restore(final GameSnapshot snapshot) {
+        final List<Player> turnOrder = this.players.getTurnOrder();
+        if (snapshot.getPlayerCount() != turnOrder.size()) {
+            throw new IllegalArgumentException("Snapshot has " + snapshot.getPlayerCount() + " players, expected "
+                    + turnOrder.size());
+        }
+
+        for (int i = 0; i < turnOrder.size(); i++) {
+            final Player player = turnOrder.get(i);
+            player.setPosition(new NodeId(snapshot.getPosition(i)));
+            for (final TransportType transport : TransportType.values()) {
+                player.getInventory()
+                        .setNumberTickets(
+                                Inventory.getTicketTypeForTransport(transport), snapshot.getTickets(i, transport));
+            }
+        }
+        this.players
+                .getMisterX()
+                .getInventory()
+                .setNumberTickets(TicketType.DOUBLE_MOVE, snapshot.getDoubleMoves());
+
+        this.round = snapshot.getRound();
+        this.indexCurrentPlayer = snapshot.getCurrentPlayer();
+        this.resetTurn();
+        if (snapshot.getRemainingMoves() > 1) {
+            this.turnState.doubleMove();
+        }
+    }
+
+    @Override
+    public NodeSet getSeekerPositions() {
+        if (haveSeekersMoved()) {
+            this.seekerPositions.clear();
+            this.seekerPositionsOf[0] = this.players.getDetective().getPosition();
+            for (int i = 0; i < this.players.getBobbies().size(); i++) {
+                this.seekerPositionsOf[i + 1] = this.players.getBobbies().get(i).getPosition();
+            }
+            for (final NodeId position : this.seekerPositionsOf) {
+                this.seekerPositions.add(position);
+            }
+        }
+        return this.seekerPositions;
+    }
+
+    /**
+     * Returns whether a seeker is not where it was when the seeker positions were last computed.
+     */
+    private boolean haveSeekersMoved() {
+        if (!Objects.equals(this.seekerPositionsOf[0], this.players.getDetective().getPosition())) {
+            return true;
+        }
+        for (int i = 0; i < this.players.getBobbies().size(); i++) {
+            if (!Objects.equals(this.seekerPositionsOf[i + 1], this.players.getBobbies().get(i).getPosition())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void resetTurn() {
         final Player player = getCurrentPlayer();
@@ -377,20 +436,28 @@ public final class GameStateImpl implements GameState {
         return runnerTurnTracker;
     }
 
+    @Override
+    public Optional<RunnerBeliefTracker> getRunnerBeliefTracker() {
+        return Optional.ofNullable(runnerBeliefTracker);
+    }
+
     @Override
     public List<MoveAction> computeValidMoves(
-            final MapData mapData, final Player player, final List<NodeId> excludedNodes) {
-        final NodeId startingPosition = player.getPosition();
-        final List<MapConnection> connections = mapData.getConnectionsFrom(startingPosition);
-        final Set<NodeId> invalidPositions =
-                players.getSeekers().map(Player::getPosition).collect(Collectors.toUnmodifiableSet());
+            final MapData mapData, final Player player, final NodeSet excludedNodes) {
+        final MoveBuffer moves = new MoveBuffer();
+        moveGeneratorFor(mapData).generate(player, getSeekerPositions().union(excludedNodes), moves);
+        return moves.toMoveActions();
+    }
 
-        return connections.stream()
-                .filter(it -> !invalidPositions.contains(it.getTo())
-                        && !excludedNodes.contains(it.getTo())
-                        && player.getInventory().containsTicket(Inventory.getTicketTypeForTransport(it.getTransport())))
-                .map(it -> new MoveAction(it.getTo(), it.getTransport()))
-                .toList();
+    /**
+     * Returns the move generator of a map, built again only when the map changes.
+     */
+    private MoveGenerator moveGeneratorFor(final MapData mapData) {
+        if (this.moveGenerator == null || this.moveGeneratorMap != mapData) {
+            this.moveGenerator = new MoveGenerator(mapData);
+            this.moveGeneratorMap = mapData;
+        }
+        return this.moveGenerator;
     }
 
     @Override
@@ -398,6 +465,9 @@ public final class GameStateImpl implements GameState {
         final NodeId position = players.getMisterX().getPosition();
         final ExposedPosition exposed = new ExposedPosition(position, round);
         exposedPositions.add(exposed);
+        if (runnerBeliefTracker != null) {
+            runnerBeliefTracker.reveal(position);
+        }
         runnerExposed = true;
         notifySubscribers(it -> it.onExposedPosition(exposed));
     }
@@ -0,0 +1,106 @@
+package it.unibo.scotyard.model.game;
+
+import it.unibo.scotyard.model.Pair;
+import it.unibo.scotyard.model.entities.MoveAction;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.TransportType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reusable buffer of moves encoded by {@link MoveGenerator}. The backing array only grows, so a buffer kept across
+ * turns stops allocating once it has seen the largest move list.
+ */
+public final class MoveBuffer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] moves;
+    private int size;
+
+    /**
+     * Creates an empty buffer.
+     */
+    public MoveBuffer() {
+        this.moves = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Appends an encoded move.
+     *
+     * @param move the encoded move
+     */
+    public void add(final int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * Returns the encoded move at the given position.
+     *
+     * @param index the position of the move
+     * @return the encoded move
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return moves[index];
+    }
+
+    /**
+     * Returns the number of moves in the buffer.
+     *
+     * @return the number of moves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the buffer contains no moves.
+     *
+     * @return true if the buffer is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every move, keeping the capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Converts the moves to {@link MoveAction}s.
+     *
+     * @return a new list with the decoded moves
+     */
+    public List<MoveAction> toMoveActions() {
+        final List<MoveAction> actions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            actions.add(new MoveAction(
+                    new NodeId(MoveGenerator.destination(moves[i])), MoveGenerator.transport(moves[i])));
+        }
+        return actions;
+    }
+
+    /**
+     * Adds the moves to a set of destination and transport pairs, as used by the controllers.
+     *
+     * @param destinations the set to fill
+     */
+    public void addTo(final Set<Pair<NodeId, TransportType>> destinations) {
+        for (int i = 0; i < size; i++) {
+            destinations.add(
+                    new Pair<>(new NodeId(MoveGenerator.destination(moves[i])), MoveGenerator.transport(moves[i])));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package it.unibo.scotyard.model.game;
+
+import it.unibo.scotyard.model.inventory.Inventory;
+import it.unibo.scotyard.model.map.ConnectionIndex;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.players.MisterX;
+import it.unibo.scotyard.model.players.Player;
+import java.util.Objects;
+
+/**
+ * Generates the legal moves of a player in a single pass over the connection index.
+ *
+ * <p>
+ * Moves are encoded as {@code int}s holding, from the lowest bits, the transport ordinal ({@value #TRANSPORT_BITS}
+ * bits), the destination node id and the origin node id ({@value #NODE_BITS} bits each), and are written into a
+ * reusable {@link MoveBuffer}. Keeping the origin makes every move reversible. A move is legal when:
+ * </p>
+ * <ul>
+ * <li>the destination is not blocked, i.e. occupied by a seeker or already visited during the turn;</li>
+ * <li>the transport is the ferry only if the player is Mister X;</li>
+ * <li>the player has at least one ticket for the transport.</li>
+ * </ul>
+ */
+public final class MoveGenerator {
+
+    /** Number of low bits holding the transport ordinal of an encoded move. */
+    public static final int TRANSPORT_BITS = 2;
+
+    /** Number of bits holding a node id of an encoded move. */
+    public static final int NODE_BITS = 10;
+
+    /** Transport mask allowing every transport type. */
+    public static final int ALL_TRANSPORTS = (1 << TransportType.values().length) - 1;
+
+    private static final int TRANSPORT_MASK = (1 << TRANSPORT_BITS) - 1;
+    private static final int NODE_MASK = (1 << NODE_BITS) - 1;
+    private static final int ORIGIN_SHIFT = TRANSPORT_BITS + NODE_BITS;
+    private static final TransportType[] TRANSPORTS = TransportType.values();
+
+    private final ConnectionIndex index;
+
+    /**
+     * Creates a move generator for the map.
+     *
+     * @param mapData the map data
+     * @throws NullPointerException if mapData is null
+     * @throws IllegalArgumentException if the node ids do not fit in an encoded move
+     */
+    public MoveGenerator(final MapData mapData) {
+        this.index = Objects.requireNonNull(mapData, "MapData cannot be null").getConnectionIndex();
+        if (index.getMaxNodeId() > NODE_MASK) {
+            throw new IllegalArgumentException("Node ids cannot exceed " + NODE_MASK + ": " + index.getMaxNodeId());
+        }
+    }
+
+    /**
+     * Writes the legal moves of the player from its current position into the buffer, replacing its content.
+     *
+     * @param player the player to move
+     * @param blocked the nodes the player cannot move onto
+     * @param out the buffer receiving the moves
+     * @return the number of moves generated
+     */
+    public int generate(final Player player, final NodeSet blocked, final MoveBuffer out) {
+        return generate(player.getPosition().id(), blocked, transportMask(player), out);
+    }
+
+    /**
+     * Writes the moves from a node into the buffer, replacing its content.
+     *
+     * @param from the starting node id
+     * @param blocked the nodes that cannot be moved onto
+     * @param transportMask the allowed transports, one bit per transport ordinal
+     * @param out the buffer receiving the moves
+     * @return the number of moves generated
+     */
+    public int generate(final int from, final NodeSet blocked, final int transportMask, final MoveBuffer out) {
+        out.clear();
+        for (final TransportType transport : TRANSPORTS) {
+            if ((transportMask & (1 << transport.ordinal())) == 0) {
+                continue;
+            }
+            final int end = index.end(from, transport);
+            for (int edge = index.start(from, transport); edge < end; edge++) {
+                final int target = index.target(edge);
+                if (!blocked.contains(target)) {
+                    out.add(encode(from, target, transport));
+                }
+            }
+        }
+        return out.size();
+    }
+
+    /**
+     * Writes the legal moves of the player to move in the snapshot into the buffer, replacing its content. Moves onto
+     * the seekers are skipped, and the transports are limited by the tickets stored in the snapshot.
+     *
+     * @param snapshot the game snapshot
+     * @param out the buffer receiving the moves
+     * @return the number of moves generated
+     */
+    public int generate(final GameSnapshot snapshot, final MoveBuffer out) {
+        out.clear();
+        final int player = snapshot.getCurrentPlayer();
+        final int from = snapshot.getPosition(player);
+        for (final TransportType transport : TRANSPORTS) {
+            if ((transport == TransportType.FERRY && player != GameSnapshot.RUNNER)
+                    || snapshot.getTickets(player, transport) == 0) {
+                continue;
+            }
+            final int end = index.end(from, transport);
+            for (int edge = index.start(from, transport); edge < end; edge++) {
+                final int target = index.target(edge);
+                if (!snapshot.isSeekerAt(target)) {
+                    out.add(encode(from, target, transport));
+                }
+            }
+        }
+        return out.size();
+    }
+
+    /**
+     * Returns the transports the player is allowed to use, one bit per transport ordinal.
+     *
+     * @param player the player
+     * @return the transport mask of the player
+     */
+    public static int transportMask(final Player player) {
+        int mask = 0;
+        for (final TransportType transport : TRANSPORTS) {
+            if ((transport != TransportType.FERRY || player instanceof MisterX)
+                    && player.getInventory().containsTicket(Inventory.getTicketTypeForTransport(transport))) {
+                mask |= 1 << transport.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Encodes a move.
+     *
+     * @param origin the starting node id
+     * @param destination the destination node id
+     * @param transport the transport type
+     * @return the encoded move
+     */
+    public static int encode(final int origin, final int destination, final TransportType transport) {
+        return origin << ORIGIN_SHIFT | destination << TRANSPORT_BITS | transport.ordinal();
+    }
+
+    /**
+     * Returns the starting node id of an encoded move.
+     *
+     * @param move the encoded move
+     * @return the starting node id
+     */
+    public static int origin(final int move) {
+        return (move >>> ORIGIN_SHIFT) & NODE_MASK;
+    }
+
+    /**
+     * Returns the destination node id of an encoded move.
+     *
+     * @param move the encoded move
+     * @return the destination node id
+     */
+    public static int destination(final int move) {
+        return (move >>> TRANSPORT_BITS) & NODE_MASK;
+    }
+
+    /**
+     * Returns the transport type of an encoded move.
+     *
+     * @param move the encoded move
+     * @return the transport type
+     */
+    public static TransportType transport(final int move) {
+        return TRANSPORTS[move & TRANSPORT_MASK];
+    }
+}
@@ -0,0 +1,129 @@
+package it.unibo.scotyard.model.game;
+
+import it.unibo.scotyard.model.map.ConnectionIndex;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.map.TransportType;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Tracks the nodes where Mister X may be, using only what the seekers know: the exposed positions, the transports
+ * used by Mister X in every turn and the nodes visited by the seekers.
+ *
+ * <p>
+ * The candidates start from the initial positions of the map and are reset to a single node at every exposure. Every
+ * transport used by Mister X expands them along the connections of that transport, which are precomputed as one
+ * neighbour bitmap per node and transport, so that an update costs one bitmap union per candidate. A double move is
+ * simply a turn with two transports, and the ferry expands along the ferry connections only Mister X can use.
+ * </p>
+ */
+public final class RunnerBeliefTracker {
+
+    private final NodeSet[][] neighbours;
+    private NodeSet candidates;
+    private NodeSet next;
+    private int trackedTurns;
+
+    /**
+     * Creates a tracker where Mister X may be on any initial position of the map.
+     *
+     * @param mapData the map data
+     */
+    public RunnerBeliefTracker(final MapData mapData) {
+        final ConnectionIndex index = mapData.getConnectionIndex();
+        final TransportType[] transports = TransportType.values();
+        this.neighbours = new NodeSet[transports.length][mapData.getMaxNodeId() + 1];
+        for (final TransportType transport : transports) {
+            final NodeSet[] byNode = this.neighbours[transport.ordinal()];
+            for (int node = 0; node < byNode.length; node++) {
+                byNode[node] = NodeSet.forMap(mapData);
+                for (int edge = index.start(node, transport); edge < index.end(node, transport); edge++) {
+                    byNode[node].add(index.target(edge));
+                }
+            }
+        }
+        this.candidates = NodeSet.forMap(mapData).union(NodeSet.of(mapData.getInitialPositions()));
+        this.next = NodeSet.forMap(mapData);
+    }
+
+    /**
+     * Returns the nodes where Mister X may be.
+     *
+     * @return a new set with the candidate nodes
+     */
+    public NodeSet getCandidates() {
+        return candidates.copy();
+    }
+
+    /**
+     * Returns the number of nodes where Mister X may be.
+     *
+     * @return the number of candidate nodes
+     */
+    public int size() {
+        return candidates.size();
+    }
+
+    /**
+     * Returns whether Mister X may be on the node.
+     *
+     * @param nodeId the node id
+     * @return true if the node is a candidate
+     */
+    public boolean isCandidate(final NodeId nodeId) {
+        return candidates.contains(nodeId);
+    }
+
+    /**
+     * Narrows the candidates to the exposed position of Mister X.
+     *
+     * @param position the exposed position
+     */
+    public void reveal(final NodeId position) {
+        Objects.requireNonNull(position, "Position cannot be null");
+        candidates.clear();
+        candidates.add(position);
+    }
+
+    /**
+     * Removes the nodes where Mister X cannot be, such as the ones occupied by the seekers.
+     *
+     * @param excluded the nodes to remove
+     */
+    public void exclude(final NodeSet excluded) {
+        candidates.andNot(excluded);
+    }
+
+    /**
+     * Expands the candidates with a turn of Mister X.
+     *
+     * @param transports the transports used in the turn, two for a double move
+     * @param occupied the nodes occupied by the seekers during the turn
+     */
+    public void addTurn(final List<TransportType> transports, final NodeSet occupied) {
+        for (final TransportType transport : transports) {
+            final NodeSet[] byNode = neighbours[transport.ordinal()];
+            next.clear();
+            candidates.forEach(node -> next.union(byNode[node]));
+            next.andNot(occupied);
+
+            final NodeSet previous = candidates;
+            candidates = next;
+            next = previous;
+        }
+    }
+
+    /**
+     * Expands the candidates with the turns of Mister X not tracked yet.
+     *
+     * @param turns every turn of Mister X, as recorded by the runner turn tracker
+     * @param occupied the nodes occupied by the seekers during the last turn
+     */
+    public void sync(final List<List<TransportType>> turns, final NodeSet occupied) {
+        for (; trackedTurns < turns.size(); trackedTurns++) {
+            addTurn(turns.get(trackedTurns), occupied);
+        }
+    }
+}
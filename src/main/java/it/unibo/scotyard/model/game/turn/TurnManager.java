@@ -1,6 +1,7 @@
 package it.unibo.scotyard.model.game.turn;
 
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import it.unibo.scotyard.model.map.TransportType;
 import java.util.Set;
 
@@ -18,12 +19,11 @@ public interface TurnManager<M extends TurnManager.MoveOption> {
      * node via the specified transport.
      *
      * @param currentPosition   the current node position
-     * @param occupiedPositions the set of node IDs currently occupied by other
-     *                          players
+     * @param occupiedPositions the nodes currently occupied by other players
      * @return a set of valid move options
      * @throws IllegalArgumentException if currentPosition is invalid
      */
-    Set<M> getValidMoves(NodeId currentPosition, Set<NodeId> occupiedPositions);
+    Set<M> getValidMoves(NodeId currentPosition, NodeSet occupiedPositions);
 
     /**
      * Checks if a specific move is valid. A move is valid if there exists a
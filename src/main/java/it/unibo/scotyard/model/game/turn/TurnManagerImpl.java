@@ -1,13 +1,14 @@
 package it.unibo.scotyard.model.game.turn;
 
-import it.unibo.scotyard.model.map.MapConnection;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.game.MoveGenerator;
 import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import it.unibo.scotyard.model.map.TransportType;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * implementation of TurnManager. - Standard move validation - Double move
@@ -22,6 +23,8 @@ import java.util.stream.Collectors;
 public final class TurnManagerImpl implements TurnManager<TurnManagerImpl.MoveOption> {
 
     private final MapData mapData;
+    private final MoveGenerator moveGenerator;
+    private final MoveBuffer moveBuffer = new MoveBuffer();
     // Double move state
     private boolean doubleMoveAvailable;
     private boolean isFirstMoveOfDouble;
@@ -35,23 +38,26 @@ public final class TurnManagerImpl implements TurnManager<TurnManagerImpl.MoveOp
      */
     public TurnManagerImpl(final MapData mapData) {
         this.mapData = Objects.requireNonNull(mapData, "MapData cannot be null");
+        this.moveGenerator = new MoveGenerator(mapData);
         this.doubleMoveAvailable = true;
         this.isFirstMoveOfDouble = false;
     }
 
     @Override
-    public Set<MoveOption> getValidMoves(final NodeId currentPosition, final Set<NodeId> occupiedPositions) {
-        return mapData.getConnectionsFrom(currentPosition).stream()
-                .filter(conn -> !occupiedPositions.contains(conn.getTo()))
-                .map(conn -> new MoveOption(conn.getTo(), conn.getTransport()))
-                .collect(Collectors.toSet());
+    public Set<MoveOption> getValidMoves(final NodeId currentPosition, final NodeSet occupiedPositions) {
+        moveGenerator.generate(currentPosition.id(), occupiedPositions, MoveGenerator.ALL_TRANSPORTS, moveBuffer);
+        final Set<MoveOption> moves = new HashSet<>();
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            final int move = moveBuffer.get(i);
+            moves.add(new MoveOption(new NodeId(MoveGenerator.destination(move)), MoveGenerator.transport(move)));
+        }
+        return moves;
     }
 
     @Override
     public boolean isValidMove(final NodeId from, final NodeId to, final TransportType transport) {
-        final List<MapConnection> connections = mapData.getConnectionsFrom(from, transport);
-
-        return connections.stream().anyMatch(conn -> conn.getTo().equals(to));
+        Objects.requireNonNull(transport, "Transport cannot be null");
+        return mapData.getConnectionIndex().hasConnection(from.id(), to.id(), transport);
     }
 
     @Override
@@ -2,6 +2,7 @@ package it.unibo.scotyard.model.game.turn;
 
 import it.unibo.scotyard.model.entities.MoveAction;
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import java.util.List;
 
 /**
@@ -63,4 +64,12 @@ public interface TurnState {
      * @return the previous position of the player during the current turn.
      */
     List<NodeId> getPositionHistory();
+
+    /**
+     * Gets the nodes visited by the player during the current turn, including the position at the start of the
+     * round, as a set that can be checked without boxing.
+     *
+     * @return the nodes visited during the current turn.
+     */
+    NodeSet getVisitedNodes();
 }
@@ -2,6 +2,7 @@ package it.unibo.scotyard.model.game.turn;
 
 import it.unibo.scotyard.model.entities.MoveAction;
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,12 +10,15 @@ public class TurnStateImpl implements TurnState {
     private List<MoveAction> legalMoves;
     private final List<MoveAction> moves = new ArrayList<>();
     private final List<NodeId> positionHistory;
+    private final NodeSet visitedNodes;
     private boolean usedDoubleMove;
     private int remainingMoves = 1;
 
     public TurnStateImpl(final NodeId startingPosition) {
         this.positionHistory = new ArrayList<>();
         this.positionHistory.add(startingPosition);
+        this.visitedNodes = new NodeSet(startingPosition.id());
+        this.visitedNodes.add(startingPosition);
     }
 
     @Override
@@ -25,6 +29,7 @@ public class TurnStateImpl implements TurnState {
 
         moves.add(moveAction);
         positionHistory.add(moveAction.destination());
+        visitedNodes.add(moveAction.destination());
         remainingMoves -= 1;
     }
 
@@ -63,4 +68,9 @@ public class TurnStateImpl implements TurnState {
     public List<NodeId> getPositionHistory() {
         return positionHistory;
     }
+
+    @Override
+    public NodeSet getVisitedNodes() {
+        return visitedNodes;
+    }
 }
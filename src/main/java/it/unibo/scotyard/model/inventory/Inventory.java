@@ -41,6 +41,14 @@ public interface Inventory {
      */
     void decrementTickets(TicketType ticketType);
 
+    /**
+     * Sets the number of tickets of ticket type given in input, as when restoring a saved game state.
+     *
+     * @param ticketType the type of ticket
+     * @param count the number of tickets, or MagicNumbers.INFINITE
+     */
+    void setNumberTickets(TicketType ticketType, int count);
+
     /**
      * Given a transport type, returns the corresponding TicketType.
      *
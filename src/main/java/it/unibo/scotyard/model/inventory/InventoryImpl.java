@@ -43,4 +43,9 @@ public abstract class InventoryImpl implements Inventory {
             this.ticketsMap.put(ticketType, currentTickets - 1);
         }
     }
+
+    @Override
+    public void setNumberTickets(TicketType ticketType, int count) {
+        this.ticketsMap.put(ticketType, count);
+    }
 }
@@ -0,0 +1,223 @@
+package it.unibo.scotyard.model.map;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compressed sparse row (CSR) index of the map connections. Connections are grouped by their starting node and,
+ * within each node, by transport type, so the outgoing connections of a node (or of a node using a single transport)
+ * are a contiguous slice of the packed arrays.
+ *
+ * <p>
+ * Slices are addressed by edge indexes: {@code start(node)} is inclusive and {@code end(node)} is exclusive. Node
+ * ids are used directly as array indexes, so ids out of range simply have no connections.
+ * </p>
+ */
+public final class ConnectionIndex {
+
+    private static final TransportType[] TRANSPORTS = TransportType.values();
+    private static final int TRANSPORT_COUNT = TRANSPORTS.length;
+
+    private final int maxNodeId;
+    private final int[] offsets;
+    private final int[] targets;
+    private final byte[] transports;
+    private final MapConnection[] connections;
+
+    /**
+     * Builds the index of the given connections.
+     *
+     * @param nodes the nodes of the map
+     * @param connections the connections between the nodes
+     * @throws NullPointerException if any parameter is null
+     */
+    public ConnectionIndex(final List<MapNode> nodes, final List<MapConnection> connections) {
+        Objects.requireNonNull(nodes, "Nodes cannot be null");
+        Objects.requireNonNull(connections, "Connections cannot be null");
+
+        int maxId = 0;
+        for (final MapNode node : nodes) {
+            maxId = Math.max(maxId, node.getId().id());
+        }
+        for (final MapConnection connection : connections) {
+            maxId = Math.max(maxId, Math.max(connection.getFrom().id(), connection.getTo().id()));
+        }
+        this.maxNodeId = maxId;
+
+        // Counting sort on the (from, transport) slot keeps the original order inside each slice
+        this.offsets = new int[(maxId + 1) * TRANSPORT_COUNT + 1];
+        for (final MapConnection connection : connections) {
+            offsets[slot(connection.getFrom().id(), connection.getTransport()) + 1]++;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+
+        this.targets = new int[connections.size()];
+        this.transports = new byte[connections.size()];
+        this.connections = new MapConnection[connections.size()];
+
+        final int[] cursor = new int[offsets.length - 1];
+        System.arraycopy(offsets, 0, cursor, 0, cursor.length);
+        for (final MapConnection connection : connections) {
+            final int edge = cursor[slot(connection.getFrom().id(), connection.getTransport())]++;
+            this.targets[edge] = connection.getTo().id();
+            this.transports[edge] = (byte) connection.getTransport().ordinal();
+            this.connections[edge] = connection;
+        }
+    }
+
+    /**
+     * Returns the highest node id known to the index.
+     *
+     * @return the highest node id
+     */
+    public int getMaxNodeId() {
+        return maxNodeId;
+    }
+
+    /**
+     * Returns the first edge index of the connections starting from the node.
+     *
+     * @param nodeId the starting node id
+     * @return the first edge index (inclusive)
+     */
+    public int start(final int nodeId) {
+        return isIndexed(nodeId) ? offsets[nodeId * TRANSPORT_COUNT] : 0;
+    }
+
+    /**
+     * Returns the edge index following the last connection starting from the node.
+     *
+     * @param nodeId the starting node id
+     * @return the last edge index (exclusive)
+     */
+    public int end(final int nodeId) {
+        return isIndexed(nodeId) ? offsets[(nodeId + 1) * TRANSPORT_COUNT] : 0;
+    }
+
+    /**
+     * Returns the first edge index of the connections starting from the node with the given transport.
+     *
+     * @param nodeId the starting node id
+     * @param transport the transport type
+     * @return the first edge index (inclusive)
+     */
+    public int start(final int nodeId, final TransportType transport) {
+        return isIndexed(nodeId) ? offsets[slot(nodeId, transport)] : 0;
+    }
+
+    /**
+     * Returns the edge index following the last connection starting from the node with the given transport.
+     *
+     * @param nodeId the starting node id
+     * @param transport the transport type
+     * @return the last edge index (exclusive)
+     */
+    public int end(final int nodeId, final TransportType transport) {
+        return isIndexed(nodeId) ? offsets[slot(nodeId, transport) + 1] : 0;
+    }
+
+    /**
+     * Returns the number of connections starting from the node.
+     *
+     * @param nodeId the starting node id
+     * @return the out degree of the node
+     */
+    public int degree(final int nodeId) {
+        return end(nodeId) - start(nodeId);
+    }
+
+    /**
+     * Returns the destination node id of an edge.
+     *
+     * @param edge the edge index
+     * @return the destination node id
+     */
+    public int target(final int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the transport type of an edge.
+     *
+     * @param edge the edge index
+     * @return the transport type
+     */
+    public TransportType transport(final int edge) {
+        return TRANSPORTS[transports[edge]];
+    }
+
+    /**
+     * Returns the original connection of an edge.
+     *
+     * @param edge the edge index
+     * @return the connection
+     */
+    public MapConnection connection(final int edge) {
+        return connections[edge];
+    }
+
+    /**
+     * Returns the connections in the edge range as an unmodifiable list.
+     *
+     * @param start the first edge index (inclusive)
+     * @param end the last edge index (exclusive)
+     * @return the connections in the range
+     */
+    public List<MapConnection> connections(final int start, final int end) {
+        return List.of(Arrays.copyOfRange(connections, start, end));
+    }
+
+    /**
+     * Checks whether the node has a connection towards the target with the given transport.
+     *
+     * @param from the starting node id
+     * @param to the destination node id
+     * @param transport the transport type
+     * @return true if the connection exists
+     */
+    public boolean hasConnection(final int from, final int to, final TransportType transport) {
+        final int end = end(from, transport);
+        for (int edge = start(from, transport); edge < end; edge++) {
+            if (targets[edge] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits every connection starting from the node, without allocating.
+     *
+     * @param nodeId the starting node id
+     * @param visitor the visitor invoked for every connection
+     */
+    public void forEachConnection(final int nodeId, final Visitor visitor) {
+        final int end = end(nodeId);
+        for (int edge = start(nodeId); edge < end; edge++) {
+            visitor.visit(targets[edge], TRANSPORTS[transports[edge]]);
+        }
+    }
+
+    private boolean isIndexed(final int nodeId) {
+        return nodeId >= 0 && nodeId <= maxNodeId;
+    }
+
+    private static int slot(final int nodeId, final TransportType transport) {
+        return nodeId * TRANSPORT_COUNT + transport.ordinal();
+    }
+
+    /** Receives the connections visited by {@link ConnectionIndex#forEachConnection}. */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Called for each visited connection.
+         *
+         * @param target the destination node id
+         * @param transport the transport type of the connection
+         */
+        void visit(int target, TransportType transport);
+    }
+}
@@ -0,0 +1,134 @@
+package it.unibo.scotyard.model.map;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs shortest path table of the map, measured in hops and restricted to a set of transport types.
+ * Distances are stored in a flat {@code byte[]} indexed by {@code from * (maxNodeId + 1) + to}, so every lookup is
+ * constant time.
+ */
+public final class DistanceTable {
+
+    /** Distance returned for nodes that cannot be reached. */
+    public static final int UNREACHABLE = 0xFF;
+
+    private final int stride;
+    private final byte[] distances;
+
+    private DistanceTable(final int stride, final byte[] distances) {
+        this.stride = stride;
+        this.distances = distances;
+    }
+
+    /**
+     * Computes the distance table of the map, running one breadth first search per node in parallel.
+     *
+     * @param mapData the map data
+     * @param transports the transport types that can be used to move between nodes
+     * @return the computed distance table
+     * @throws NullPointerException if any parameter is null
+     */
+    public static DistanceTable compute(final MapData mapData, final Set<TransportType> transports) {
+        Objects.requireNonNull(mapData, "MapData cannot be null");
+        Objects.requireNonNull(transports, "Transports cannot be null");
+        final Set<TransportType> allowed = EnumSet.noneOf(TransportType.class);
+        allowed.addAll(transports);
+        final ConnectionIndex index = mapData.getConnectionIndex();
+        final int stride = index.getMaxNodeId() + 1;
+        final byte[] distances = new byte[stride * stride];
+
+        // Each source only writes its own row, so the searches never share state
+        IntStream.range(0, stride).parallel().forEach(source -> search(index, allowed, source, distances, stride));
+
+        return new DistanceTable(stride, distances);
+    }
+
+    /**
+     * Computes the distance table used by the seekers, which cannot take the ferry.
+     *
+     * @param mapData the map data
+     * @return the seekers distance table
+     */
+    public static DistanceTable forSeekers(final MapData mapData) {
+        return compute(mapData, EnumSet.complementOf(EnumSet.of(TransportType.FERRY)));
+    }
+
+    /**
+     * Computes the distance table used by Mister X, who can use every transport.
+     *
+     * @param mapData the map data
+     * @return the Mister X distance table
+     */
+    public static DistanceTable forRunner(final MapData mapData) {
+        return compute(mapData, EnumSet.allOf(TransportType.class));
+    }
+
+    /**
+     * Returns the minimum number of hops needed to go from a node to another.
+     *
+     * @param from the starting node id
+     * @param to the destination node id
+     * @return the number of hops, or {@link #UNREACHABLE}
+     */
+    public int distance(final int from, final int to) {
+        if (from < 0 || to < 0 || from >= stride || to >= stride) {
+            return UNREACHABLE;
+        }
+        return distances[from * stride + to] & 0xFF;
+    }
+
+    /**
+     * Returns the minimum number of hops needed to go from a node to another.
+     *
+     * @param from the starting node
+     * @param to the destination node
+     * @return the number of hops, or {@link #UNREACHABLE}
+     */
+    public int distance(final NodeId from, final NodeId to) {
+        return distance(from.id(), to.id());
+    }
+
+    /**
+     * Returns the highest node id covered by this table.
+     *
+     * @return the highest node id
+     */
+    public int getMaxNodeId() {
+        return stride - 1;
+    }
+
+    private static void search(
+            final ConnectionIndex index,
+            final Set<TransportType> allowed,
+            final int source,
+            final byte[] distances,
+            final int stride) {
+        final int row = source * stride;
+        for (int i = 0; i < stride; i++) {
+            distances[row + i] = (byte) UNREACHABLE;
+        }
+        distances[row + source] = 0;
+
+        final int[] queue = new int[stride];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            final int current = queue[head++];
+            final int next = Math.min((distances[row + current] & 0xFF) + 1, UNREACHABLE - 1);
+
+            final int end = index.end(current);
+            for (int edge = index.start(current); edge < end; edge++) {
+                final int target = index.target(edge);
+                if (allowed.contains(index.transport(edge)) && (distances[row + target] & 0xFF) == UNREACHABLE) {
+                    distances[row + target] = (byte) next;
+                    queue[tail++] = target;
+                }
+            }
+        }
+    }
+}
@@ -2,16 +2,17 @@ package it.unibo.scotyard.model.map;
 
 import it.unibo.scotyard.commons.dtos.map.MapInfo;
 import it.unibo.scotyard.commons.dtos.map.MapInfoImpl;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * complete map data including nodes, connections, and game configuration. This class provides a
  * rich query API for accessing and navigating the map structure. All collections are immutable and
- * defensively copied.
+ * defensively copied. Connections are indexed once at construction time, so neighbor lookups only cost the degree of
+ * the node.
  */
 public final class MapData {
 
@@ -20,6 +21,9 @@ public final class MapData {
     private final List<MapConnection> connections;
     private final List<Integer> revealTurns;
     private final List<NodeId> initialPositions;
+    private final ConnectionIndex connectionIndex;
+    private volatile DistanceTable seekerDistances;
+    private volatile DistanceTable runnerDistances;
 
     /**
      * Creates a new MapData with the specified configuration. All collection parameters are
@@ -44,6 +48,7 @@ public final class MapData {
         this.revealTurns = List.copyOf(Objects.requireNonNull(revealTurns, "Reveal turns non può essere null"));
         this.initialPositions =
                 List.copyOf(Objects.requireNonNull(initialPositions, "Initial positions non può essere null"));
+        this.connectionIndex = new ConnectionIndex(this.nodes, this.connections);
     }
 
     /**
@@ -102,6 +107,16 @@ public final class MapData {
         return nodes.stream().filter(node -> node.getId().equals(nodeId)).findFirst();
     }
 
+    /**
+     * Returns the compressed index of the connections, for callers that need allocation-free access to the
+     * neighbors of a node.
+     *
+     * @return the connection index
+     */
+    public ConnectionIndex getConnectionIndex() {
+        return connectionIndex;
+    }
+
     /**
      * Returns all connections originating from the specified node.
      *
@@ -109,9 +124,7 @@ public final class MapData {
      * @return a list of connections from this node
      */
     public List<MapConnection> getConnectionsFrom(final NodeId nodeId) {
-        return connections.stream()
-                .filter(conn -> conn.getFrom().equals(nodeId))
-                .collect(Collectors.toList());
+        return connectionIndex.connections(connectionIndex.start(nodeId.id()), connectionIndex.end(nodeId.id()));
     }
 
     /**
@@ -122,9 +135,8 @@ public final class MapData {
      * @return a list of connections from this node with the specified transport
      */
     public List<MapConnection> getConnectionsFrom(final NodeId nodeId, final TransportType transport) {
-        return connections.stream()
-                .filter(conn -> conn.getFrom().equals(nodeId) && conn.supportsTransport(transport))
-                .collect(Collectors.toList());
+        return connectionIndex.connections(
+                connectionIndex.start(nodeId.id(), transport), connectionIndex.end(nodeId.id(), transport));
     }
 
     /**
@@ -134,10 +146,62 @@ public final class MapData {
      * @return a set of neighboring node IDs
      */
     public Set<NodeId> getNeighbors(final NodeId nodeId) {
-        return connections.stream()
-                .filter(conn -> conn.getFrom().equals(nodeId))
-                .map(MapConnection::getTo)
-                .collect(Collectors.toSet());
+        final Set<NodeId> neighbors = new HashSet<>();
+        final int end = connectionIndex.end(nodeId.id());
+        for (int edge = connectionIndex.start(nodeId.id()); edge < end; edge++) {
+            neighbors.add(connectionIndex.connection(edge).getTo());
+        }
+        return neighbors;
+    }
+
+    /**
+     * Returns the highest node id of this map. Arrays sized {@code getMaxNodeId() + 1} can be indexed directly
+     * with the 1-based node ids.
+     *
+     * @return the highest node id
+     */
+    public int getMaxNodeId() {
+        return connectionIndex.getMaxNodeId();
+    }
+
+    /**
+     * Returns the shortest path table for the seekers, who cannot use the ferry. The table is computed on first use
+     * and shared afterwards.
+     *
+     * @return the seekers distance table
+     */
+    public DistanceTable getSeekerDistances() {
+        DistanceTable table = seekerDistances;
+        if (table == null) {
+            synchronized (this) {
+                table = seekerDistances;
+                if (table == null) {
+                    table = DistanceTable.forSeekers(this);
+                    seekerDistances = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the shortest path table for Mr. X, who can use every transport. The table is computed on first use and
+     * shared afterwards.
+     *
+     * @return the Mr. X distance table
+     */
+    public DistanceTable getRunnerDistances() {
+        DistanceTable table = runnerDistances;
+        if (table == null) {
+            synchronized (this) {
+                table = runnerDistances;
+                if (table == null) {
+                    table = DistanceTable.forRunner(this);
+                    runnerDistances = table;
+                }
+            }
+        }
+        return table;
     }
 
     /**
@@ -0,0 +1,327 @@
+package it.unibo.scotyard.model.map;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Mutable set of nodes backed by a {@code long[]} bitmap, where the bit at index {@code id} tells whether the node
+ * with that id belongs to the set. Operations work on primitive ids and never box, so the set can be reused in hot
+ * paths such as move generation and AI search.
+ *
+ * <p>
+ * The bitmap grows automatically when a node id beyond the current capacity is added.
+ * </p>
+ */
+public final class NodeSet {
+
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_SIZE = 1 << WORD_SHIFT;
+
+    private long[] words;
+
+    /**
+     * Creates an empty set able to hold node ids up to {@code maxNodeId} without growing.
+     *
+     * @param maxNodeId the highest node id expected
+     * @throws IllegalArgumentException if maxNodeId is negative
+     */
+    public NodeSet(final int maxNodeId) {
+        if (maxNodeId < 0) {
+            throw new IllegalArgumentException("Max node id cannot be negative: " + maxNodeId);
+        }
+        this.words = new long[wordIndex(maxNodeId) + 1];
+    }
+
+    /**
+     * Creates an empty set sized for the nodes of the map.
+     *
+     * @param mapData the map data
+     * @return an empty node set
+     */
+    public static NodeSet forMap(final MapData mapData) {
+        return new NodeSet(mapData.getMaxNodeId());
+    }
+
+    /**
+     * Creates a set containing the given nodes.
+     *
+     * @param nodes the nodes to add
+     * @return a node set containing the nodes
+     */
+    public static NodeSet of(final Iterable<NodeId> nodes) {
+        final NodeSet set = new NodeSet(0);
+        for (final NodeId node : nodes) {
+            set.add(node);
+        }
+        return set;
+    }
+
+    /**
+     * Adds a node to the set.
+     *
+     * @param nodeId the node id
+     * @return true if the node was not already in the set
+     * @throws IllegalArgumentException if the id is negative
+     */
+    public boolean add(final int nodeId) {
+        if (nodeId < 0) {
+            throw new IllegalArgumentException("Node id cannot be negative: " + nodeId);
+        }
+        final int word = wordIndex(nodeId);
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        final long mask = 1L << nodeId;
+        final boolean added = (words[word] & mask) == 0;
+        words[word] |= mask;
+        return added;
+    }
+
+    /**
+     * Adds a node to the set.
+     *
+     * @param nodeId the node
+     * @return true if the node was not already in the set
+     */
+    public boolean add(final NodeId nodeId) {
+        return add(nodeId.id());
+    }
+
+    /**
+     * Removes a node from the set.
+     *
+     * @param nodeId the node id
+     * @return true if the node was in the set
+     */
+    public boolean remove(final int nodeId) {
+        if (!contains(nodeId)) {
+            return false;
+        }
+        words[wordIndex(nodeId)] &= ~(1L << nodeId);
+        return true;
+    }
+
+    /**
+     * Removes a node from the set.
+     *
+     * @param nodeId the node
+     * @return true if the node was in the set
+     */
+    public boolean remove(final NodeId nodeId) {
+        return remove(nodeId.id());
+    }
+
+    /**
+     * Checks whether the node belongs to the set.
+     *
+     * @param nodeId the node id
+     * @return true if the node is in the set
+     */
+    public boolean contains(final int nodeId) {
+        if (nodeId < 0) {
+            return false;
+        }
+        final int word = wordIndex(nodeId);
+        return word < words.length && (words[word] & (1L << nodeId)) != 0;
+    }
+
+    /**
+     * Checks whether the node belongs to the set.
+     *
+     * @param nodeId the node
+     * @return true if the node is in the set
+     */
+    public boolean contains(final NodeId nodeId) {
+        return contains(nodeId.id());
+    }
+
+    /**
+     * Adds every node of the other set to this set.
+     *
+     * @param other the other set
+     * @return this set
+     */
+    public NodeSet union(final NodeSet other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * Keeps only the nodes that also belong to the other set.
+     *
+     * @param other the other set
+     * @return this set
+     */
+    public NodeSet intersect(final NodeSet other) {
+        final int common = Math.min(words.length, other.words.length);
+        for (int i = 0; i < common; i++) {
+            words[i] &= other.words[i];
+        }
+        Arrays.fill(words, common, words.length, 0L);
+        return this;
+    }
+
+    /**
+     * Removes every node that belongs to the other set.
+     *
+     * @param other the other set
+     * @return this set
+     */
+    public NodeSet andNot(final NodeSet other) {
+        final int common = Math.min(words.length, other.words.length);
+        for (int i = 0; i < common; i++) {
+            words[i] &= ~other.words[i];
+        }
+        return this;
+    }
+
+    /**
+     * Removes every node from the set, keeping its capacity.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Returns the number of nodes in the set.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        int size = 0;
+        for (final long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /**
+     * Checks whether the set is empty.
+     *
+     * @return true if the set contains no nodes
+     */
+    public boolean isEmpty() {
+        for (final long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the first node id in the set greater than or equal to the given one.
+     *
+     * @param fromNodeId the node id to start from (inclusive)
+     * @return the next node id, or -1 if there is none
+     */
+    public int nextSetBit(final int fromNodeId) {
+        final int from = Math.max(fromNodeId, 0);
+        int word = wordIndex(from);
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return word * WORD_SIZE + Long.numberOfTrailingZeros(bits);
+            }
+            word++;
+            if (word >= words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    /**
+     * Visits every node id of the set in ascending order.
+     *
+     * @param action the action invoked for every node id
+     */
+    public void forEach(final IntConsumer action) {
+        for (int i = 0; i < words.length; i++) {
+            long bits = words[i];
+            while (bits != 0) {
+                action.accept(i * WORD_SIZE + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns an independent copy of this set.
+     *
+     * @return the copy
+     */
+    public NodeSet copy() {
+        final NodeSet copy = new NodeSet(0);
+        copy.words = words.clone();
+        return copy;
+    }
+
+    /**
+     * Converts the set to a set of {@link NodeId}, for callers outside the hot path such as the view.
+     *
+     * @return a new set with the same nodes
+     */
+    public Set<NodeId> toNodeIds() {
+        final Set<NodeId> nodeIds = new HashSet<>();
+        forEach(id -> nodeIds.add(new NodeId(id)));
+        return nodeIds;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NodeSet)) {
+            return false;
+        }
+        final NodeSet that = (NodeSet) o;
+        final int common = Math.min(words.length, that.words.length);
+        for (int i = 0; i < common; i++) {
+            if (words[i] != that.words[i]) {
+                return false;
+            }
+        }
+        return isZeroFrom(words, common) && isZeroFrom(that.words, common);
+    }
+
+    @Override
+    public int hashCode() {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, length));
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("NodeSet{");
+        forEach(id -> builder.append(builder.length() > "NodeSet{".length() ? ", " : "").append(id));
+        return builder.append('}').toString();
+    }
+
+    private static boolean isZeroFrom(final long[] words, final int from) {
+        for (int i = from; i < words.length; i++) {
+            if (words[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int wordIndex(final int nodeId) {
+        return nodeId >>> WORD_SHIFT;
+    }
+}
@@ -9,6 +9,7 @@ import it.unibo.scotyard.model.inventory.Inventory;
 import it.unibo.scotyard.model.inventory.InventoryImpl;
 import it.unibo.scotyard.model.map.MapData;
 import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
 import it.unibo.scotyard.model.map.TransportType;
 import java.util.Set;
 
@@ -175,6 +176,16 @@ public final class MisterX extends AbstractPlayerImpl {
      * @return set of valid move options
      */
     public Set<TurnManagerImpl.MoveOption> getValidMoves(final Set<NodeId> occupiedPositions) {
+        return getValidMoves(NodeSet.of(occupiedPositions));
+    }
+
+    /**
+     * Gets all valid moves from the current position.
+     *
+     * @param occupiedPositions the nodes occupied by other players
+     * @return set of valid move options
+     */
+    public Set<TurnManagerImpl.MoveOption> getValidMoves(final NodeSet occupiedPositions) {
         ensureInitialized();
         return getTurnManagerImpl().getValidMoves(this.getPosition(), occupiedPositions);
     }
@@ -0,0 +1,19 @@
+package it.unibo.scotyard.model.router;
+
+import it.unibo.scotyard.model.command.GameCommand;
+
+/**
+ * Wraps the handling of every command dispatched by a {@link CommandRouter}, running code before and after the
+ * handler, such as measuring how long it takes.
+ */
+@FunctionalInterface
+public interface CommandInterceptor {
+    /**
+     * Intercepts the handling of a command. Implementations must run {@code handler} exactly once, which runs the
+     * next interceptors of the chain and then the handler of the command.
+     *
+     * @param command the command being handled
+     * @param handler runs the rest of the chain
+     */
+    void intercept(GameCommand command, Runnable handler);
+}
@@ -0,0 +1,269 @@
+package it.unibo.scotyard.model.router;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import it.unibo.scotyard.model.command.turn.StartTurnCommand;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long the handlers of every command class take.
+ *
+ * <p>
+ * Every command class has its own count and total, kept in {@link LongAdder}s, and a log-linear histogram with eight
+ * buckets per power of two, so that percentiles are within 12.5% of the real latency without storing the samples.
+ * Recording never locks, so one instance can be shared by the routers of games played on different threads.
+ * </p>
+ *
+ * <p>
+ * The latency of a command is the time spent in its own handler. With a router in {@link CommandRouter.Mode#DIRECT}
+ * mode the commands dispatched by a handler are handled inside it: their latency is recorded on their own rows and
+ * subtracted from the one of the handler dispatching them, so every handler is measured on its own in both modes.
+ * </p>
+ *
+ * <p>
+ * The AI brains think off the thread dispatching the commands, so their thinking time is not part of the latency of
+ * any command: it is recorded separately through {@link #recordThinking(long)} and reported on its own row.
+ * </p>
+ */
+public final class CommandMetrics implements CommandInterceptor {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private static final String THINKING_ROW = "AI thinking";
+
+    private final Map<Class<? extends GameCommand>, Histogram> histograms = new ConcurrentHashMap<>();
+    private volatile Histogram thinking = new Histogram();
+    // Tempo speso dal thread nei comandi annidati in quello che sta gestendo
+    private final ThreadLocal<long[]> nestedNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void intercept(final GameCommand command, final Runnable handler) {
+        final long[] nested = nestedNanos.get();
+        final long outerNested = nested[0];
+        nested[0] = 0;
+        final long start = System.nanoTime();
+        try {
+            handler.run();
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            final long exclusive = elapsed - nested[0];
+            nested[0] = outerNested + elapsed;
+            histograms.computeIfAbsent(command.getClass(), type -> new Histogram()).record(exclusive);
+        }
+    }
+
+    /**
+     * Returns the statistics of a command class.
+     *
+     * @param type the command class
+     * @return the statistics, or an empty optional if no command of that class has been handled
+     */
+    public Optional<CommandStats> get(final Class<? extends GameCommand> type) {
+        return Optional.ofNullable(histograms.get(type)).map(histogram -> histogram.stats(type));
+    }
+
+    /**
+     * Records the time an AI brain spent thinking about a turn.
+     *
+     * @param nanos the thinking time
+     */
+    public void recordThinking(final long nanos) {
+        thinking.record(nanos);
+    }
+
+    /**
+     * Returns the statistics of the thinking time of the AI brains, attributed to the command starting the turns.
+     *
+     * @return the statistics, or an empty optional if no brain has played a turn
+     */
+    public Optional<CommandStats> getThinking() {
+        final CommandStats stats = thinking.stats(StartTurnCommand.class);
+        return stats.count() == 0 ? Optional.empty() : Optional.of(stats);
+    }
+
+    /**
+     * Returns the statistics of every command class handled so far, slowest in total first.
+     *
+     * @return the statistics by command class
+     */
+    public Map<Class<? extends GameCommand>, CommandStats> snapshot() {
+        final Map<Class<? extends GameCommand>, CommandStats> snapshot = new LinkedHashMap<>();
+        histograms.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .sorted(Comparator.comparingLong(CommandStats::totalNanos).reversed())
+                .forEach(stats -> snapshot.put(stats.command(), stats));
+        return snapshot;
+    }
+
+    /** Forgets every recorded latency and thinking time. */
+    public void reset() {
+        histograms.clear();
+        thinking = new Histogram();
+    }
+
+    /**
+     * Returns a table with the statistics of every command class, followed by the thinking time of the AI, in
+     * milliseconds.
+     *
+     * @return the report
+     */
+    public String report() {
+        final StringBuilder report = new StringBuilder(String.format(
+                Locale.ROOT,
+                "%-28s %10s %12s %10s %10s %10s %10s %10s%n",
+                "command",
+                "count",
+                "total ms",
+                "mean ms",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "max ms"));
+        for (final CommandStats stats : snapshot().values()) {
+            appendRow(report, stats.command().getSimpleName(), stats);
+        }
+        getThinking().ifPresent(stats -> appendRow(report, THINKING_ROW, stats));
+        return report.toString();
+    }
+
+    private static void appendRow(final StringBuilder report, final String name, final CommandStats stats) {
+        report.append(String.format(
+                Locale.ROOT,
+                "%-28s %10d %12.3f %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                name,
+                stats.count(),
+                stats.totalNanos() / NANOS_PER_MILLI,
+                stats.meanNanos() / NANOS_PER_MILLI,
+                stats.p50Nanos() / NANOS_PER_MILLI,
+                stats.p90Nanos() / NANOS_PER_MILLI,
+                stats.p99Nanos() / NANOS_PER_MILLI,
+                stats.maxNanos() / NANOS_PER_MILLI));
+    }
+
+    /**
+     * Prints the report on the standard error when the virtual machine shuts down. The report does not go through
+     * logging, whose handlers may already have been closed by the shutdown hook of the log manager.
+     */
+    public void dumpOnExit() {
+        Runtime.getRuntime()
+                .addShutdownHook(new Thread(
+                        () -> {
+                            System.err.print("Latenza dei comandi:" + System.lineSeparator() + report());
+                            System.err.flush();
+                        },
+                        "command-metrics"));
+    }
+
+    /**
+     * The latency statistics of a command class.
+     *
+     * @param command the command class
+     * @param count the number of handled commands
+     * @param totalNanos the total latency
+     * @param maxNanos the highest latency
+     * @param p50Nanos the median latency
+     * @param p90Nanos the 90th percentile of the latency
+     * @param p99Nanos the 99th percentile of the latency
+     */
+    public record CommandStats(
+            Class<? extends GameCommand> command,
+            long count,
+            long totalNanos,
+            long maxNanos,
+            long p50Nanos,
+            long p90Nanos,
+            long p99Nanos) {
+
+        /**
+         * Returns the mean latency.
+         *
+         * @return the mean latency, 0 if no command has been handled
+         */
+        public double meanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+    }
+
+    /** A lock-free log-linear histogram of latencies. */
+    static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void record(final long nanos) {
+            final long value = Math.max(0, nanos);
+            count.increment();
+            total.add(value);
+            max.accumulateAndGet(value, Math::max);
+            buckets.incrementAndGet(bucket(value));
+        }
+
+        CommandStats stats(final Class<? extends GameCommand> type) {
+            final long[] counts = new long[BUCKETS];
+            long recorded = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                recorded += counts[i];
+            }
+            final long highest = max.get();
+            return new CommandStats(
+                    type,
+                    count.sum(),
+                    total.sum(),
+                    highest,
+                    percentile(counts, recorded, 50, highest),
+                    percentile(counts, recorded, 90, highest),
+                    percentile(counts, recorded, 99, highest));
+        }
+
+        /**
+         * Returns the highest value of the bucket holding the given percentile, capped by the highest value
+         * recorded.
+         */
+        static long percentile(final long[] counts, final long recorded, final int percent, final long highest) {
+            if (recorded == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (recorded * percent + 99) / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highest, highestValue(i));
+                }
+            }
+            return highest;
+        }
+
+        /** Values below {@code SUB_BUCKETS} have a bucket each, every following power of two is split evenly. */
+        static int bucket(final long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+            final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        static long highestValue(final int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            final int shift = bucket / SUB_BUCKETS - 1;
+            final long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+            return lowest + (1L << shift) - 1;
+        }
+    }
+}
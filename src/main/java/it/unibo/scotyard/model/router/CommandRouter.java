@@ -1,18 +1,45 @@
 package it.unibo.scotyard.model.router;
 
 import it.unibo.scotyard.model.command.GameCommand;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
  * Stores a handler for each GameCommand.
  * This implementation supports at most one handler per GameCommand.
+ *
+ * <p>
+ * In {@link Mode#DIRECT} mode every command is handled as soon as it is dispatched, so commands dispatched by a
+ * handler are handled before that handler returns. In {@link Mode#QUEUED} mode commands dispatched by a handler are
+ * queued and handled in order once it returns, by the loop of the outermost dispatch: the stack depth no longer
+ * grows with the length of the chain of commands, which matters for games played entirely by the computer.
+ * </p>
  */
 public class CommandRouter implements CommandDispatcher, CommandHandlerStore {
     private final Map<Class<?>, Consumer<?>> handlers = new HashMap<>();
+    private final List<CommandInterceptor> interceptors = new ArrayList<>();
+    private final Mode mode;
+    private final Deque<GameCommand> queue = new ArrayDeque<>();
+    private boolean draining;
 
-    public CommandRouter() {}
+    public CommandRouter() {
+        this(Mode.DIRECT);
+    }
+
+    /**
+     * Creates a router dispatching commands in the given mode.
+     *
+     * @param mode the dispatch mode
+     */
+    public CommandRouter(final Mode mode) {
+        this.mode = Objects.requireNonNull(mode, "Mode cannot be null");
+    }
 
     /**
      * Registers a new handler for the GameCommand removing any previous registered handlers.
@@ -26,13 +53,78 @@ public class CommandRouter implements CommandDispatcher, CommandHandlerStore {
         handlers.put(type, handler);
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Adds an interceptor around every handler. Interceptors run in the order they are added, the first one being the
+     * outermost.
+     *
+     * @param interceptor the interceptor
+     */
+    public void addInterceptor(final CommandInterceptor interceptor) {
+        interceptors.add(Objects.requireNonNull(interceptor, "Interceptor cannot be null"));
+    }
+
+    /**
+     * Dispatches the command. In queued mode, a command dispatched while another is being handled is only handled
+     * after it; if a handler throws, the commands still queued are dropped.
+     *
+     * @param command the command to dispatch
+     * @param <T> the type of the command to dispatch
+     */
     @Override
     public <T extends GameCommand> void dispatch(final T command) {
+        if (mode == Mode.DIRECT) {
+            handle(command);
+            return;
+        }
+
+        queue.addLast(command);
+        if (draining) {
+            return;
+        }
+        draining = true;
+        try {
+            GameCommand next = queue.pollFirst();
+            while (next != null) {
+                handle(next);
+                next = queue.pollFirst();
+            }
+        } finally {
+            queue.clear();
+            draining = false;
+        }
+    }
+
+    /**
+     * Returns the dispatch mode of the router.
+     *
+     * @return the dispatch mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends GameCommand> void handle(final T command) {
         // SAFETY: Type safety is enforced by the register method signature
         final Consumer<T> handler = (Consumer<T>) handlers.get(command.getClass());
         if (handler != null) {
+            proceed(0, command, handler);
+        }
+    }
+
+    private <T extends GameCommand> void proceed(final int interceptor, final T command, final Consumer<T> handler) {
+        if (interceptor == interceptors.size()) {
             handler.accept(command);
+        } else {
+            interceptors.get(interceptor).intercept(command, () -> proceed(interceptor + 1, command, handler));
         }
     }
+
+    /** How commands dispatched by a handler are handled. */
+    public enum Mode {
+        /** Commands are handled immediately, nesting the handlers. */
+        DIRECT,
+        /** Commands dispatched by a handler are queued and handled after it returns. */
+        QUEUED
+    }
 }
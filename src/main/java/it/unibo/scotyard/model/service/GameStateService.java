@@ -1,8 +1,13 @@
 package it.unibo.scotyard.model.service;
 
 import it.unibo.scotyard.model.Model;
+import it.unibo.scotyard.model.ai.ParallelRolloutEvaluator;
+import it.unibo.scotyard.model.ai.Ponderer;
+import it.unibo.scotyard.model.ai.PonderingBrain;
 import it.unibo.scotyard.model.ai.RunnerBrain;
 import it.unibo.scotyard.model.ai.SeekerBrain;
+import it.unibo.scotyard.model.ai.SeekerPlanner;
+import it.unibo.scotyard.model.ai.SeekerSearch;
 import it.unibo.scotyard.model.command.game.GameOverCommand;
 import it.unibo.scotyard.model.command.game.InitializeGameCommand;
 import it.unibo.scotyard.model.game.*;
@@ -23,6 +28,7 @@ import java.util.stream.Stream;
  */
 public class GameStateService implements Service {
     private final Model model;
+    private Optional<ParallelRolloutEvaluator> rolloutEvaluator = Optional.empty();
 
     /**
      * Creates a new GameState service.
@@ -39,18 +45,29 @@ public class GameStateService implements Service {
      * @param command an initialize game command.
      */
     public void handleInitialize(final InitializeGameCommand command) {
+        // The previous game may have been left before its end
+        this.closeRolloutEvaluator();
+
         final Random random = new Random(command.seed());
         final List<NodeId> initialPositions = model.getMapData().getInitialPositions();
         final Iterator<NodeId> shuffledInitialPositions =
                 shuffleInitialPositions(random, initialPositions).iterator();
         final int additionalPlayers = getAdditionalSeekersCount(command.gameMode(), command.difficulty());
 
-        final MisterX misterX = createMisterX(command.gameMode(), shuffledInitialPositions.next());
-        final Detective detective = createDetective(command.gameMode(), shuffledInitialPositions.next());
+        final SeekerPlanner planner = new SeekerPlanner(model.getMapData());
+        final SeekerSearch search = new SeekerSearch(model.getMapData());
+        final boolean computerRunner = command.computerOnly() || command.gameMode() == GameMode.DETECTIVE;
+        final boolean computerSeekers = command.computerOnly() || command.gameMode() == GameMode.MISTER_X;
+
+        final MisterX misterX = createMisterX(
+                computerRunner, !command.computerOnly(), shuffledInitialPositions.next(), command.runnerDifficulty());
+        final Detective detective = createDetective(
+                computerSeekers, shuffledInitialPositions.next(), random, planner, search, command.seekerDifficulty());
 
         final List<Bobby> bobbies = Stream.generate(shuffledInitialPositions::next)
                 .limit(additionalPlayers)
-                .map(position -> createBobby(command.gameMode(), position))
+                .map(position -> createBobby(
+                        computerSeekers, position, random, planner, search, command.seekerDifficulty()))
                 .collect(Collectors.toList());
 
         for (int i = 0; i < bobbies.size(); i++) {
@@ -60,7 +77,19 @@ public class GameStateService implements Service {
 
         final Players players = new Players(command.gameMode(), misterX, detective, bobbies);
 
-        final GameStateImpl gameState = new GameStateImpl(random, command.gameMode(), players, command.difficulty());
+        final GameStateImpl gameState = new GameStateImpl(
+                random, command.gameMode(), players, command.difficulty(), this.model.getMapData());
+
+        // The computer side thinks ahead while the human players choose their moves. The seekers share one search,
+        // so a single brain ponders for all of them
+        if (!command.computerOnly()) {
+            players.getTurnOrder().stream()
+                    .flatMap(player -> player.getBrain().stream())
+                    .filter(PonderingBrain.class::isInstance)
+                    .map(PonderingBrain.class::cast)
+                    .findFirst()
+                    .ifPresent(pondering -> gameState.subscribe(new Ponderer(gameState, pondering)));
+        }
         this.model.setGameState(gameState);
     }
 
@@ -73,6 +102,7 @@ public class GameStateService implements Service {
         final GameState gameState = model.getGameState();
 
         gameState.notifySubscribers(GameStateSubscriber::onGameOver);
+        this.closeRolloutEvaluator();
 
         try {
             this.model.getMatchHistoryRepository().trackOutcome(gameState.getGameMode(), gameState.hasUserWon());
@@ -87,34 +117,60 @@ public class GameStateService implements Service {
         store.register(GameOverCommand.class, this::handleGameOver);
     }
 
-    private MisterX createMisterX(final GameMode gameMode, final NodeId initialPosition) {
-        return switch (gameMode) {
-            case GameMode.DETECTIVE -> {
-                final RunnerBrain runnerBrain = new RunnerBrain(model.getMapData());
-                yield new MisterX(initialPosition, runnerBrain);
-            }
-            case GameMode.MISTER_X -> new MisterX(initialPosition);
-        };
+    private MisterX createMisterX(
+            final boolean computer,
+            final boolean interactive,
+            final NodeId initialPosition,
+            final GameDifficulty difficulty) {
+        if (!computer) {
+            return new MisterX(initialPosition);
+        }
+        if (difficulty == GameDifficulty.MEDIUM) {
+            // A single interactive game can use every core for its rollouts, while headless games already share them.
+            // The scores do not depend on the number of workers, so both play the same moves
+            final ParallelRolloutEvaluator evaluator = interactive
+                    ? new ParallelRolloutEvaluator(model.getMapData())
+                    : new ParallelRolloutEvaluator(model.getMapData(), 1);
+            this.rolloutEvaluator = Optional.of(evaluator);
+            return new MisterX(initialPosition, new RunnerBrain(model.getMapData(), difficulty, evaluator));
+        }
+        final RunnerBrain runnerBrain = new RunnerBrain(model.getMapData(), difficulty);
+        return new MisterX(initialPosition, runnerBrain);
     }
 
-    private Detective createDetective(final GameMode gameMode, final NodeId initialPosition) {
-        return switch (gameMode) {
-            case GameMode.DETECTIVE -> new Detective(initialPosition);
-            case GameMode.MISTER_X -> {
-                final SeekerBrain detectiveBrain = new SeekerBrain(this.model.getSeededRandom());
-                yield new Detective(initialPosition, detectiveBrain);
-            }
-        };
+    private Detective createDetective(
+            final boolean computer,
+            final NodeId initialPosition,
+            final Random random,
+            final SeekerPlanner planner,
+            final SeekerSearch search,
+            final GameDifficulty difficulty) {
+        if (!computer) {
+            return new Detective(initialPosition);
+        }
+        final SeekerBrain detectiveBrain =
+                new SeekerBrain(this.model.getMapData(), random, planner, search, difficulty);
+        return new Detective(initialPosition, detectiveBrain);
+    }
+
+    private Bobby createBobby(
+            final boolean computer,
+            final NodeId initialPosition,
+            final Random random,
+            final SeekerPlanner planner,
+            final SeekerSearch search,
+            final GameDifficulty difficulty) {
+        if (!computer) {
+            return new Bobby(initialPosition);
+        }
+        final SeekerBrain bobbyBrain =
+                new SeekerBrain(this.model.getMapData(), random, planner, search, difficulty);
+        return new Bobby(initialPosition, bobbyBrain);
     }
 
-    private Bobby createBobby(final GameMode gameMode, final NodeId initialPosition) {
-        return switch (gameMode) {
-            case GameMode.DETECTIVE -> new Bobby(initialPosition);
-            case GameMode.MISTER_X -> {
-                final SeekerBrain bobbyBrain = new SeekerBrain(this.model.getSeededRandom());
-                yield new Bobby(initialPosition, bobbyBrain);
-            }
-        };
+    private void closeRolloutEvaluator() {
+        this.rolloutEvaluator.ifPresent(ParallelRolloutEvaluator::close);
+        this.rolloutEvaluator = Optional.empty();
     }
 
     private List<NodeId> shuffleInitialPositions(final Random random, final List<NodeId> initialPositions) {
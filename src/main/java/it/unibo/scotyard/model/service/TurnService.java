@@ -1,21 +1,28 @@
 package it.unibo.scotyard.model.service;
 
 import it.unibo.scotyard.model.Model;
+import it.unibo.scotyard.model.ai.AnytimeBrain;
+import it.unibo.scotyard.model.ai.CancellationToken;
+import it.unibo.scotyard.model.ai.TurnBudget;
+import it.unibo.scotyard.model.command.GameCommand;
 import it.unibo.scotyard.model.command.game.GameOverCommand;
 import it.unibo.scotyard.model.command.round.EndRoundCommand;
 import it.unibo.scotyard.model.command.turn.*;
 import it.unibo.scotyard.model.entities.MoveAction;
+import it.unibo.scotyard.model.game.GameDifficulty;
 import it.unibo.scotyard.model.game.GameState;
 import it.unibo.scotyard.model.game.GameStateSubscriber;
+import it.unibo.scotyard.model.game.MoveBuffer;
 import it.unibo.scotyard.model.game.turn.TurnState;
+import it.unibo.scotyard.model.map.NodeSet;
 import it.unibo.scotyard.model.map.TransportType;
 import it.unibo.scotyard.model.players.MisterX;
 import it.unibo.scotyard.model.players.Player;
 import it.unibo.scotyard.model.router.CommandDispatcher;
 import it.unibo.scotyard.model.router.CommandHandlerStore;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +31,7 @@ import java.util.stream.Collectors;
  */
 public class TurnService implements Service {
     private final Model model;
+    private final MoveBuffer legalMoves = new MoveBuffer();
 
     public TurnService(final Model model) {
         this.model = Objects.requireNonNull(model, "model cannot be null");
@@ -40,10 +48,7 @@ public class TurnService implements Service {
         final Player player = gameState.getCurrentPlayer();
         gameState.resetTurn();
 
-        gameState.loadPossibleDestinations(new HashSet<>(this.model.getPossibleDestinations(player.getPosition())));
-
-        final List<MoveAction> legalMoves = gameState.computeValidMoves(this.model.getMapData(), player, List.of());
-        gameState.getTurnState().setLegalMoves(legalMoves);
+        this.generateLegalMoves(gameState, player);
 
         if (gameState.isGameOver()) {
             dispatcher.dispatch(new GameOverCommand());
@@ -52,9 +57,38 @@ public class TurnService implements Service {
 
         gameState.notifySubscribers(GameStateSubscriber::onTurnStart);
 
-        player.getBrain().map(it -> it.playTurn(gameState)).stream()
-                .flatMap(List::stream)
-                .forEach(dispatcher::dispatch);
+        player.getBrain().ifPresent(brain -> {
+            final TurnState turnState = gameState.getTurnState();
+            // The thinking time is the one of the side moving, which may play at another difficulty than the game
+            final GameDifficulty difficulty = brain.getDifficulty().orElse(gameState.getGameDifficulty());
+            final TurnBudget budget = TurnBudget.startingWhenPlayed(
+                    this.model.getThinkingTimes().get(difficulty), new CancellationToken());
+            // Played if the brain has nothing better by the deadline
+            budget.report(fallbackTurn(turnState));
+            final Supplier<List<GameCommand>> turn = brain instanceof AnytimeBrain anytime
+                    ? () -> anytime.playTurn(gameState, budget)
+                    : () -> brain.playTurn(gameState);
+            this.model.getBrainExecutor().execute(turn, budget, commands -> {
+                // The game may have been left or the turn played while the brain was thinking
+                if (this.model.getGameState() == gameState && gameState.getTurnState() == turnState) {
+                    commands.forEach(dispatcher::dispatch);
+                }
+            });
+        });
+    }
+
+    /**
+     * Returns the turn played when a brain runs out of time: its first legal move, or no move at all if it has
+     * none.
+     *
+     * @param turnState the state of the turn
+     * @return the commands of the turn
+     */
+    private static List<GameCommand> fallbackTurn(final TurnState turnState) {
+        return turnState.getLegalMoves().stream()
+                .findFirst()
+                .<List<GameCommand>>map(move -> List.of(MoveCommand.fromMoveAction(move), new EndTurnCommand()))
+                .orElseGet(() -> List.of(new EndTurnCommand()));
     }
 
     /**
@@ -67,14 +101,33 @@ public class TurnService implements Service {
         final TurnState turnState = gameState.getTurnState();
         final Player player = gameState.getCurrentPlayer();
         turnState.addMove(new MoveAction(command.targetNode(), command.transportType()));
+        gameState.moveCurrentPlayer(command.targetNode(), command.transportType());
 
+        // The next moves start from the new position, with the tickets left after this move
         if (turnState.getRemainingMoves() > 0) {
-            final List<MoveAction> validMoves =
-                    gameState.computeValidMoves(this.model.getMapData(), player, turnState.getPositionHistory());
-            turnState.setLegalMoves(validMoves);
+            this.generateLegalMoves(gameState, player);
+        } else {
+            // The turn is over: the destinations of the last move must not be offered again
+            this.legalMoves.clear();
+            gameState.loadPossibleDestinations(this.legalMoves);
+            turnState.setLegalMoves(List.of());
         }
+    }
 
-        gameState.moveCurrentPlayer(command.targetNode(), command.transportType());
+    /**
+     * Generates the legal moves of the player in a single pass and publishes them to the turn state and to the
+     * possible destinations shown to the controllers.
+     *
+     * @param gameState the game state
+     * @param player the player to move
+     */
+    private void generateLegalMoves(final GameState gameState, final Player player) {
+        final TurnState turnState = gameState.getTurnState();
+        final NodeSet blocked = gameState.getSeekerPositions().union(turnState.getVisitedNodes());
+
+        this.model.getMoveGenerator().generate(player, blocked, this.legalMoves);
+        gameState.loadPossibleDestinations(this.legalMoves);
+        turnState.setLegalMoves(this.legalMoves.toMoveActions());
     }
 
     /**
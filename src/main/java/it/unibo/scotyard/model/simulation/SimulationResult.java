@@ -0,0 +1,40 @@
+package it.unibo.scotyard.model.simulation;
+
+import it.unibo.scotyard.model.players.TicketType;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The outcome of a headless game.
+ *
+ * @param winner the side that won the game
+ * @param rounds the number of rounds played
+ * @param captured whether Mister X has been caught by a seeker
+ * @param runnerTickets the tickets used by Mister X, by type
+ * @param seekerTickets the tickets used by all the seekers together, by type
+ * @param duration the wall-clock time spent simulating the game
+ */
+public record SimulationResult(
+        Winner winner,
+        int rounds,
+        boolean captured,
+        Map<TicketType, Integer> runnerTickets,
+        Map<TicketType, Integer> seekerTickets,
+        Duration duration) {
+
+    /**
+     * Creates the result, copying the ticket maps.
+     */
+    public SimulationResult {
+        runnerTickets = Map.copyOf(runnerTickets);
+        seekerTickets = Map.copyOf(seekerTickets);
+    }
+
+    /** The sides of a game. */
+    public enum Winner {
+        /** Mister X escaped, or the seekers ran out of moves. */
+        MISTER_X,
+        /** Mister X has been caught, or could not move. */
+        SEEKERS
+    }
+}
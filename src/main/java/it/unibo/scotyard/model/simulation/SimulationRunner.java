@@ -0,0 +1,164 @@
+package it.unibo.scotyard.model.simulation;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.Model;
+import it.unibo.scotyard.model.ModelImpl;
+import it.unibo.scotyard.model.ai.ThinkingTimes;
+import it.unibo.scotyard.model.command.game.InitializeGameCommand;
+import it.unibo.scotyard.model.command.round.StartRoundCommand;
+import it.unibo.scotyard.model.entities.MoveAction;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.GameStateSubscriber;
+import it.unibo.scotyard.model.game.matchhistory.InMemoryMatchHistoryRepository;
+import it.unibo.scotyard.model.game.turn.TurnState;
+import it.unibo.scotyard.model.inventory.Inventory;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.players.MisterX;
+import it.unibo.scotyard.model.players.TicketType;
+import it.unibo.scotyard.model.router.CommandRouter;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Plays whole games without any view, with the computer playing both Mister X and the seekers.
+ *
+ * <p>
+ * The runner drives the same services used by the graphical game through a queued command router, so a game ends
+ * as soon as the dispatch of the first round returns, with a constant stack depth. Each runner loads the map when it
+ * is created and reuses it for every game it plays, so playing many games on one runner is cheaper than creating a
+ * runner per game. The match history is kept in memory only. A runner is not thread safe: use one per thread.
+ * </p>
+ *
+ * <p>
+ * The outcome of a game only depends on its seed and on the difficulties of the two sides, since the computer players
+ * have no deadline and search for a fixed number of iterations.
+ * </p>
+ */
+public final class SimulationRunner {
+
+    private static final String HEADLESS = "headless";
+
+    private final Model model;
+
+    /**
+     * Creates a runner on the default map.
+     *
+     * @throws IllegalStateException if the map cannot be loaded
+     */
+    public SimulationRunner() {
+        this.model = ModelImpl.createDefault(
+                new CommandRouter(CommandRouter.Mode.QUEUED), new InMemoryMatchHistoryRepository());
+        this.model.initialize(HEADLESS, HEADLESS);
+        // No deadline: the searches always run all their iterations, however slow the machine
+        this.model.setThinkingTimes(ThinkingTimes.unlimited());
+    }
+
+    /**
+     * Returns the model used by the games of this runner.
+     *
+     * @return the model
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Plays a whole game.
+     *
+     * @param seed the seed of the game
+     * @param gameMode the game mode, which decides the number of seekers together with the difficulty
+     * @param difficulty the difficulty of both sides
+     * @return the outcome of the game
+     */
+    public SimulationResult run(final long seed, final GameMode gameMode, final GameDifficulty difficulty) {
+        return run(seed, gameMode, difficulty, difficulty);
+    }
+
+    /**
+     * Plays a whole game with each side at its own difficulty. The number of seekers follows the seeker difficulty.
+     *
+     * @param seed the seed of the game
+     * @param gameMode the game mode, which decides the number of seekers together with the seeker difficulty
+     * @param runnerDifficulty the difficulty of Mister X
+     * @param seekerDifficulty the difficulty of the seekers
+     * @return the outcome of the game
+     */
+    public SimulationResult run(
+            final long seed,
+            final GameMode gameMode,
+            final GameDifficulty runnerDifficulty,
+            final GameDifficulty seekerDifficulty) {
+        final long start = System.nanoTime();
+        model.getDispatcher()
+                .dispatch(new InitializeGameCommand(
+                        seed, gameMode, seekerDifficulty, true, runnerDifficulty, seekerDifficulty));
+        final GameState gameState = model.getGameState();
+        final TicketCounter tickets = new TicketCounter(gameState);
+        gameState.subscribe(tickets);
+
+        model.getDispatcher().dispatch(new StartRoundCommand());
+
+        final NodeId runnerPosition = gameState.getPlayers().getMisterX().getPosition();
+        final boolean captured =
+                gameState.getPlayers().getSeekers().anyMatch(it -> it.getPosition().equals(runnerPosition));
+        final boolean escaped = gameState.getGameRound() > MagicNumbers.FINAL_ROUND_COUNT;
+        final boolean runnerStuck = !escaped && gameState.getCurrentPlayer() instanceof MisterX;
+        final SimulationResult.Winner winner = captured || runnerStuck
+                ? SimulationResult.Winner.SEEKERS
+                : SimulationResult.Winner.MISTER_X;
+
+        return new SimulationResult(
+                winner,
+                Math.min(gameState.getGameRound(), MagicNumbers.FINAL_ROUND_COUNT),
+                captured,
+                tickets.runner,
+                tickets.seekers,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /** Counts the tickets used in every turn, including the last one of the game. */
+    private static final class TicketCounter implements GameStateSubscriber {
+        private final GameState gameState;
+        private final Map<TicketType, Integer> runner = new EnumMap<>(TicketType.class);
+        private final Map<TicketType, Integer> seekers = new EnumMap<>(TicketType.class);
+        private boolean counted;
+
+        TicketCounter(final GameState gameState) {
+            this.gameState = gameState;
+        }
+
+        @Override
+        public void onTurnStart() {
+            counted = false;
+        }
+
+        @Override
+        public void onTurnEnd() {
+            count();
+        }
+
+        @Override
+        public void onGameOver() {
+            // The game may end before the turn end is notified
+            if (!counted) {
+                count();
+            }
+        }
+
+        private void count() {
+            final TurnState turnState = gameState.getTurnState();
+            final Map<TicketType, Integer> used =
+                    gameState.getCurrentPlayer() instanceof MisterX ? runner : seekers;
+            for (final MoveAction move : turnState.getMoves()) {
+                used.merge(Inventory.getTicketTypeForTransport(move.transportType()), 1, Integer::sum);
+            }
+            if (turnState.hasUsedDoubleMove()) {
+                used.merge(TicketType.DOUBLE_MOVE, 1, Integer::sum);
+            }
+            counted = true;
+        }
+    }
+}
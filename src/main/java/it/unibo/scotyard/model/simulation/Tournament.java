@@ -0,0 +1,240 @@
+package it.unibo.scotyard.model.simulation;
+
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Plays many headless games between every requested pairing of Mister X and seeker difficulties.
+ *
+ * <p>
+ * Every game runs on its own virtual thread with its own {@link SimulationRunner}, hence its own model, and with a
+ * distinct seed. The standings of a pairing are updated as soon as one of its games ends and are handed to the
+ * listener, one call at a time.
+ * </p>
+ *
+ * <p>
+ * The games are bound by computation, so only as many as the available processors are played at once, the others
+ * waiting for a permit on their virtual thread. The brains of headless games stop on their iteration count and not
+ * on a clock, so the outcome of every game, hence the final standings, only depend on the seeds.
+ * </p>
+ */
+public final class Tournament {
+
+    private static final Logger LOGGER = Logger.getLogger(Tournament.class.getName());
+    private static final double Z_95 = 1.96;
+
+    private final GameMode gameMode;
+    private final int gamesPerPairing;
+    private final long baseSeed;
+    private final int maxConcurrentGames;
+
+    /**
+     * Creates the tournament.
+     *
+     * @param gameMode the game mode, which decides the number of seekers together with the seeker difficulty
+     * @param gamesPerPairing the number of games played by every pairing
+     * @param baseSeed the seed of the first game, the following games using the next seeds
+     * @throws IllegalArgumentException if gamesPerPairing is not positive
+     */
+    public Tournament(final GameMode gameMode, final int gamesPerPairing, final long baseSeed) {
+        this(gameMode, gamesPerPairing, baseSeed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates the tournament playing at most the given number of games at once.
+     *
+     * @param gameMode the game mode, which decides the number of seekers together with the seeker difficulty
+     * @param gamesPerPairing the number of games played by every pairing
+     * @param baseSeed the seed of the first game, the following games using the next seeds
+     * @param maxConcurrentGames the number of games played at once
+     * @throws IllegalArgumentException if gamesPerPairing or maxConcurrentGames is not positive
+     */
+    public Tournament(
+            final GameMode gameMode, final int gamesPerPairing, final long baseSeed, final int maxConcurrentGames) {
+        if (gamesPerPairing <= 0) {
+            throw new IllegalArgumentException("Games per pairing must be positive: " + gamesPerPairing);
+        }
+        if (maxConcurrentGames <= 0) {
+            throw new IllegalArgumentException("Concurrent games must be positive: " + maxConcurrentGames);
+        }
+        this.gameMode = gameMode;
+        this.gamesPerPairing = gamesPerPairing;
+        this.baseSeed = baseSeed;
+        this.maxConcurrentGames = maxConcurrentGames;
+    }
+
+    /**
+     * Returns every pairing of Mister X and seeker difficulties.
+     *
+     * @return the pairings
+     */
+    public static List<Pairing> allPairings() {
+        final List<Pairing> pairings = new ArrayList<>();
+        for (final GameDifficulty runner : GameDifficulty.values()) {
+            for (final GameDifficulty seekers : GameDifficulty.values()) {
+                pairings.add(new Pairing(runner, seekers));
+            }
+        }
+        return pairings;
+    }
+
+    /**
+     * Plays all the games and waits for them to end.
+     *
+     * @param pairings the pairings to play
+     * @param listener called with the updated standing of a pairing every time one of its games ends
+     * @return the final standing of every pairing
+     * @throws IllegalStateException if a game fails
+     */
+    public Map<Pairing, Standing> run(final List<Pairing> pairings, final Consumer<Standing> listener) {
+        final Map<Pairing, Tally> tallies = new LinkedHashMap<>();
+        for (final Pairing pairing : pairings) {
+            tallies.put(pairing, new Tally(pairing));
+        }
+
+        final List<Future<?>> games = new ArrayList<>();
+        final Semaphore permits = new Semaphore(maxConcurrentGames);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long seed = baseSeed;
+            for (final Tally tally : tallies.values()) {
+                for (int i = 0; i < gamesPerPairing; i++) {
+                    final long gameSeed = seed++;
+                    games.add(executor.submit(() -> {
+                        final SimulationResult result;
+                        permits.acquire();
+                        try {
+                            result = new SimulationRunner()
+                                    .run(
+                                            gameSeed,
+                                            gameMode,
+                                            tally.pairing.runnerDifficulty(),
+                                            tally.pairing.seekerDifficulty());
+                        } finally {
+                            permits.release();
+                        }
+                        synchronized (this) {
+                            listener.accept(tally.add(result));
+                        }
+                        return null;
+                    }));
+                }
+            }
+        }
+
+        for (final Future<?> game : games) {
+            try {
+                game.get();
+            } catch (final ExecutionException e) {
+                throw new IllegalStateException("A game of the tournament failed", e.getCause());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The tournament has been interrupted", e);
+            }
+        }
+
+        final Map<Pairing, Standing> standings = new LinkedHashMap<>();
+        tallies.forEach((pairing, tally) -> standings.put(pairing, tally.standing()));
+        return standings;
+    }
+
+    /**
+     * Plays every pairing on the Mister X game mode and logs the standings as games end.
+     *
+     * @param args the number of games per pairing, 100 if missing
+     */
+    public static void main(final String[] args) {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        final Tournament tournament = new Tournament(GameMode.MISTER_X, games, System.currentTimeMillis());
+        tournament.run(allPairings(), standing -> LOGGER.log(Level.INFO, "{0}", standing));
+    }
+
+    /**
+     * The difficulties of the two sides of a game.
+     *
+     * @param runnerDifficulty the difficulty of Mister X
+     * @param seekerDifficulty the difficulty of the seekers
+     */
+    public record Pairing(GameDifficulty runnerDifficulty, GameDifficulty seekerDifficulty) {}
+
+    /**
+     * The aggregate results of a pairing, with 95% confidence intervals.
+     *
+     * @param pairing the pairing
+     * @param games the number of games played
+     * @param runnerWins the number of games won by Mister X
+     * @param runnerWinRate the share of games won by Mister X
+     * @param runnerWinRateLow the lower bound of the Wilson interval of the win rate
+     * @param runnerWinRateHigh the upper bound of the Wilson interval of the win rate
+     * @param meanRounds the mean number of rounds played
+     * @param meanRoundsMargin the half width of the interval of the mean rounds, infinite with fewer than two games
+     */
+    public record Standing(
+            Pairing pairing,
+            int games,
+            int runnerWins,
+            double runnerWinRate,
+            double runnerWinRateLow,
+            double runnerWinRateHigh,
+            double meanRounds,
+            double meanRoundsMargin) {}
+
+    /** The running totals of a pairing. */
+    private static final class Tally {
+        private final Pairing pairing;
+        private int games;
+        private int runnerWins;
+        private long rounds;
+        private long squaredRounds;
+
+        Tally(final Pairing pairing) {
+            this.pairing = pairing;
+        }
+
+        Standing add(final SimulationResult result) {
+            games++;
+            if (result.winner() == SimulationResult.Winner.MISTER_X) {
+                runnerWins++;
+            }
+            rounds += result.rounds();
+            squaredRounds += (long) result.rounds() * result.rounds();
+            return standing();
+        }
+
+        Standing standing() {
+            if (games == 0) {
+                return new Standing(pairing, 0, 0, 0, 0, 1, 0, Double.POSITIVE_INFINITY);
+            }
+            final double n = games;
+            final double rate = runnerWins / n;
+            final double z2 = Z_95 * Z_95;
+            final double centre = (rate + z2 / (2 * n)) / (1 + z2 / n);
+            final double spread = Z_95 * Math.sqrt(rate * (1 - rate) / n + z2 / (4 * n * n)) / (1 + z2 / n);
+
+            final double mean = rounds / n;
+            final double margin = games < 2
+                    ? Double.POSITIVE_INFINITY
+                    : Z_95 * Math.sqrt(Math.max(0, (squaredRounds - n * mean * mean) / (n - 1)) / n);
+            return new Standing(
+                    pairing,
+                    games,
+                    runnerWins,
+                    rate,
+                    Math.max(0, centre - spread),
+                    Math.min(1, centre + spread),
+                    mean,
+                    margin);
+        }
+    }
+}
@@ -222,7 +222,6 @@ public final class GameViewImpl implements GameView {
     @Override
     public void destinationChosen(final NodeId destinationId) {
         this.observer.destinationChosen(destinationId);
-        this.getMapPanel().repaint();
     }
 
     @Override
@@ -17,8 +17,11 @@ import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.MouseAdapter;
@@ -34,16 +37,22 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.imageio.ImageIO;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.ToolTipManager;
 
 /**
  * The map panel.
  *
+ * <p>
+ * Like every Swing component, the panel must only be used on the event dispatch thread, setters included.
+ * </p>
  */
 public final class MapPanel extends JPanel {
 
@@ -72,8 +81,23 @@ public final class MapPanel extends JPanel {
     // Game State (Detective Mode)
     private static final NodeId POSITION_NOT_SET = new NodeId(-1);
 
+    // Margine del layer statico oltre la parte visibile, per non ridisegnarlo a ogni pan
+    private static final double STATIC_LAYER_MARGIN = 0.25;
+
+    // Lato dei tile del background a ogni risoluzione
+    private static final int BACKGROUND_TILE_SIZE = 256;
+
     private final MapInfo mapInfo;
+    private final List<Node> nodes;
+    private final Map<NodeId, List<TransportType>> arcTransports = new HashMap<>();
     private BufferedImage backgroundImage;
+    private Optional<TilePyramid> backgroundTiles = Optional.empty();
+
+    // Background, nodi ed etichette di una regione della mappa zoomata,
+    // ridisegnati solo su resize, zoom e pan oltre il margine
+    private BufferedImage staticLayer;
+    private Rectangle staticLayerBounds = new Rectangle();
+    private boolean staticLayerValid;
 
     private double baseScaleX = 1.0;
     private double baseScaleY = 1.0;
@@ -91,6 +115,7 @@ public final class MapPanel extends JPanel {
     private boolean scaleCalculated;
 
     private final Map<NodeId, Point2D> scaledNodePositions = new HashMap<>();
+    private NodeGrid nodeGrid = new NodeGrid(Map.of(), NODE_RADIUS * 2);
 
     // Pan dragging
     private Point dragStartPoint;
@@ -102,11 +127,16 @@ public final class MapPanel extends JPanel {
     private NodeId detectivePosition;
     private final List<NodeId> bobbiesPositions;
     private Set<NodeId> possibleDestinations;
+    private Set<NodeId> runnerCandidates = new HashSet<>();
     private NodeId selectedDestination;
     private Set<it.unibo.scotyard.model.game.turn.TurnManagerImpl.MoveOption> validMoves = new HashSet<>();
     private Consumer<NodeId> nodeClickListener;
     private boolean isExposed;
 
+    // Nodi il cui overlay è cambiato, ridisegnati tutti insieme al prossimo giro dell'EDT
+    private final Set<NodeId> damagedNodes = new HashSet<>();
+    private boolean damageRepaintScheduled;
+
     private final GameView gameView;
 
     /**
@@ -118,6 +148,15 @@ public final class MapPanel extends JPanel {
      */
     public MapPanel(final MapInfo mapInfo, final GameView view) {
         this.mapInfo = Objects.requireNonNull(mapInfo, "Map info cannot be null");
+        this.nodes = mapInfo.getNodes().toList();
+        for (final Node node : nodes) {
+            arcTransports.put(
+                    node.getId(),
+                    node.getAvailableTransports().stream()
+                            .filter(t -> t != TransportType.TAXI)
+                            .sorted()
+                            .toList());
+        }
         this.gameView = view;
         this.misterXPosition = POSITION_NOT_SET;
         this.detectivePosition = POSITION_NOT_SET;
@@ -131,11 +170,14 @@ public final class MapPanel extends JPanel {
         setOpaque(true);
         setBackground(ScotColors.BACKGROUND_COLOR);
         loadBackgroundImage();
+        // Il testo dei tooltip dipende dal nodo sotto il mouse, vedi getToolTipText
+        ToolTipManager.sharedInstance().registerComponent(this);
 
         addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(final ComponentEvent e) {
                 scaleCalculated = false;
+                staticLayerValid = false;
                 zoomLevel = MIN_ZOOM;
                 panOffsetX = 0;
                 panOffsetY = 0;
@@ -283,6 +325,7 @@ public final class MapPanel extends JPanel {
         currentScaleX = baseScaleX * zoomLevel;
         currentScaleY = baseScaleY * zoomLevel;
         cacheScaledNodePositions();
+        staticLayerValid = false;
 
         if (isZoomed()) {
             setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
@@ -351,11 +394,55 @@ public final class MapPanel extends JPanel {
         final int totalOffsetX = baseOffsetX + panOffsetX;
         final int totalOffsetY = baseOffsetY + panOffsetY;
 
-        for (final Node node : mapInfo.getNodes().toList()) {
+        for (final Node node : nodes) {
             final int screenX = (int) (node.getX() * currentScaleX) + totalOffsetX;
             final int screenY = (int) (node.getY() * currentScaleY) + totalOffsetY;
             scaledNodePositions.put(node.getId(), new Point2D.Double(screenX, screenY));
         }
+        nodeGrid = new NodeGrid(scaledNodePositions, scaledNodeRadius() * 2);
+    }
+
+    private int scaledNodeRadius() {
+        final double nodeZoom = 1.0 + (zoomLevel - 1.0) * NODE_SCALE_FACTOR;
+        return (int) (NODE_RADIUS * nodeZoom);
+    }
+
+    /**
+     * Returns the node under a point of the panel.
+     *
+     * @param x the horizontal coordinate of the point
+     * @param y the vertical coordinate of the point
+     * @return the node whose circle holds the point, or empty if there is none
+     */
+    private Optional<NodeId> nodeAt(final int x, final int y) {
+        return nodeGrid.nearest(x, y, scaledNodeRadius());
+    }
+
+    @Override
+    public String getToolTipText(final MouseEvent event) {
+        return nodeAt(event.getX(), event.getY())
+                .map(nodeId -> ViewConstants.NODE_TOOLTIP_TEXT + nodeId.id() + transportsText(nodeId))
+                .orElse(null);
+    }
+
+    private String transportsText(final NodeId nodeId) {
+        final StringBuilder text = new StringBuilder();
+        mapInfo.getNode(nodeId).ifPresent(node -> {
+            // Le EnumSet iterano nell'ordine di dichiarazione dei trasporti
+            for (final TransportType transport : node.getAvailableTransports()) {
+                text.append(text.isEmpty() ? ": " : ", ").append(getTransportText(transport));
+            }
+        });
+        return text.toString();
+    }
+
+    private static String getTransportText(final TransportType transport) {
+        return switch (transport) {
+            case TAXI -> ViewConstants.TAXI_TEXT;
+            case BUS -> ViewConstants.BUS_TEXT;
+            case UNDERGROUND -> ViewConstants.UNDERGROUND_TEXT;
+            case FERRY -> ViewConstants.FERRY_TEXT;
+        };
     }
 
     private void loadBackgroundImage() {
@@ -364,6 +451,7 @@ public final class MapPanel extends JPanel {
                     getClass().getClassLoader().getResourceAsStream("it/unibo/scotyard/view/map/background.png");
             if (imageStream != null) {
                 backgroundImage = ImageIO.read(imageStream);
+                buildBackgroundTiles(backgroundImage);
             } else {
                 LOGGER.log(Level.SEVERE, "Background image not found");
             }
@@ -373,6 +461,28 @@ public final class MapPanel extends JPanel {
         }
     }
 
+    /**
+     * Splits the background into tiles on a background thread. Until they are ready the background is scaled as a
+     * whole.
+     *
+     * @param image the background image
+     */
+    private void buildBackgroundTiles(final BufferedImage image) {
+        final Thread builder = new Thread(
+                () -> {
+                    final TilePyramid tiles = new TilePyramid(image, BACKGROUND_TILE_SIZE);
+                    SwingUtilities.invokeLater(() -> {
+                        backgroundTiles = Optional.of(tiles);
+                        staticLayerValid = false;
+                        repaint();
+                    });
+                },
+                "map-tiles");
+        builder.setDaemon(true);
+        builder.setPriority(Thread.MIN_PRIORITY);
+        builder.start();
+    }
+
     @Override
     protected void paintComponent(final Graphics g) {
         super.paintComponent(g);
@@ -382,15 +492,79 @@ public final class MapPanel extends JPanel {
         }
 
         final Graphics2D g2d = (Graphics2D) g;
+        setRenderingHints(g2d);
+
+        drawStaticLayer(g2d);
+        drawGameStatus(g2d);
+    }
 
+    private static void setRenderingHints(final Graphics2D g2d) {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    }
 
-        drawBackground(g2d);
-        drawNodes(g2d);
-        drawGameStatus(g2d);
+    /**
+     * Draws the background and the nodes by copying the static layer, which is rendered again only after a resize,
+     * a zoom or a pan beyond its margin.
+     *
+     * @param g2d the graphics context
+     */
+    private void drawStaticLayer(final Graphics2D g2d) {
+        final int mapX = baseOffsetX + panOffsetX;
+        final int mapY = baseOffsetY + panOffsetY;
+        final Rectangle zoomedMap =
+                new Rectangle((int) (scaledBackgroundWidth * zoomLevel), (int) (scaledBackgroundHeight * zoomLevel));
+        final Rectangle visible = new Rectangle(-mapX, -mapY, getWidth(), getHeight()).intersection(zoomedMap);
+        if (visible.isEmpty()) {
+            return;
+        }
+
+        if (!staticLayerValid || !staticLayerBounds.contains(visible)) {
+            final int marginX = isZoomed() ? (int) (getWidth() * STATIC_LAYER_MARGIN) : 0;
+            final int marginY = isZoomed() ? (int) (getHeight() * STATIC_LAYER_MARGIN) : 0;
+            visible.grow(marginX, marginY);
+            renderStaticLayer(visible.intersection(zoomedMap), mapX, mapY);
+        }
+        g2d.drawImage(staticLayer, mapX + staticLayerBounds.x, mapY + staticLayerBounds.y, null);
+    }
+
+    /**
+     * Renders the background and the nodes falling in a region of the zoomed map into the static layer.
+     *
+     * @param bounds the region, in pixels of the zoomed map
+     * @param mapX   the horizontal position of the zoomed map on the panel
+     * @param mapY   the vertical position of the zoomed map on the panel
+     */
+    private void renderStaticLayer(final Rectangle bounds, final int mapX, final int mapY) {
+        if (staticLayer == null
+                || staticLayer.getWidth() != bounds.width
+                || staticLayer.getHeight() != bounds.height) {
+            if (staticLayer != null) {
+                staticLayer.flush();
+            }
+            final GraphicsConfiguration configuration = getGraphicsConfiguration();
+            staticLayer = configuration != null
+                    ? configuration.createCompatibleImage(bounds.width, bounds.height, Transparency.OPAQUE)
+                    : new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_RGB);
+        }
+
+        final Graphics2D layer = staticLayer.createGraphics();
+        try {
+            setRenderingHints(layer);
+            layer.setColor(getBackground());
+            layer.fillRect(0, 0, bounds.width, bounds.height);
+            // Disegna in coordinate del pannello, come se il layer fosse sovrapposto alla mappa
+            layer.translate(-(mapX + bounds.x), -(mapY + bounds.y));
+            layer.clipRect(mapX + bounds.x, mapY + bounds.y, bounds.width, bounds.height);
+            drawBackground(layer);
+            drawNodes(layer);
+        } finally {
+            layer.dispose();
+        }
+        staticLayerBounds = bounds;
+        staticLayerValid = true;
     }
 
     private void drawBackground(final Graphics2D g2d) {
@@ -400,7 +574,11 @@ public final class MapPanel extends JPanel {
             final int drawX = baseOffsetX + panOffsetX;
             final int drawY = baseOffsetY + panOffsetY;
 
-            g2d.drawImage(backgroundImage, drawX, drawY, zoomedWidth, zoomedHeight, null);
+            if (backgroundTiles.isPresent()) {
+                backgroundTiles.get().draw(g2d, drawX, drawY, zoomedWidth, zoomedHeight);
+            } else {
+                g2d.drawImage(backgroundImage, drawX, drawY, zoomedWidth, zoomedHeight, null);
+            }
         }
     }
 
@@ -411,31 +589,43 @@ public final class MapPanel extends JPanel {
         final Font scaledFont = NODE_FONT.deriveFont((float) (NODE_LABEL_SIZE * nodeZoom));
         g2d.setFont(scaledFont);
 
-        for (final Node node : mapInfo.getNodes().toList()) {
-            drawNode(g2d, node, nodeZoom);
+        // Gli stroke dipendono solo dallo zoom, quindi sono condivisi da tutti i nodi
+        final float strokeWidth = Math.max(2.0f, 3.0f * (float) nodeZoom);
+        final float dashLength = Math.max(4.0f, 6.0f * (float) nodeZoom);
+        final float gapLength = Math.max(3.0f, 4.0f * (float) nodeZoom);
+        final float[] dashPattern = {dashLength, gapLength};
+        final NodeStrokes strokes = new NodeStrokes(
+                new BasicStroke(strokeWidth),
+                new BasicStroke(strokeWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10.0f, dashPattern, 0.0f),
+                new BasicStroke(Math.max(3, (int) (4 * nodeZoom)), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+
+        // Salta i nodi fuori dalla regione disegnata, tenendo conto di ombra e archi
+        final Rectangle clip = g2d.getClipBounds();
+        final int reach = (int) (NODE_RADIUS * nodeZoom + strokes.arc().getLineWidth()) + 2;
+        for (final Node node : nodes) {
+            final Point2D pos = scaledNodePositions.get(node.getId());
+            if (pos != null
+                    && (clip == null
+                            || clip.intersects(pos.getX() - reach, pos.getY() - reach, reach * 2, reach * 2))) {
+                drawNode(g2d, node, pos, nodeZoom, strokes);
+            }
         }
     }
 
-    private void drawNode(final Graphics2D g2d, final Node node, final double nodeZoom) {
-        final Point2D pos = scaledNodePositions.get(node.getId());
-
-        if (pos == null) {
-            return;
-        }
-
+    private void drawNode(
+            final Graphics2D g2d,
+            final Node node,
+            final Point2D pos,
+            final double nodeZoom,
+            final NodeStrokes strokes) {
         final int x = (int) pos.getX();
         final int y = (int) pos.getY();
 
         // Usa il nodeZoom ridotto invece del zoomLevel completo
         final int scaledRadius = (int) (NODE_RADIUS * nodeZoom);
 
-        final var transports = node.getAvailableTransports();
-        final boolean hasFerry = transports.contains(TransportType.FERRY);
-
-        final var displayTransports = transports.stream()
-                .filter(t -> t != TransportType.TAXI)
-                .sorted()
-                .toList();
+        final boolean hasFerry = node.getAvailableTransports().contains(TransportType.FERRY);
+        final List<TransportType> displayTransports = arcTransports.get(node.getId());
 
         // Ombra
         g2d.setColor(ScotColors.SHADOW_COLOR);
@@ -448,29 +638,18 @@ public final class MapPanel extends JPanel {
         // Bordo interno
         final int borderRadius = scaledRadius - Math.max(2, (int) (2 * nodeZoom));
         g2d.setColor(Color.BLACK);
-        final float strokeWidth = Math.max(2.0f, 3.0f * (float) nodeZoom);
-
-        if (hasFerry) {
-            final float dashLength = Math.max(4.0f, 6.0f * (float) nodeZoom);
-            final float gapLength = Math.max(3.0f, 4.0f * (float) nodeZoom);
-            final float[] dashPattern = {dashLength, gapLength};
-            g2d.setStroke(new BasicStroke(
-                    strokeWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10.0f, dashPattern, 0.0f));
-        } else {
-            g2d.setStroke(new BasicStroke(strokeWidth));
-        }
+        g2d.setStroke(hasFerry ? strokes.ferryBorder() : strokes.border());
         g2d.drawOval(x - borderRadius, y - borderRadius, borderRadius * 2, borderRadius * 2);
 
         // Archi colorati esterni
         if (!displayTransports.isEmpty()) {
-            final int arcThickness = Math.max(3, (int) (4 * nodeZoom));
             final int arcRadius = scaledRadius;
             final int startAngle = 90;
             final int anglePerSegment = 360 / displayTransports.size();
 
+            g2d.setStroke(strokes.arc());
             for (int i = 0; i < displayTransports.size(); i++) {
                 g2d.setColor(getTransportColor(displayTransports.get(i)));
-                g2d.setStroke(new BasicStroke(arcThickness, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
                 g2d.drawArc(
                         x - arcRadius,
                         y - arcRadius,
@@ -521,7 +700,9 @@ public final class MapPanel extends JPanel {
      * @param position the node ID where the Detective is located
      */
     public void setDetectivePosition(final NodeId position) {
+        final NodeId previous = this.detectivePosition;
         this.detectivePosition = position;
+        damage(previous, position);
     }
 
     /**
@@ -530,19 +711,23 @@ public final class MapPanel extends JPanel {
      * @param exposedPosition the last exposed position of Mister X
      */
     public void setLastExposedPosition(final ExposedPosition exposedPosition) {
+        final NodeId previous = this.misterXPosition;
         this.misterXPosition = exposedPosition.position();
         this.isExposed = true;
+        damage(previous, this.misterXPosition);
     }
 
     /**
      * No longer exposes Mister X position to everyone.
      */
     public void hideExposedPosition(final boolean keepVisible) {
+        final NodeId previous = this.misterXPosition;
         if (!keepVisible) {
             this.misterXPosition = POSITION_NOT_SET;
         }
 
         this.isExposed = false;
+        damage(previous);
     }
 
     /**
@@ -551,7 +736,9 @@ public final class MapPanel extends JPanel {
      * @param position the node ID where Mister X is located
      */
     public void setMisterXPosition(final NodeId position) {
+        final NodeId previous = this.misterXPosition;
         this.misterXPosition = position;
+        damage(previous, position);
     }
 
     /**
@@ -572,7 +759,8 @@ public final class MapPanel extends JPanel {
      * @param indexBobby the index of the Bobby (0-based)
      */
     public void setBobbyPosition(final NodeId position, final int indexBobby) {
-        this.bobbiesPositions.set(indexBobby, position);
+        final NodeId previous = this.bobbiesPositions.set(indexBobby, position);
+        damage(previous, position);
     }
 
     /**
@@ -581,7 +769,20 @@ public final class MapPanel extends JPanel {
      * @param destinations set of valid destination node IDs
      */
     public void loadPossibleDestinations(final Set<NodeId> destinations) {
+        final Set<NodeId> previous = this.possibleDestinations;
         this.possibleDestinations = destinations;
+        damage(previous, destinations);
+    }
+
+    /**
+     * Sets the nodes where Mister X may be, highlighted for the seekers.
+     *
+     * @param candidates the candidate node IDs of Mister X
+     */
+    public void setRunnerCandidates(final Set<NodeId> candidates) {
+        final Set<NodeId> previous = this.runnerCandidates;
+        this.runnerCandidates = candidates;
+        damage(previous, candidates);
     }
 
     /**
@@ -590,7 +791,9 @@ public final class MapPanel extends JPanel {
      * @param destination the node ID of the selected destination
      */
     public void setSelectedDestination(final NodeId destination) {
+        final NodeId previous = this.selectedDestination;
         this.selectedDestination = destination;
+        damage(previous, destination);
     }
 
     /**
@@ -599,46 +802,130 @@ public final class MapPanel extends JPanel {
      * @param moves the set of valid move options
      */
     public void setValidMoves(final Set<it.unibo.scotyard.model.game.turn.TurnManagerImpl.MoveOption> moves) {
-        this.validMoves = moves != null ? new HashSet<>(moves) : new HashSet<>();
+        final Set<it.unibo.scotyard.model.game.turn.TurnManagerImpl.MoveOption> newMoves =
+                moves != null ? new HashSet<>(moves) : new HashSet<>();
+        final Set<NodeId> previous = destinationsOf(this.validMoves);
+        this.validMoves = newMoves;
+        damage(previous, destinationsOf(newMoves));
+    }
+
+    private static Set<NodeId> destinationsOf(
+            final Set<it.unibo.scotyard.model.game.turn.TurnManagerImpl.MoveOption> moves) {
+        final Set<NodeId> destinations = new HashSet<>();
+        for (final var move : moves) {
+            destinations.add(move.getDestinationNode());
+        }
+        return destinations;
     }
 
     /**
-     * Handles node click detection. Finds which node (if any) was clicked based on
-     * mouse coordinates.
+     * Marks the overlay of some nodes as changed, so that only the area around them is painted again.
      *
-     * @param mouseX the mouse X coordinate
-     * @param mouseY the mouse Y coordinate
+     * @param nodeIds the nodes whose pawns or highlights changed
      */
-    private void handleNodeClick(final int mouseX, final int mouseY) {
+    private void damage(final NodeId... nodeIds) {
+        for (final NodeId nodeId : nodeIds) {
+            if (nodeId != null && nodeId.id() > 0) {
+                damagedNodes.add(nodeId);
+            }
+        }
+        scheduleDamageRepaint();
+    }
+
+    /**
+     * Marks as changed the nodes highlighted either before or after an update, but not both.
+     *
+     * @param before the highlighted nodes before the update
+     * @param after  the highlighted nodes after the update
+     */
+    private void damage(final Set<NodeId> before, final Set<NodeId> after) {
+        for (final NodeId nodeId : before) {
+            if (!after.contains(nodeId)) {
+                damagedNodes.add(nodeId);
+            }
+        }
+        for (final NodeId nodeId : after) {
+            if (!before.contains(nodeId)) {
+                damagedNodes.add(nodeId);
+            }
+        }
+        scheduleDamageRepaint();
+    }
+
+    /**
+     * Schedules the repaint of the damaged nodes, once for all the updates made before it runs.
+     */
+    private void scheduleDamageRepaint() {
+        if (!damagedNodes.isEmpty() && !damageRepaintScheduled) {
+            damageRepaintScheduled = true;
+            SwingUtilities.invokeLater(this::repaintDamage);
+        }
+    }
+
+    /**
+     * Paints again the area around every damaged node, merging the areas that overlap.
+     */
+    private void repaintDamage() {
+        damageRepaintScheduled = false;
         final double nodeZoom = 1.0 + (zoomLevel - 1.0) * NODE_SCALE_FACTOR;
-        final int scaledRadius = (int) (NODE_RADIUS * nodeZoom);
+        // Il più largo tra aloni, bordo della selezione e pedine, più un pixel di antialiasing
+        final int reach = (int) (NODE_RADIUS * nodeZoom) + 4 + (int) Math.ceil(2 * nodeZoom) + 1;
 
-        // Check if click is within node radius
-        for (final Node node : mapInfo.getNodes().toList()) {
-            final Point2D pos = scaledNodePositions.get(node.getId());
+        final List<Rectangle> regions = new ArrayList<>();
+        for (final var iterator = damagedNodes.iterator(); iterator.hasNext(); ) {
+            final Point2D pos = scaledNodePositions.get(iterator.next());
+            iterator.remove();
             if (pos != null) {
-                final int nodeX = (int) pos.getX();
-                final int nodeY = (int) pos.getY();
-
-                // Distance of click from node centre
-                final double distance = Math.sqrt(Math.pow(mouseX - nodeX, 2) + Math.pow(mouseY - nodeY, 2));
-
-                if (distance <= scaledRadius) {
-                    // Use nodeClickListener if set (Mr. X mode)
-                    if (nodeClickListener != null) {
-                        nodeClickListener.accept(node.getId());
-                        return;
-                    }
-                    // Otherwise use possibleDestinations (Detective mode)
-                    for (final NodeId possibleDestination : this.possibleDestinations) {
-                        if (possibleDestination.equals(node.getId())) {
-                            this.setSelectedDestination(node.getId());
-                            this.gameView.destinationChosen(node.getId());
-                        }
-                    }
+                addRegion(
+                        regions,
+                        new Rectangle(
+                                (int) pos.getX() - reach, (int) pos.getY() - reach, reach * 2 + 1, reach * 2 + 1));
+            }
+        }
+        for (final Rectangle region : regions) {
+            repaint(region);
+        }
+    }
+
+    private static void addRegion(final List<Rectangle> regions, final Rectangle region) {
+        Rectangle merged = region;
+        boolean grown = true;
+        while (grown) {
+            grown = false;
+            for (final var iterator = regions.iterator(); iterator.hasNext(); ) {
+                final Rectangle other = iterator.next();
+                if (other.intersects(merged)) {
+                    merged = merged.union(other);
+                    iterator.remove();
+                    grown = true;
                 }
             }
         }
+        regions.add(merged);
+    }
+
+    /**
+     * Handles node click detection. Finds which node (if any) was clicked based on
+     * mouse coordinates.
+     *
+     * @param mouseX the mouse X coordinate
+     * @param mouseY the mouse Y coordinate
+     */
+    private void handleNodeClick(final int mouseX, final int mouseY) {
+        final Optional<NodeId> clicked = nodeAt(mouseX, mouseY);
+        if (clicked.isEmpty()) {
+            return;
+        }
+        // Use nodeClickListener if set (Mr. X mode)
+        if (nodeClickListener != null) {
+            nodeClickListener.accept(clicked.get());
+            return;
+        }
+        // Otherwise use possibleDestinations (Detective mode)
+        if (this.possibleDestinations.contains(clicked.get())) {
+            this.setSelectedDestination(clicked.get());
+            this.gameView.destinationChosen(clicked.get());
+        }
     }
 
     /**
@@ -718,6 +1005,18 @@ public final class MapPanel extends JPanel {
         final double nodeZoom = 1.0 + (zoomLevel - 1.0) * NODE_SCALE_FACTOR;
         final int scaledRadius = (int) (NODE_RADIUS * nodeZoom);
 
+        // Render possible positions of Mister X (red)
+        for (final NodeId nodeId : this.runnerCandidates) {
+            final Point2D pos = scaledNodePositions.get(nodeId);
+            if (pos != null) {
+                final int x = (int) pos.getX();
+                final int y = (int) pos.getY();
+                g2d.setColor(ScotColors.RUNNER_CANDIDATE_NODE);
+                g2d.fillOval(
+                        x - scaledRadius - 4, y - scaledRadius - 4, (scaledRadius + 4) * 2, (scaledRadius + 4) * 2);
+            }
+        }
+
         // Render valid moves (green)
         Set<NodeId> validDestinations = new HashSet<>();
 
@@ -764,4 +1063,13 @@ public final class MapPanel extends JPanel {
                     g2d, ViewConstants.BOBBIES_PAWN + (i + 1), this.bobbiesPositions.get(i), scaledRadius, nodeZoom);
         }
     }
+
+    /**
+     * The strokes of the nodes at a zoom level.
+     *
+     * @param border      the inner border
+     * @param ferryBorder the dashed inner border of the nodes served by ferry
+     * @param arc         the outer arcs of the transports
+     */
+    private record NodeStrokes(BasicStroke border, BasicStroke ferryBorder, BasicStroke arc) {}
 }
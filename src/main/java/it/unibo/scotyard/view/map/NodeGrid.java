@@ -0,0 +1,125 @@
+package it.unibo.scotyard.view.map;
+
+import it.unibo.scotyard.model.map.NodeId;
+import java.awt.geom.Point2D;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A uniform grid over the positions of the nodes on screen, answering which node lies under the mouse.
+ *
+ * <p>
+ * Nodes are bucketed by the square cell holding their position, and the buckets are packed in flat arrays, so a
+ * query only looks at the few nodes of the cells around the point. With cells about as large as a node, a query
+ * takes constant time whatever the size of the map, which makes it cheap enough for every mouse movement.
+ * </p>
+ */
+public final class NodeGrid {
+
+    private final double cellSize;
+    private final double minX;
+    private final double minY;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStarts;
+    private final NodeId[] nodeIds;
+    private final double[] xs;
+    private final double[] ys;
+
+    /**
+     * Builds the grid of some positions.
+     *
+     * @param positions the positions of the nodes
+     * @param cellSize  the side of a cell, best close to the diameter of a node
+     * @throws NullPointerException     if positions is null
+     * @throws IllegalArgumentException if cellSize is not positive
+     */
+    public NodeGrid(final Map<NodeId, Point2D> positions, final double cellSize) {
+        Objects.requireNonNull(positions, "Positions cannot be null");
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+
+        double left = Double.POSITIVE_INFINITY;
+        double top = Double.POSITIVE_INFINITY;
+        double right = Double.NEGATIVE_INFINITY;
+        double bottom = Double.NEGATIVE_INFINITY;
+        for (final Point2D position : positions.values()) {
+            left = Math.min(left, position.getX());
+            top = Math.min(top, position.getY());
+            right = Math.max(right, position.getX());
+            bottom = Math.max(bottom, position.getY());
+        }
+        this.minX = positions.isEmpty() ? 0 : left;
+        this.minY = positions.isEmpty() ? 0 : top;
+        this.columns = positions.isEmpty() ? 1 : (int) ((right - left) / cellSize) + 1;
+        this.rows = positions.isEmpty() ? 1 : (int) ((bottom - top) / cellSize) + 1;
+
+        // Counting sort of the nodes by cell: the nodes of cell c are at [cellStarts[c], cellStarts[c + 1])
+        this.cellStarts = new int[columns * rows + 1];
+        for (final Point2D position : positions.values()) {
+            cellStarts[cellOf(position.getX(), position.getY()) + 1]++;
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        this.nodeIds = new NodeId[positions.size()];
+        this.xs = new double[positions.size()];
+        this.ys = new double[positions.size()];
+        final int[] next = new int[columns * rows];
+        System.arraycopy(cellStarts, 0, next, 0, next.length);
+        positions.forEach((nodeId, position) -> {
+            final int index = next[cellOf(position.getX(), position.getY())]++;
+            nodeIds[index] = nodeId;
+            xs[index] = position.getX();
+            ys[index] = position.getY();
+        });
+    }
+
+    /**
+     * Returns the node nearest to a point, if it is within a distance.
+     *
+     * @param x      the horizontal coordinate of the point
+     * @param y      the vertical coordinate of the point
+     * @param radius the largest distance of the node from the point
+     * @return the nearest node, or empty if no node is close enough
+     */
+    public Optional<NodeId> nearest(final double x, final double y, final double radius) {
+        final int firstColumn = Math.max(0, column(x - radius));
+        final int lastColumn = Math.min(columns - 1, column(x + radius));
+        final int firstRow = Math.max(0, row(y - radius));
+        final int lastRow = Math.min(rows - 1, row(y + radius));
+
+        NodeId nearest = null;
+        double nearestDistance = radius * radius;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                final int cell = row * columns + column;
+                for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                    final double dx = xs[i] - x;
+                    final double dy = ys[i] - y;
+                    final double distance = dx * dx + dy * dy;
+                    if (distance <= nearestDistance) {
+                        nearest = nodeIds[i];
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        return Optional.ofNullable(nearest);
+    }
+
+    private int cellOf(final double x, final double y) {
+        return row(y) * columns + column(x);
+    }
+
+    private int column(final double x) {
+        return (int) Math.floor((x - minX) / cellSize);
+    }
+
+    private int row(final double y) {
+        return (int) Math.floor((y - minY) / cellSize);
+    }
+}
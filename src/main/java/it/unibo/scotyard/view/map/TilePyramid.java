@@ -0,0 +1,261 @@
+package it.unibo.scotyard.view.map;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An image split into square tiles at several resolutions, each half the size of the previous one.
+ *
+ * <p>
+ * Drawing the image at some size only scales the tiles that intersect the clip, taken from the smallest resolution
+ * still at least as large as the requested size, so the cost depends on the area drawn and not on the size of the
+ * image. Tiles are small unchanging images, which Java2D can keep in video memory.
+ * </p>
+ *
+ * <p>
+ * Every tile is surrounded by a {@value #GUTTER} pixel gutter holding the pixels of its neighbours, and only its inner
+ * area is drawn. Scaling a tile on its own would otherwise blend its edges with nothing, leaving visible seams between
+ * tiles once the image is enlarged.
+ * </p>
+ */
+public final class TilePyramid {
+
+    private static final int GUTTER = 1;
+
+    private final int tileSize;
+    private final List<Level> levels = new ArrayList<>();
+
+    /**
+     * Builds the pyramid of an image. Building scales the whole image once per level, so it is better done away
+     * from the event dispatch thread.
+     *
+     * @param image    the image at full resolution
+     * @param tileSize the side of a tile, in pixels
+     * @throws NullPointerException     if image is null
+     * @throws IllegalArgumentException if tileSize is not positive
+     */
+    public TilePyramid(final BufferedImage image, final int tileSize) {
+        Objects.requireNonNull(image, "Image cannot be null");
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+        }
+        this.tileSize = tileSize;
+
+        BufferedImage current = image;
+        levels.add(new Level(current, tileSize));
+        while (current.getWidth() > tileSize || current.getHeight() > tileSize) {
+            current = half(current);
+            levels.add(new Level(current, tileSize));
+        }
+    }
+
+    /**
+     * Returns the number of resolutions.
+     *
+     * @return the number of levels, 1 if the image fits a single tile
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * Draws the image scaled into a rectangle, only where the clip of the graphics context allows.
+     *
+     * @param g2d    the graphics context
+     * @param x      the left side of the rectangle
+     * @param y      the top side of the rectangle
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     */
+    public void draw(final Graphics2D g2d, final int x, final int y, final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        final Level level = levelFor(width, height);
+        final Rectangle clip = g2d.getClipBounds();
+        final Rectangle area = clip != null ? clip : new Rectangle(x, y, width, height);
+
+        final int firstColumn = Math.max(0, level.column(area.x - x, width));
+        final int lastColumn = Math.min(level.columns() - 1, level.column(area.x + area.width - x, width));
+        final int firstRow = Math.max(0, level.row(area.y - y, height));
+        final int lastRow = Math.min(level.rows() - 1, level.row(area.y + area.height - y, height));
+
+        final Shape previousClip = g2d.getClip();
+        try {
+            for (int row = firstRow; row <= lastRow; row++) {
+                // Adjacent tiles share their edges, so that rounding leaves no gaps between them
+                final int top = y + level.scaleY(row * tileSize, height);
+                final int bottom = y + level.scaleY(Math.min(level.height(), (row + 1) * tileSize), height);
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    final int left = x + level.scaleX(column * tileSize, width);
+                    final int right = x + level.scaleX(Math.min(level.width(), (column + 1) * tileSize), width);
+                    g2d.setClip(previousClip);
+                    g2d.clipRect(left, top, right - left, bottom - top);
+                    drawInner(g2d, level.tile(row, column), left, top, right - left, bottom - top);
+                }
+            }
+        } finally {
+            g2d.setClip(previousClip);
+        }
+    }
+
+    /**
+     * Draws a tile so that its inner area fills a rectangle, the gutter falling outside of it.
+     */
+    private static void drawInner(
+            final Graphics2D g2d,
+            final BufferedImage tile,
+            final int x,
+            final int y,
+            final int width,
+            final int height) {
+        final double scaleX = (double) width / (tile.getWidth() - 2 * GUTTER);
+        final double scaleY = (double) height / (tile.getHeight() - 2 * GUTTER);
+        final AffineTransform transform =
+                AffineTransform.getTranslateInstance(x - GUTTER * scaleX, y - GUTTER * scaleY);
+        transform.scale(scaleX, scaleY);
+        g2d.drawImage(tile, transform, null);
+    }
+
+    /**
+     * Returns the smallest level at least as large as the requested size, or the full resolution if none is.
+     */
+    private Level levelFor(final int width, final int height) {
+        for (int i = levels.size() - 1; i > 0; i--) {
+            final Level level = levels.get(i);
+            if (level.width() >= width && level.height() >= height) {
+                return level;
+            }
+        }
+        return levels.getFirst();
+    }
+
+    private static BufferedImage half(final BufferedImage image) {
+        final BufferedImage half = new BufferedImage(
+                Math.max(1, image.getWidth() / 2), Math.max(1, image.getHeight() / 2), imageType(image));
+        final Graphics2D g2d = half.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(image, 0, 0, half.getWidth(), half.getHeight(), null);
+        } finally {
+            g2d.dispose();
+        }
+        return half;
+    }
+
+    private static int imageType(final BufferedImage image) {
+        return image.getTransparency() == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB;
+    }
+
+    /** The tiles of one resolution. */
+    private static final class Level {
+        private final int width;
+        private final int height;
+        private final int tileSize;
+        private final BufferedImage[][] tiles;
+
+        Level(final BufferedImage image, final int tileSize) {
+            this.width = image.getWidth();
+            this.height = image.getHeight();
+            this.tileSize = tileSize;
+            this.tiles = new BufferedImage[(height + tileSize - 1) / tileSize][(width + tileSize - 1) / tileSize];
+            for (int row = 0; row < tiles.length; row++) {
+                for (int column = 0; column < tiles[row].length; column++) {
+                    final int left = column * tileSize;
+                    final int top = row * tileSize;
+                    tiles[row][column] = tile(
+                            image, left, top, Math.min(tileSize, width - left), Math.min(tileSize, height - top));
+                }
+            }
+        }
+
+        /**
+         * Returns the tile of an area of the image, with a gutter holding the pixels around it. On the sides of the
+         * image, the gutter repeats the pixels of the side.
+         */
+        private static BufferedImage tile(
+                final BufferedImage image, final int left, final int top, final int width, final int height) {
+            final BufferedImage tile = new BufferedImage(width + 2 * GUTTER, height + 2 * GUTTER, imageType(image));
+            final Graphics2D g2d = tile.createGraphics();
+            try {
+                g2d.drawImage(image, GUTTER - left, GUTTER - top, null);
+            } finally {
+                g2d.dispose();
+            }
+            final WritableRaster raster = tile.getRaster();
+            if (left == 0) {
+                copyColumn(raster, GUTTER, 0);
+            }
+            if (left + width == image.getWidth()) {
+                copyColumn(raster, GUTTER + width - 1, GUTTER + width);
+            }
+            if (top == 0) {
+                copyRow(raster, GUTTER, 0);
+            }
+            if (top + height == image.getHeight()) {
+                copyRow(raster, GUTTER + height - 1, GUTTER + height);
+            }
+            return tile;
+        }
+
+        private static void copyColumn(final WritableRaster raster, final int from, final int to) {
+            raster.setDataElements(
+                    to, 0, 1, raster.getHeight(), raster.getDataElements(from, 0, 1, raster.getHeight(), null));
+        }
+
+        private static void copyRow(final WritableRaster raster, final int from, final int to) {
+            raster.setDataElements(
+                    0, to, raster.getWidth(), 1, raster.getDataElements(0, from, raster.getWidth(), 1, null));
+        }
+
+        int width() {
+            return width;
+        }
+
+        int height() {
+            return height;
+        }
+
+        int rows() {
+            return tiles.length;
+        }
+
+        int columns() {
+            return tiles[0].length;
+        }
+
+        BufferedImage tile(final int row, final int column) {
+            return tiles[row][column];
+        }
+
+        /** Returns the column under a horizontal offset from the left side of the drawn image. */
+        int column(final int offset, final int drawnWidth) {
+            return (int) Math.floorDiv(Math.floorDiv((long) offset * width, drawnWidth), tileSize);
+        }
+
+        /** Returns the row under a vertical offset from the top side of the drawn image. */
+        int row(final int offset, final int drawnHeight) {
+            return (int) Math.floorDiv(Math.floorDiv((long) offset * height, drawnHeight), tileSize);
+        }
+
+        int scaleX(final int levelX, final int drawnWidth) {
+            return (int) ((long) levelX * drawnWidth / width);
+        }
+
+        int scaleY(final int levelY, final int drawnHeight) {
+            return (int) ((long) levelY * drawnHeight / height);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package it.unibo.scotyard.commons.dtos.map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -11,6 +13,7 @@ import it.unibo.scotyard.model.map.MapNode;
 import it.unibo.scotyard.model.map.NodeId;
 import it.unibo.scotyard.model.map.TransportType;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -78,4 +81,32 @@ public class MapInfoImplTest {
         assertTrue(node.getAvailableTransports().contains(TransportType.TAXI));
         assertTrue(node.getAvailableTransports().contains(TransportType.BUS));
     }
+
+    @Test
+    void testGetNodeById() {
+        final Node node = mapInfo.getNode(new NodeId(2)).orElseThrow();
+
+        assertEquals(300, node.getX());
+        assertEquals(Set.of(TransportType.TAXI, TransportType.BUS), node.getAvailableTransports());
+        assertFalse(mapInfo.getNode(new NodeId(3)).isPresent());
+    }
+
+    @Test
+    void testNodesAreBuiltOnce() {
+        final Node first = mapInfo.getNodes().findFirst().orElseThrow();
+
+        assertSame(first, mapInfo.getNodes().findFirst().orElseThrow());
+        assertSame(first, mapInfo.getNode(first.getId()).orElseThrow());
+    }
+
+    @Test
+    void testNodeWithoutConnectionsHasNoTransports() {
+        final MapData isolated = new MapData(
+                "Isolated", List.of(new MapNode(new NodeId(1), 0, 0)), List.of(), List.of(3, 8), List.of());
+
+        final Node node = new MapInfoImpl(isolated).getNode(new NodeId(1)).orElseThrow();
+
+        assertTrue(node.getAvailableTransports().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> node.getAvailableTransports().add(TransportType.TAXI));
+    }
 }
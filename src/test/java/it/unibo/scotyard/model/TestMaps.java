@@ -0,0 +1,110 @@
+package it.unibo.scotyard.model;
+
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.GameStateImpl;
+import it.unibo.scotyard.model.game.Players;
+import it.unibo.scotyard.model.map.MapConnection;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.MapNode;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.players.Detective;
+import it.unibo.scotyard.model.players.MisterX;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Small maps and positions shared by the tests of the search code.
+ */
+public final class TestMaps {
+
+    private TestMaps() {
+        throw new AssertionError("non istanziabile la classe TestMaps");
+    }
+
+    /**
+     * Returns a line of taxi connections: 1 - 2 - ... - nodes.
+     *
+     * @param nodes the number of nodes of the line
+     * @return the map
+     */
+    public static MapData line(final int nodes) {
+        return line(nodes, List.of(), List.of(), List.of());
+    }
+
+    /**
+     * Returns a line of taxi connections: 1 - 2 - ... - nodes, with some more connections on top.
+     *
+     * @param nodes the number of nodes of the line
+     * @param extraConnections the connections added to the line
+     * @param revealTurns the turns when Mister X shows himself
+     * @param initialPositions the initial positions of the map
+     * @return the map
+     */
+    public static MapData line(
+            final int nodes,
+            final List<MapConnection> extraConnections,
+            final List<Integer> revealTurns,
+            final List<NodeId> initialPositions) {
+        final List<MapNode> mapNodes = new ArrayList<>();
+        final List<MapConnection> connections = new ArrayList<>();
+        for (int i = 1; i <= nodes; i++) {
+            mapNodes.add(new MapNode(new NodeId(i), 0, 0));
+            if (i < nodes) {
+                connections.add(new MapConnection(new NodeId(i), new NodeId(i + 1), TransportType.TAXI));
+                connections.add(new MapConnection(new NodeId(i + 1), new NodeId(i), TransportType.TAXI));
+            }
+        }
+        connections.addAll(extraConnections);
+        return new MapData("Line", mapNodes, connections, revealTurns, initialPositions);
+    }
+
+    /**
+     * Returns a snapshot where Mister X is to move in the first round.
+     *
+     * @param misterX the node of Mister X
+     * @param detective the node of the Detective
+     * @return the snapshot
+     */
+    public static GameSnapshot runnerToMove(final int misterX, final int detective) {
+        final Players players = new Players(
+                GameMode.DETECTIVE,
+                new MisterX(new NodeId(misterX)),
+                new Detective(new NodeId(detective)),
+                List.of());
+        final GameStateImpl gameState =
+                new GameStateImpl(new Random(0), GameMode.DETECTIVE, players, GameDifficulty.DIFFICULT);
+        gameState.resetTurn();
+        return GameSnapshot.from(gameState);
+    }
+
+    /**
+     * Returns a snapshot where Mister X is to move in the given round.
+     *
+     * @param misterX the node of Mister X
+     * @param detective the node of the Detective
+     * @param round the round to move in
+     * @return the snapshot
+     */
+    public static GameSnapshot runnerToMove(final int misterX, final int detective, final int round) {
+        GameSnapshot snapshot = runnerToMove(misterX, detective);
+        while (snapshot.getRound() < round) {
+            snapshot = snapshot.endTurn();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns a snapshot where Mister X has just passed and the Detective is to move.
+     *
+     * @param misterX the node of Mister X
+     * @param detective the node of the Detective
+     * @return the snapshot
+     */
+    public static GameSnapshot seekerToMove(final int misterX, final int detective) {
+        return runnerToMove(misterX, detective).endTurn();
+    }
+}
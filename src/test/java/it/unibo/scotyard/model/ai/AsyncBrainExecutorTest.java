@@ -0,0 +1,200 @@
+package it.unibo.scotyard.model.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import it.unibo.scotyard.model.command.turn.EndTurnCommand;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AsyncBrainExecutorTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final Duration DEADLINE = Duration.ofMillis(50);
+
+    @Test
+    void playsOffTheCallerAndDeliversOnTheModelThread() throws InterruptedException {
+        final BlockingQueue<Runnable> modelThread = new LinkedBlockingQueue<>();
+        final BlockingQueue<Thread> thinkers = new LinkedBlockingQueue<>();
+        final List<GameCommand> commands = List.of(new EndTurnCommand());
+
+        try (AsyncBrainExecutor executor = new AsyncBrainExecutor(modelThread::add)) {
+            final BlockingQueue<List<GameCommand>> delivered = new LinkedBlockingQueue<>();
+            executor.execute(
+                    () -> {
+                        thinkers.add(Thread.currentThread());
+                        return commands;
+                    },
+                    TurnBudget.unlimited(),
+                    delivered::add);
+
+            modelThread.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS).run();
+
+            assertNotSame(Thread.currentThread(), thinkers.poll());
+            assertSame(commands, delivered.poll());
+        }
+    }
+
+    @Test
+    void reportsTheThinkingTimeOfEveryTurn() throws InterruptedException {
+        final BlockingQueue<Runnable> modelThread = new LinkedBlockingQueue<>();
+        final BlockingQueue<Long> thinkingTimes = new LinkedBlockingQueue<>();
+
+        try (AsyncBrainExecutor executor = new AsyncBrainExecutor(modelThread::add, thinkingTimes::add)) {
+            executor.execute(
+                    () -> {
+                        try {
+                            Thread.sleep(DEADLINE.toMillis());
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return List.of(new EndTurnCommand());
+                    },
+                    TurnBudget.unlimited(),
+                    commands -> {});
+
+            final Long nanos = thinkingTimes.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertTrue(nanos >= DEADLINE.toNanos());
+        }
+    }
+
+    @Test
+    void rethrowsFailuresOnTheModelThread() throws InterruptedException {
+        final BlockingQueue<Runnable> modelThread = new LinkedBlockingQueue<>();
+        final IllegalArgumentException failure = new IllegalArgumentException("failure");
+
+        try (AsyncBrainExecutor executor = new AsyncBrainExecutor(modelThread::add)) {
+            executor.execute(
+                    () -> {
+                        throw failure;
+                    },
+                    TurnBudget.unlimited(),
+                    commands -> {});
+
+            final Runnable task = modelThread.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            final IllegalStateException thrown = assertThrows(IllegalStateException.class, task::run);
+            assertSame(failure, thrown.getCause());
+        }
+    }
+
+    @Test
+    void closingCancelsTheTurnsNotDelivered() throws InterruptedException {
+        final BlockingQueue<Runnable> modelThread = new LinkedBlockingQueue<>();
+        final TurnBudget budget = TurnBudget.unlimited();
+        final List<List<GameCommand>> delivered = new ArrayList<>();
+
+        final AsyncBrainExecutor executor = new AsyncBrainExecutor(modelThread::add);
+        executor.execute(() -> List.of(new EndTurnCommand()), budget, delivered::add);
+        final Runnable delivery = modelThread.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        executor.close();
+        delivery.run();
+
+        assertTrue(budget.getCancellation().isCancelled());
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void deliversTheBestTurnSoFarOnceTheBrainStopsAfterTheDeadline() throws InterruptedException {
+        final BlockingQueue<Runnable> modelThread = new LinkedBlockingQueue<>();
+        final TurnBudget budget = new TurnBudget(Deadline.after(DEADLINE), new CancellationToken());
+        final List<GameCommand> bestSoFar = List.of(new EndTurnCommand());
+        final CountDownLatch brainStopped = new CountDownLatch(1);
+        final List<List<GameCommand>> delivered = new ArrayList<>();
+
+        try (AsyncBrainExecutor executor = new AsyncBrainExecutor(modelThread::add)) {
+            executor.execute(
+                    () -> {
+                        budget.report(bestSoFar);
+                        // A brain ignoring its budget, which only stops when cancelled
+                        while (!budget.getCancellation().isCancelled()) {
+                            Thread.onSpinWait();
+                        }
+                        brainStopped.countDown();
+                        return List.of(new EndTurnCommand());
+                    },
+                    budget,
+                    delivered::add);
+
+            final Runnable delivery = modelThread.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            // The brain may still be reading the game state until it stops
+            assertEquals(0, brainStopped.getCount());
+            delivery.run();
+
+            assertEquals(List.of(bestSoFar), delivered);
+            assertNull(modelThread.poll(DEADLINE.toMillis(), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void deliversTheTurnOfTheBrainBeforeTheDeadline() throws InterruptedException {
+        final BlockingQueue<Runnable> modelThread = new LinkedBlockingQueue<>();
+        final TurnBudget budget = new TurnBudget(Deadline.after(DEADLINE), new CancellationToken());
+        final List<GameCommand> commands = List.of(new EndTurnCommand());
+        final List<List<GameCommand>> delivered = new ArrayList<>();
+
+        try (AsyncBrainExecutor executor = new AsyncBrainExecutor(modelThread::add)) {
+            budget.report(List.of(new EndTurnCommand()));
+            executor.execute(() -> commands, budget, delivered::add);
+
+            modelThread.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS).run();
+            assertNull(modelThread.poll(DEADLINE.toMillis() * 2, TimeUnit.MILLISECONDS));
+
+            assertEquals(1, delivered.size());
+            assertSame(commands, delivered.getFirst());
+            assertFalse(budget.getCancellation().isCancelled());
+        }
+    }
+
+    @Test
+    void startsTheDeadlineWhenTheTurnIsPlayed() throws InterruptedException {
+        final BlockingQueue<Runnable> modelThread = new LinkedBlockingQueue<>();
+        final TurnBudget queued = TurnBudget.startingWhenPlayed(Optional.of(DEADLINE), new CancellationToken());
+        final BlockingQueue<Boolean> exhaustedAtStart = new LinkedBlockingQueue<>();
+
+        try (AsyncBrainExecutor executor = new AsyncBrainExecutor(modelThread::add)) {
+            executor.execute(
+                    () -> {
+                        try {
+                            Thread.sleep(DEADLINE.toMillis() * 2);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return List.of(new EndTurnCommand());
+                    },
+                    TurnBudget.unlimited(),
+                    commands -> {});
+            executor.execute(
+                    () -> {
+                        exhaustedAtStart.add(queued.isExhausted());
+                        return List.of(new EndTurnCommand());
+                    },
+                    queued,
+                    commands -> {});
+
+            assertFalse(exhaustedAtStart.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void directExecutorDeliversBeforeReturning() {
+        final List<GameCommand> commands = List.of(new EndTurnCommand());
+        final List<List<GameCommand>> delivered = new ArrayList<>();
+
+        BrainExecutor.direct().execute(() -> commands, TurnBudget.unlimited(), delivered::add);
+
+        assertEquals(List.of(commands), delivered);
+    }
+}
@@ -0,0 +1,90 @@
+package it.unibo.scotyard.model.ai;
+
+import static it.unibo.scotyard.model.TestMaps.runnerToMove;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.TestMaps;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.map.MapData;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EndgameSolverTest {
+
+    private static final int NODES = 9;
+
+    private MapData mapData;
+
+    @BeforeEach
+    void setup() {
+        mapData = TestMaps.line(NODES);
+    }
+
+    @Test
+    void movesAwayFromTheSeekerInTheLastRound() {
+        final OptionalInt move = solver(1_000_000, 1_000)
+                .winningMove(runnerToMove(5, 3, MagicNumbers.FINAL_ROUND_COUNT), TurnBudget.unlimited());
+
+        assertTrue(move.isPresent());
+        assertEquals(6, MoveGenerator.destination(move.getAsInt()));
+    }
+
+    @Test
+    void findsNoWinWhenCornered() {
+        final OptionalInt move = solver(1_000_000, 1_000)
+                .winningMove(runnerToMove(1, 3, MagicNumbers.FINAL_ROUND_COUNT - 1), TurnBudget.unlimited());
+
+        assertFalse(move.isPresent());
+    }
+
+    @Test
+    void winsWithTwoRoundsToGo() {
+        final OptionalInt move = solver(1_000_000, 1_000)
+                .winningMove(runnerToMove(5, 3, MagicNumbers.FINAL_ROUND_COUNT - 1), TurnBudget.unlimited());
+
+        assertTrue(move.isPresent());
+        assertEquals(6, MoveGenerator.destination(move.getAsInt()));
+    }
+
+    @Test
+    void remembersABoundedNumberOfPositions() {
+        final EndgameSolver solver = solver(1_000_000, 2);
+
+        solver.winningMove(runnerToMove(5, 3, MagicNumbers.FINAL_ROUND_COUNT - 1), TurnBudget.unlimited());
+
+        assertTrue(solver.getSolvedCount() <= 2);
+    }
+
+    @Test
+    void givesUpPastItsNodeLimit() {
+        final EndgameSolver solver = solver(1, 1_000);
+
+        final OptionalInt move =
+                solver.winningMove(runnerToMove(5, 3, MagicNumbers.FINAL_ROUND_COUNT - 1), TurnBudget.unlimited());
+
+        assertFalse(move.isPresent());
+        assertEquals(0, solver.getSolvedCount());
+    }
+
+    @Test
+    void rejectsPositionsItDoesNotSolve() {
+        final EndgameSolver solver = solver(1_000_000, 1_000);
+        final GameSnapshot early = runnerToMove(5, 3, 1);
+        final GameSnapshot seekerToMove = runnerToMove(5, 3, MagicNumbers.FINAL_ROUND_COUNT).endTurn();
+
+        assertFalse(solver.isInHorizon(early));
+        assertThrows(IllegalArgumentException.class, () -> solver.winningMove(early, TurnBudget.unlimited()));
+        assertThrows(IllegalArgumentException.class, () -> solver.winningMove(seekerToMove, TurnBudget.unlimited()));
+        assertThrows(IllegalArgumentException.class, () -> new EndgameSolver(mapData, 0, 1, 1));
+    }
+
+    private EndgameSolver solver(final long maxNodes, final int maxSolved) {
+        return new EndgameSolver(mapData, 2, maxNodes, maxSolved);
+    }
+}
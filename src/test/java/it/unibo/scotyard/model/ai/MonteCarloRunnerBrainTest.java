@@ -0,0 +1,135 @@
+package it.unibo.scotyard.model.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.TestMaps;
+import it.unibo.scotyard.model.command.GameCommand;
+import it.unibo.scotyard.model.command.turn.EndTurnCommand;
+import it.unibo.scotyard.model.command.turn.MoveCommand;
+import it.unibo.scotyard.model.entities.MoveAction;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.GameStateImpl;
+import it.unibo.scotyard.model.game.Players;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.players.Detective;
+import it.unibo.scotyard.model.players.MisterX;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MonteCarloRunnerBrainTest {
+
+    private static final int NODES = 9;
+
+    private MapData mapData;
+
+    @BeforeEach
+    void setup() {
+        mapData = TestMaps.line(NODES);
+    }
+
+    @Test
+    void movesAwayFromTheSeeker() {
+        final MonteCarloRunnerBrain brain = new MonteCarloRunnerBrain(mapData, 2_000);
+
+        final List<GameCommand> commands = brain.playTurn(createGameState(7));
+
+        assertEquals(new MoveCommand(new NodeId(6), TransportType.TAXI), commands.getFirst());
+        assertEquals(new EndTurnCommand(), commands.getLast());
+    }
+
+    @Test
+    void isDeterministicForTheSameSeed() {
+        final MonteCarloRunnerBrain brain = new MonteCarloRunnerBrain(mapData, 500);
+
+        assertEquals(brain.playTurn(createGameState(3)), brain.playTurn(createGameState(3)));
+    }
+
+    @Test
+    void stopsWhenTheTurnIsCancelledWithTheBestMoveSoFar() {
+        final MonteCarloRunnerBrain brain =
+                new MonteCarloRunnerBrain(mapData, Integer.MAX_VALUE);
+        final TurnBudget budget = new TurnBudget(Deadline.none(), new CancellationToken());
+        budget.getCancellation().cancel();
+
+        final List<GameCommand> commands = brain.playTurn(createGameState(7), budget);
+
+        assertEquals(budget.getBestSoFar().orElseThrow(), commands);
+        assertEquals(new EndTurnCommand(), commands.getLast());
+    }
+
+    @Test
+    void stopsAtTheDeadlineOfTheTurn() {
+        final MonteCarloRunnerBrain brain =
+                new MonteCarloRunnerBrain(mapData, Integer.MAX_VALUE);
+        final TurnBudget budget = new TurnBudget(Deadline.after(Duration.ofMillis(50)), new CancellationToken());
+
+        final List<GameCommand> commands = brain.playTurn(createGameState(7), budget);
+
+        assertTrue(budget.getDeadline().isExpired());
+        assertEquals(new MoveCommand(new NodeId(6), TransportType.TAXI), commands.getFirst());
+    }
+
+    @Test
+    void reusesThePonderedSubtreeOfTheMovesPlayedBySeekers() {
+        final MonteCarloRunnerBrain brain = new MonteCarloRunnerBrain(mapData, 500);
+        final GameStateImpl gameState = createGameState(7);
+        gameState.changeCurrentPlayer();
+        gameState.resetTurn();
+        brain.ponder(GameSnapshot.from(gameState), new NodeSet(0), GameDifficulty.DIFFICULT, TurnBudget.unlimited());
+        assertTrue(brain.hasPondered());
+
+        // The detective walks away and the turn goes back to Mister X
+        gameState.moveCurrentPlayer(new NodeId(2), TransportType.TAXI);
+        gameState.nextRound();
+        gameState.resetTurn();
+        gameState
+                .getTurnState()
+                .setLegalMoves(List.of(
+                        new MoveAction(new NodeId(4), TransportType.TAXI),
+                        new MoveAction(new NodeId(6), TransportType.TAXI)));
+        assertTrue(brain.ponderedVisits(GameSnapshot.from(gameState)) > 0);
+
+        final List<GameCommand> commands = brain.playTurn(gameState);
+
+        assertFalse(brain.hasPondered());
+        assertEquals(new EndTurnCommand(), commands.getLast());
+    }
+
+    @Test
+    void discardsThePonderedTreeWhenTheGameWentAnotherWay() {
+        final MonteCarloRunnerBrain brain = new MonteCarloRunnerBrain(mapData, 500);
+        final GameStateImpl pondered = createGameState(7);
+        pondered.changeCurrentPlayer();
+        pondered.resetTurn();
+        brain.ponder(GameSnapshot.from(pondered), new NodeSet(0), GameDifficulty.DIFFICULT, TurnBudget.unlimited());
+
+        assertEquals(0, brain.ponderedVisits(GameSnapshot.from(createGameState(7))));
+        final MonteCarloRunnerBrain fresh = new MonteCarloRunnerBrain(mapData, 500);
+        assertEquals(fresh.playTurn(createGameState(3)), brain.playTurn(createGameState(3)));
+        assertFalse(brain.hasPondered());
+    }
+
+    private GameStateImpl createGameState(final long seed) {
+        final Players players =
+                new Players(GameMode.DETECTIVE, new MisterX(new NodeId(5)), new Detective(new NodeId(3)), List.of());
+        final GameStateImpl gameState =
+                new GameStateImpl(new Random(seed), GameMode.DETECTIVE, players, GameDifficulty.DIFFICULT);
+        gameState.resetTurn();
+        gameState
+                .getTurnState()
+                .setLegalMoves(List.of(
+                        new MoveAction(new NodeId(4), TransportType.TAXI),
+                        new MoveAction(new NodeId(6), TransportType.TAXI)));
+        return gameState;
+    }
+}
@@ -0,0 +1,86 @@
+package it.unibo.scotyard.model.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.command.game.InitializeGameCommand;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.simulation.SimulationRunner;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OpeningBookTest {
+
+    private SimulationRunner runner;
+    private MapData mapData;
+
+    @BeforeEach
+    void setup() {
+        runner = new SimulationRunner();
+        mapData = runner.getModel().getMapData();
+    }
+
+    @Test
+    void readsWhatItWrites() throws IOException {
+        final GameSnapshot first = firstTurnOf(GameDifficulty.DIFFICULT, 1);
+        final int move = MoveGenerator.encode(first.getPosition(GameSnapshot.RUNNER), 1, TransportType.TAXI);
+        final OpeningBook book = new OpeningBook.Builder(mapData, 1)
+                .put(first, GameDifficulty.DIFFICULT, move)
+                .build();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        book.write(out);
+        final OpeningBook read = OpeningBook.read(new ByteArrayInputStream(out.toByteArray()), mapData);
+
+        assertEquals(1, read.size());
+        assertEquals(1, read.getRounds());
+        assertEquals(OptionalInt.of(move), read.lookup(first, GameDifficulty.DIFFICULT));
+        assertTrue(read.lookup(first, GameDifficulty.MEDIUM).isEmpty());
+        assertTrue(read.lookup(first.apply(move).endTurn(), GameDifficulty.DIFFICULT).isEmpty());
+    }
+
+    @Test
+    void rejectsOtherFiles() {
+        assertThrows(
+                IOException.class,
+                () -> OpeningBook.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}), mapData));
+    }
+
+    @Test
+    void coversTheFirstMoveOfEveryDetectiveGame() {
+        final OpeningBook book = OpeningBook.getDefault(mapData);
+        for (long seed = 0; seed < 20; seed++) {
+            for (final GameDifficulty difficulty : List.of(GameDifficulty.MEDIUM, GameDifficulty.DIFFICULT)) {
+                final GameSnapshot snapshot = firstTurnOf(difficulty, seed);
+                final OptionalInt move = book.lookup(snapshot, difficulty);
+                assertTrue(move.isPresent());
+                assertEquals(snapshot.getPosition(GameSnapshot.RUNNER), MoveGenerator.origin(move.getAsInt()));
+            }
+        }
+    }
+
+    /**
+     * Returns the first turn of Mister X in a headless detective game.
+     */
+    private GameSnapshot firstTurnOf(final GameDifficulty difficulty, final long seed) {
+        runner.getModel()
+                .getDispatcher()
+                .dispatch(new InitializeGameCommand(
+                        seed, GameMode.DETECTIVE, difficulty, true, difficulty, difficulty));
+        final GameState gameState = runner.getModel().getGameState();
+        gameState.resetTurn();
+        return GameSnapshot.from(gameState);
+    }
+}
@@ -0,0 +1,85 @@
+package it.unibo.scotyard.model.ai;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.TestMaps;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.TransportType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelRolloutEvaluatorTest {
+
+    private static final int NODES = 9;
+    private static final int ROLLOUTS = 200;
+
+    private MapData mapData;
+    private GameSnapshot root;
+    private MoveBuffer candidates;
+
+    @BeforeEach
+    void setup() {
+        mapData = TestMaps.line(NODES);
+        root = TestMaps.runnerToMove(5, 3);
+        candidates = new MoveBuffer();
+        candidates.add(MoveGenerator.encode(5, 4, TransportType.TAXI));
+        candidates.add(MoveGenerator.encode(5, 6, TransportType.TAXI));
+    }
+
+    @Test
+    void prefersTheMoveAwayFromTheSeeker() {
+        try (ParallelRolloutEvaluator evaluator = new ParallelRolloutEvaluator(mapData)) {
+            final double[] scores = evaluator.evaluate(root, candidates, ROLLOUTS, 1);
+
+            assertTrue(scores[1] > scores[0]);
+        }
+    }
+
+    @Test
+    void scoresDoNotDependOnParallelism() {
+        try (ParallelRolloutEvaluator single = new ParallelRolloutEvaluator(mapData, 1);
+                ParallelRolloutEvaluator multi = new ParallelRolloutEvaluator(mapData, 4)) {
+            assertArrayEquals(
+                    single.evaluate(root, candidates, ROLLOUTS, 7), multi.evaluate(root, candidates, ROLLOUTS, 7));
+        }
+    }
+
+    @Test
+    void everyCandidateGetsRolloutsWhenTheBudgetRunsOut() {
+        final TurnBudget budget = TurnBudget.unlimited();
+        final List<Integer> leaders = new ArrayList<>();
+
+        try (ParallelRolloutEvaluator evaluator = new ParallelRolloutEvaluator(mapData, 1)) {
+            final double[] scores = evaluator.evaluate(root, candidates, ROLLOUTS, 5, budget, leader -> {
+                leaders.add(leader);
+                budget.getCancellation().cancel();
+            });
+
+            assertFalse(leaders.isEmpty());
+            assertTrue(Arrays.stream(scores).allMatch(Double::isFinite));
+        }
+    }
+
+    @Test
+    void countsThePlayouts() {
+        try (ParallelRolloutEvaluator evaluator = new ParallelRolloutEvaluator(mapData, 2)) {
+            assertEquals(0, evaluator.getPlayoutsPerSecond());
+
+            evaluator.evaluate(root, candidates, ROLLOUTS, 3);
+
+            assertEquals(2L * ROLLOUTS, evaluator.getPlayouts());
+            assertTrue(evaluator.getPlayoutsPerSecond() > 0);
+            assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(root, candidates, 0, 3));
+        }
+    }
+}
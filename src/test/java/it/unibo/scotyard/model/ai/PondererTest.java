@@ -0,0 +1,84 @@
+package it.unibo.scotyard.model.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import it.unibo.scotyard.model.command.turn.EndTurnCommand;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.GameState;
+import it.unibo.scotyard.model.game.GameStateImpl;
+import it.unibo.scotyard.model.game.Players;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.players.Detective;
+import it.unibo.scotyard.model.players.MisterX;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class PondererTest {
+
+    @Test
+    void pondersDuringTheTurnOfTheHumanUntilItEnds() throws InterruptedException {
+        final GameStateImpl gameState = createGameState();
+        final PonderingUntilCancelled brain = new PonderingUntilCancelled();
+        final Ponderer ponderer = new Ponderer(gameState, brain);
+
+        // Mister X is played by the computer
+        gameState.resetTurn();
+        ponderer.onTurnStart();
+        assertFalse(ponderer.isPondering());
+
+        gameState.changeCurrentPlayer();
+        gameState.resetTurn();
+        ponderer.onTurnStart();
+        assertTrue(ponderer.isPondering());
+        assertTrue(brain.started.await(5, TimeUnit.SECONDS));
+
+        ponderer.onTurnEnd();
+        assertFalse(ponderer.isPondering());
+        assertEquals(GameSnapshot.from(gameState), brain.root);
+        assertTrue(brain.cancelled);
+    }
+
+    private static GameStateImpl createGameState() {
+        final Players players = new Players(
+                GameMode.DETECTIVE,
+                new MisterX(new NodeId(1), new SkipTurnBrain()),
+                new Detective(new NodeId(2)),
+                List.of());
+        return new GameStateImpl(new Random(0), GameMode.DETECTIVE, players, GameDifficulty.DIFFICULT);
+    }
+
+    /** A brain pondering until it is cancelled. */
+    private static final class PonderingUntilCancelled implements PonderingBrain {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile GameSnapshot root;
+        private volatile boolean cancelled;
+
+        @Override
+        public List<GameCommand> playTurn(final GameState gameState, final TurnBudget budget) {
+            return List.of(new EndTurnCommand());
+        }
+
+        @Override
+        public void ponder(
+                final GameSnapshot root,
+                final NodeSet runnerCandidates,
+                final GameDifficulty gameDifficulty,
+                final TurnBudget budget) {
+            this.root = root;
+            started.countDown();
+            while (!budget.isExhausted()) {
+                Thread.onSpinWait();
+            }
+            this.cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package it.unibo.scotyard.model.ai;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import it.unibo.scotyard.model.TestMaps;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import it.unibo.scotyard.model.game.GameStateImpl;
+import it.unibo.scotyard.model.game.Players;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.players.Bobby;
+import it.unibo.scotyard.model.players.Detective;
+import it.unibo.scotyard.model.players.MisterX;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SeekerPlannerTest {
+
+    private static final int NODES = 9;
+
+    private MapData mapData;
+    private SeekerPlanner planner;
+
+    @BeforeEach
+    void setup() {
+        mapData = TestMaps.line(NODES, List.of(), List.of(), List.of(new NodeId(1), new NodeId(2), new NodeId(8)));
+        planner = new SeekerPlanner(mapData);
+    }
+
+    @Test
+    void assignsAtMinimumCost() {
+        final int[][] costs = {
+            {4, 1, 3},
+            {2, 0, 5},
+            {3, 2, 2},
+        };
+
+        assertArrayEquals(new int[] {1, 0, 2}, SeekerPlanner.assign(costs));
+    }
+
+    @Test
+    void regionCentresAreSpreadOverTheCandidates() {
+        final NodeSet candidates = new NodeSet(NODES);
+        for (int i = 3; i <= 7; i++) {
+            candidates.add(i);
+        }
+
+        assertArrayEquals(new int[] {5, 3, 7}, planner.regionCentres(candidates, 3));
+        assertArrayEquals(new int[] {4, 4}, planner.regionCentres(nodes(4), 2));
+    }
+
+    @Test
+    void seekersCoverDifferentRegions() {
+        final Detective detective = new Detective(new NodeId(3));
+        final Bobby bobby = new Bobby(new NodeId(9));
+        final Players players =
+                new Players(GameMode.MISTER_X, new MisterX(new NodeId(1)), detective, List.of(bobby));
+        final GameStateImpl gameState =
+                new GameStateImpl(new Random(0), GameMode.MISTER_X, players, GameDifficulty.DIFFICULT, mapData);
+
+        // Mister X may be on 1, 2 or 8: the detective covers the left side and the bobby the right one
+        assertEquals(new NodeId(8), planner.getTarget(gameState, bobby));
+        assertEquals(new NodeId(2), planner.getTarget(gameState, detective));
+    }
+
+    private static NodeSet nodes(final int... ids) {
+        final NodeSet set = new NodeSet(NODES);
+        for (final int id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,140 @@
+package it.unibo.scotyard.model.ai;
+
+import static it.unibo.scotyard.model.TestMaps.runnerToMove;
+import static it.unibo.scotyard.model.TestMaps.seekerToMove;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.TestMaps;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.MapReader;
+import it.unibo.scotyard.model.map.MapReader.MapLoadException;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.map.TransportType;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SeekerSearchTest {
+
+    private static final int NODES = 9;
+    private static final SeekerSearch.Limits LIMITS = new SeekerSearch.Limits(8, 100_000);
+
+    private MapData mapData;
+
+    @BeforeEach
+    void setup() {
+        mapData = TestMaps.line(NODES);
+    }
+
+    @Test
+    void catchesAnAdjacentCandidate() {
+        final int move = new SeekerSearch(mapData)
+                .search(seekerToMove(9, 4), candidates(5), LIMITS, TurnBudget.unlimited(), it -> {});
+
+        assertEquals(5, MoveGenerator.destination(move));
+    }
+
+    @Test
+    void closesInOnTheCandidates() {
+        final int move = new SeekerSearch(mapData)
+                .search(seekerToMove(9, 4), candidates(8, 9), LIMITS, TurnBudget.unlimited(), it -> {});
+
+        assertEquals(5, MoveGenerator.destination(move));
+    }
+
+    @Test
+    void neverLooksAtTheRealPositionOfMisterX() {
+        final SeekerSearch search = new SeekerSearch(mapData);
+
+        final int farFromHim =
+                search.search(seekerToMove(9, 4), candidates(1, 2), LIMITS, TurnBudget.unlimited(), it -> {});
+        final int nextToHim =
+                search.search(seekerToMove(5, 4), candidates(1, 2), LIMITS, TurnBudget.unlimited(), it -> {});
+
+        assertEquals(3, MoveGenerator.destination(farFromHim));
+        assertEquals(farFromHim, nextToHim);
+    }
+
+    @Test
+    void answersWithTheLastReportedMove() {
+        final TurnBudget budget = new TurnBudget(Deadline.none(), new CancellationToken());
+        budget.getCancellation().cancel();
+        final List<Integer> reported = new ArrayList<>();
+
+        final int move = new SeekerSearch(mapData)
+                .search(seekerToMove(9, 4), candidates(8, 9), LIMITS, budget, reported::add);
+
+        assertFalse(reported.isEmpty());
+        assertEquals(reported.getLast(), move);
+    }
+
+    @Test
+    void searchesTheDefaultMapWithinItsLimits() throws MapLoadException {
+        final MapData defaultMap = new MapReader().loadDefaultMap();
+        final GameSnapshot root = seekerToMove(13, 91);
+        final NodeSet initialPositions = NodeSet.forMap(defaultMap).union(NodeSet.of(defaultMap.getInitialPositions()));
+        final SeekerSearch.Limits limits =
+                SeekerSearch.Limits.forDifficulty(GameDifficulty.DIFFICULT).orElseThrow();
+
+        final int move =
+                new SeekerSearch(defaultMap).search(root, initialPositions, limits, TurnBudget.unlimited(), it -> {});
+
+        assertEquals(91, MoveGenerator.origin(move));
+    }
+
+    @Test
+    void ponderingWarmsTheSearchOfTheNextTurn() {
+        final GameSnapshot runnerToMove = runnerToMove(9, 4);
+        // Mister X moves from 9 to 8 by taxi, so he may be on any taxi neighbour of the candidates
+        final GameSnapshot next = runnerToMove.apply(MoveGenerator.encode(9, 8, TransportType.TAXI)).endTurn();
+
+        final SeekerSearch cold = new SeekerSearch(mapData);
+        final int coldMove = cold.search(next, candidates(7, 8, 9), LIMITS, TurnBudget.unlimited(), it -> {});
+
+        final SeekerSearch warm = new SeekerSearch(mapData);
+        warm.ponder(runnerToMove, candidates(8, 9), LIMITS, TurnBudget.unlimited());
+        final int warmMove = warm.search(next, candidates(7, 8, 9), LIMITS, TurnBudget.unlimited(), it -> {});
+
+        assertEquals(coldMove, warmMove);
+        assertTrue(warm.getSearchedNodes() < cold.getSearchedNodes());
+    }
+
+    @Test
+    void deepensToTheLimitAfterAShallowerSearch() {
+        final GameSnapshot root = seekerToMove(9, 4);
+        final List<Integer> coldIterations = new ArrayList<>();
+        new SeekerSearch(mapData)
+                .search(root, candidates(7, 8, 9), LIMITS, TurnBudget.unlimited(), coldIterations::add);
+
+        final SeekerSearch warm = new SeekerSearch(mapData);
+        warm.search(root, candidates(7, 8, 9), new SeekerSearch.Limits(3, 100_000), TurnBudget.unlimited(), it -> {});
+        final List<Integer> warmIterations = new ArrayList<>();
+        warm.search(root, candidates(7, 8, 9), LIMITS, TurnBudget.unlimited(), warmIterations::add);
+
+        assertEquals(coldIterations.size(), warmIterations.size());
+    }
+
+    @Test
+    void mapsDifficultiesToLimits() {
+        assertTrue(SeekerSearch.Limits.forDifficulty(GameDifficulty.EASY).isEmpty());
+        assertTrue(SeekerSearch.Limits.forDifficulty(GameDifficulty.MEDIUM).orElseThrow().maxDepth()
+                < SeekerSearch.Limits.forDifficulty(GameDifficulty.DIFFICULT).orElseThrow().maxDepth());
+        assertThrows(IllegalArgumentException.class, () -> new SeekerSearch.Limits(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SeekerSearch.Limits(1, 0));
+    }
+
+    private NodeSet candidates(final int... nodes) {
+        final NodeSet candidates = NodeSet.forMap(mapData);
+        for (final int node : nodes) {
+            candidates.add(node);
+        }
+        return candidates;
+    }
+}
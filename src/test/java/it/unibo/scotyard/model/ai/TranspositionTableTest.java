@@ -0,0 +1,104 @@
+package it.unibo.scotyard.model.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import it.unibo.scotyard.model.ai.TranspositionTable.Bound;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TranspositionTableTest {
+
+    @Test
+    void entriesRoundTrip() {
+        final TranspositionTable table = new TranspositionTable(16);
+        table.store(42, 7, -3.5f, Bound.LOWER, 123_456);
+
+        final long entry = table.probe(42);
+        assertEquals(-3.5f, TranspositionTable.value(entry));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(Bound.LOWER, TranspositionTable.bound(entry));
+        assertEquals(123_456, TranspositionTable.move(entry));
+    }
+
+    @Test
+    void unknownKeysMiss() {
+        final TranspositionTable table = new TranspositionTable(16);
+        assertEquals(TranspositionTable.MISS, table.probe(42));
+
+        table.store(42, 1, 0, Bound.EXACT, TranspositionTable.NO_MOVE);
+        // Same bucket, different key
+        assertEquals(TranspositionTable.MISS, table.probe(42 + (1L << 40)));
+
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(42));
+    }
+
+    @Test
+    void deepResultsSurviveShallowOnes() {
+        final TranspositionTable table = new TranspositionTable(2);
+        final long deep = 1;
+        final long shallow = 2;
+        final long latest = 3;
+
+        table.store(deep, 10, 1, Bound.EXACT, 1);
+        table.store(shallow, 2, 2, Bound.EXACT, 2);
+        assertEquals(10, TranspositionTable.depth(table.probe(deep)));
+        assertEquals(2, TranspositionTable.depth(table.probe(shallow)));
+
+        // The second slot always takes the latest shallow result
+        table.store(latest, 3, 3, Bound.EXACT, 3);
+        assertEquals(TranspositionTable.MISS, table.probe(shallow));
+        assertEquals(10, TranspositionTable.depth(table.probe(deep)));
+
+        // A result of the same position replaces the deep one even if shallower
+        table.store(deep, 4, 4, Bound.UPPER, 4);
+        assertEquals(4, TranspositionTable.depth(table.probe(deep)));
+        assertEquals(Bound.UPPER, TranspositionTable.bound(table.probe(deep)));
+    }
+
+    @Test
+    void depthIsCapped() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.store(5, 1000, 0, Bound.EXACT, 0);
+        assertEquals(TranspositionTable.MAX_DEPTH, TranspositionTable.depth(table.probe(5)));
+    }
+
+    @Test
+    void capacityIsAPowerOfTwo() {
+        assertEquals(2, new TranspositionTable(1).capacity());
+        assertEquals(4, new TranspositionTable(3).capacity());
+        assertEquals(1024, new TranspositionTable(1000).capacity());
+        assertEquals(1024, new TranspositionTable(1024).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable((1 << 28) + 1));
+    }
+
+    @Test
+    void concurrentWritersNeverCorruptEntries() throws InterruptedException {
+        final TranspositionTable table = new TranspositionTable(64);
+        final AtomicInteger corrupted = new AtomicInteger();
+        final List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            final SplittableRandom random = new SplittableRandom(w);
+            writers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    final long key = random.nextLong();
+                    // The move is derived from the key, so that a hit with the wrong data is detectable
+                    table.store(key, random.nextInt(20), key, Bound.EXACT, (int) (key >>> 42));
+                    final long entry = table.probe(key);
+                    if (entry != TranspositionTable.MISS && TranspositionTable.move(entry) != (int) (key >>> 42)) {
+                        corrupted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (final Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(0, corrupted.get());
+    }
+}
@@ -0,0 +1,79 @@
+package it.unibo.scotyard.model.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.command.GameCommand;
+import it.unibo.scotyard.model.command.turn.EndTurnCommand;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class TurnBudgetTest {
+
+    @Test
+    void expiresAtTheDeadline() {
+        assertTrue(Deadline.after(Duration.ZERO).isExpired());
+        assertEquals(0, Deadline.after(Duration.ZERO).remainingNanos());
+        assertFalse(Deadline.after(Duration.ofMinutes(1)).isExpired());
+        assertFalse(Deadline.none().isExpired());
+        assertEquals(Long.MAX_VALUE, Deadline.none().remainingNanos());
+    }
+
+    @Test
+    void earliestDeadlineWins() {
+        final Deadline soon = Deadline.after(Duration.ofSeconds(1));
+        final Deadline later = Deadline.after(Duration.ofMinutes(1));
+
+        assertSame(soon, soon.earliest(later));
+        assertSame(soon, later.earliest(soon));
+        assertSame(soon, Deadline.none().earliest(soon));
+        assertSame(soon, soon.earliest(Deadline.none()));
+    }
+
+    @Test
+    void isExhaustedWhenCancelledOrExpired() {
+        final TurnBudget budget = new TurnBudget(Deadline.none(), new CancellationToken());
+        assertFalse(budget.isExhausted());
+
+        budget.getCancellation().cancel();
+        assertTrue(budget.isExhausted());
+        assertTrue(new TurnBudget(Deadline.after(Duration.ZERO), new CancellationToken()).isExhausted());
+    }
+
+    @Test
+    void deadlineRunsOnlyOnceStarted() {
+        final TurnBudget budget = TurnBudget.startingWhenPlayed(Optional.of(Duration.ZERO), new CancellationToken());
+        assertFalse(budget.isExhausted());
+
+        budget.start();
+        assertTrue(budget.isExhausted());
+        assertTrue(TurnBudget.startingWhenPlayed(Optional.empty(), new CancellationToken())
+                .getDeadline()
+                .isUnlimited());
+    }
+
+    @Test
+    void keepsTheLastReportedTurn() {
+        final TurnBudget budget = TurnBudget.unlimited();
+        assertEquals(Optional.empty(), budget.getBestSoFar());
+
+        final List<GameCommand> commands = List.of(new EndTurnCommand());
+        budget.report(commands);
+
+        assertEquals(commands, budget.getBestSoFar().orElseThrow());
+    }
+
+    @Test
+    void thinkingTimesGrowWithTheDifficulty() {
+        final ThinkingTimes times = ThinkingTimes.fromSystemProperties();
+        final Duration easy = times.get(GameDifficulty.EASY).orElseThrow();
+        assertTrue(easy.compareTo(times.get(GameDifficulty.DIFFICULT).orElseThrow()) <= 0);
+        assertEquals(Optional.empty(), ThinkingTimes.unlimited().get(GameDifficulty.DIFFICULT));
+        assertFalse(ThinkingTimes.unlimited().deadlineFor(GameDifficulty.EASY).isExpired());
+    }
+}
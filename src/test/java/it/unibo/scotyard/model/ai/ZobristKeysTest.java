@@ -0,0 +1,126 @@
+package it.unibo.scotyard.model.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import it.unibo.scotyard.model.game.GameSnapshot;
+import it.unibo.scotyard.model.game.GameStateImpl;
+import it.unibo.scotyard.model.game.MoveBuffer;
+import it.unibo.scotyard.model.game.MoveGenerator;
+import it.unibo.scotyard.model.game.Players;
+import it.unibo.scotyard.model.map.MapConnection;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.MapNode;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.players.Bobby;
+import it.unibo.scotyard.model.players.Detective;
+import it.unibo.scotyard.model.players.MisterX;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ZobristKeysTest {
+
+    private static final int NODES = 9;
+
+    private MapData mapData;
+    private ZobristKeys keys;
+    private GameSnapshot root;
+
+    @BeforeEach
+    void setup() {
+        // A ring of taxi and bus connections: 1 - 2 - ... - 9 - 1
+        final List<MapNode> nodes = new ArrayList<>();
+        final List<MapConnection> connections = new ArrayList<>();
+        for (int i = 1; i <= NODES; i++) {
+            nodes.add(new MapNode(new NodeId(i), 0, 0));
+            final NodeId next = new NodeId(i % NODES + 1);
+            for (final TransportType transport : List.of(TransportType.TAXI, TransportType.BUS)) {
+                connections.add(new MapConnection(new NodeId(i), next, transport));
+                connections.add(new MapConnection(next, new NodeId(i), transport));
+            }
+        }
+        mapData = new MapData("Ring", nodes, connections, List.of(), List.of());
+        keys = new ZobristKeys(mapData.getMaxNodeId(), 42);
+
+        final Players players = new Players(
+                GameMode.DETECTIVE,
+                new MisterX(new NodeId(1)),
+                new Detective(new NodeId(4)),
+                List.of(new Bobby(new NodeId(7))));
+        final GameStateImpl gameState =
+                new GameStateImpl(new Random(0), GameMode.DETECTIVE, players, GameDifficulty.DIFFICULT);
+        gameState.resetTurn();
+        root = GameSnapshot.from(gameState);
+    }
+
+    @Test
+    void incrementalKeysMatchTheFullHash() {
+        final MoveGenerator generator = new MoveGenerator(mapData);
+        final MoveBuffer buffer = new MoveBuffer();
+        final SplittableRandom random = new SplittableRandom(7);
+        GameSnapshot snapshot = root;
+        long key = keys.hash(snapshot);
+
+        for (int ply = 0; ply < 200; ply++) {
+            if (ply % 10 == 0 && snapshot.getCurrentPlayer() == GameSnapshot.RUNNER && snapshot.getDoubleMoves() > 0) {
+                key = keys.afterDoubleMove(key, snapshot);
+                snapshot = snapshot.useDoubleMove();
+                assertEquals(keys.hash(snapshot), key);
+            }
+            if (generator.generate(snapshot, buffer) == 0) {
+                key = keys.afterEndTurn(key, snapshot);
+                snapshot = snapshot.endTurn();
+            } else {
+                final int move = buffer.get(random.nextInt(buffer.size()));
+                key = keys.afterMove(key, snapshot, move);
+                snapshot = snapshot.apply(move);
+                assertEquals(keys.hash(snapshot), key);
+
+                // Undoing goes back to the same key
+                assertEquals(keys.hash(snapshot.undo(move)), keys.beforeMove(key, snapshot, move));
+                if (snapshot.getRemainingMoves() == 0) {
+                    key = keys.afterEndTurn(key, snapshot);
+                    snapshot = snapshot.endTurn();
+                }
+            }
+            assertEquals(keys.hash(snapshot), key);
+        }
+    }
+
+    @Test
+    void seekersMovingInAnotherOrderReachTheSameKey() {
+        final GameSnapshot seekersTurn = root.apply(MoveGenerator.encode(1, 2, TransportType.TAXI)).endTurn();
+        final long start = keys.hash(seekersTurn);
+
+        final int detectiveMove = MoveGenerator.encode(4, 5, TransportType.TAXI);
+        final int bobbyMove = MoveGenerator.encode(7, 6, TransportType.TAXI);
+        final GameSnapshot afterDetective = seekersTurn.apply(detectiveMove).endTurn();
+        final long viaDetective = keys.afterEndTurn(
+                keys.afterMove(
+                        keys.afterEndTurn(keys.afterMove(start, seekersTurn, detectiveMove), seekersTurn.apply(
+                                detectiveMove)),
+                        afterDetective,
+                        bobbyMove),
+                afterDetective.apply(bobbyMove));
+
+        assertEquals(keys.hash(afterDetective.apply(bobbyMove).endTurn()), viaDetective);
+    }
+
+    @Test
+    void differentPositionsHaveDifferentKeys() {
+        final long key = keys.hash(root);
+
+        assertNotEquals(key, keys.hash(root.apply(MoveGenerator.encode(1, 2, TransportType.TAXI))));
+        assertNotEquals(key, keys.hash(root.apply(MoveGenerator.encode(1, 2, TransportType.BUS))));
+        assertNotEquals(key, keys.hash(root.endTurn()));
+        assertNotEquals(
+                keys.position(0, new NodeId(1)), keys.position(1, new NodeId(1)));
+    }
+}
@@ -0,0 +1,123 @@
+package it.unibo.scotyard.model.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.players.Bobby;
+import it.unibo.scotyard.model.players.Detective;
+import it.unibo.scotyard.model.players.MisterX;
+import it.unibo.scotyard.model.players.TicketType;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GameSnapshotTest {
+
+    private GameStateImpl gameState;
+    private GameSnapshot snapshot;
+
+    @BeforeEach
+    void setup() {
+        final Players players = new Players(
+                GameMode.DETECTIVE,
+                new MisterX(new NodeId(1)),
+                new Detective(new NodeId(2)),
+                List.of(new Bobby(new NodeId(3)), new Bobby(new NodeId(198)), new Bobby(new NodeId(199))));
+        gameState = new GameStateImpl(new Random(0), GameMode.DETECTIVE, players, GameDifficulty.EASY);
+        snapshot = GameSnapshot.from(gameState);
+    }
+
+    @Test
+    void capturesTheGameState() {
+        assertEquals(5, snapshot.getPlayerCount());
+        assertEquals(GameSnapshot.RUNNER, snapshot.getCurrentPlayer());
+        assertEquals(1, snapshot.getRemainingMoves());
+        assertEquals(1, snapshot.getRound());
+        assertEquals(199, snapshot.getPosition(4));
+        assertEquals(MagicNumbers.INFINITE, snapshot.getTickets(GameSnapshot.RUNNER, TransportType.TAXI));
+        assertEquals(MagicNumbers.NUMBER_TICKETS_BLACK, snapshot.getTickets(GameSnapshot.RUNNER, TransportType.FERRY));
+        assertEquals(MagicNumbers.NUMBER_TICKETS_TAXI, snapshot.getTickets(1, TransportType.TAXI));
+        assertEquals(MagicNumbers.NUMBER_TICKETS_DOUBLE_MOVE, snapshot.getDoubleMoves());
+        assertTrue(snapshot.isSeekerAt(198));
+        assertFalse(snapshot.isRunnerCaught());
+    }
+
+    @Test
+    void applyAndUndoAreSymmetric() {
+        final int move = MoveGenerator.encode(1, 8, TransportType.FERRY);
+
+        final GameSnapshot moved = snapshot.apply(move);
+
+        assertEquals(8, moved.getPosition(GameSnapshot.RUNNER));
+        assertEquals(
+                MagicNumbers.NUMBER_TICKETS_BLACK - 1, moved.getTickets(GameSnapshot.RUNNER, TransportType.FERRY));
+        assertEquals(0, moved.getRemainingMoves());
+        assertThrows(IllegalStateException.class, () -> moved.apply(move));
+        assertEquals(snapshot, moved.undo(move));
+    }
+
+    @Test
+    void infiniteTicketsAreNeverUsed() {
+        final GameSnapshot moved = snapshot.apply(MoveGenerator.encode(1, 8, TransportType.TAXI));
+
+        assertEquals(MagicNumbers.INFINITE, moved.getTickets(GameSnapshot.RUNNER, TransportType.TAXI));
+    }
+
+    @Test
+    void fifthPlayerTicketsAreTracked() {
+        GameSnapshot current = snapshot;
+        for (int i = 0; i < 4; i++) {
+            current = current.endTurn();
+        }
+        assertEquals(4, current.getCurrentPlayer());
+
+        final GameSnapshot moved = current.apply(MoveGenerator.encode(199, 197, TransportType.BUS));
+
+        assertEquals(197, moved.getPosition(4));
+        assertEquals(current.getTickets(4, TransportType.BUS), moved.getTickets(4, TransportType.BUS));
+        assertEquals(snapshot.getTickets(1, TransportType.BUS), moved.getTickets(1, TransportType.BUS));
+    }
+
+    @Test
+    void endTurnAdvancesPlayersAndRounds() {
+        GameSnapshot current = snapshot;
+        for (int i = 0; i < snapshot.getPlayerCount(); i++) {
+            current = current.endTurn();
+        }
+
+        assertEquals(GameSnapshot.RUNNER, current.getCurrentPlayer());
+        assertEquals(2, current.getRound());
+    }
+
+    @Test
+    void doubleMoveGivesAnExtraMove() {
+        final GameSnapshot doubled = snapshot.useDoubleMove();
+
+        assertEquals(2, doubled.getRemainingMoves());
+        assertEquals(MagicNumbers.NUMBER_TICKETS_DOUBLE_MOVE - 1, doubled.getDoubleMoves());
+        assertThrows(IllegalStateException.class, doubled::useDoubleMove);
+        assertThrows(IllegalStateException.class, () -> snapshot.endTurn().useDoubleMove());
+    }
+
+    @Test
+    void restoresIntoTheGameState() {
+        final GameSnapshot changed = snapshot.useDoubleMove()
+                .apply(MoveGenerator.encode(1, 8, TransportType.FERRY))
+                .endTurn();
+
+        gameState.restore(changed);
+
+        assertEquals(new NodeId(8), gameState.getPlayers().getMisterX().getPosition());
+        assertEquals(
+                MagicNumbers.NUMBER_TICKETS_BLACK - 1,
+                gameState.getPlayers().getMisterX().getNumberTickets(TicketType.BLACK));
+        assertEquals(gameState.getDetective(), gameState.getCurrentPlayer());
+        assertEquals(changed, GameSnapshot.from(gameState));
+    }
+}
@@ -0,0 +1,111 @@
+package it.unibo.scotyard.model.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.entities.MoveAction;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.MapReader;
+import it.unibo.scotyard.model.map.MapReader.MapLoadException;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.players.Detective;
+import it.unibo.scotyard.model.players.MisterX;
+import it.unibo.scotyard.model.players.TicketType;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MoveGeneratorTest {
+
+    private MoveGenerator generator;
+    private MoveBuffer buffer;
+
+    @BeforeEach
+    void setup() throws MapLoadException {
+        final MapData mapData = new MapReader().loadMap("/it/unibo/scotyard/map/mapTest.json");
+        generator = new MoveGenerator(mapData);
+        buffer = new MoveBuffer();
+    }
+
+    @Test
+    void encodingRoundTrips() {
+        final int move = MoveGenerator.encode(7, 199, TransportType.UNDERGROUND);
+
+        assertEquals(7, MoveGenerator.origin(move));
+        assertEquals(199, MoveGenerator.destination(move));
+        assertEquals(TransportType.UNDERGROUND, MoveGenerator.transport(move));
+    }
+
+    @Test
+    void misterXCanUseFerry() {
+        final MisterX mrX = new MisterX(new NodeId(3));
+
+        assertEquals(3, generator.generate(mrX, new NodeSet(0), buffer));
+        assertTrue(buffer.toMoveActions().contains(new MoveAction(new NodeId(4), TransportType.FERRY)));
+    }
+
+    @Test
+    void seekersCannotUseFerry() {
+        final Detective detective = new Detective(new NodeId(3));
+
+        generator.generate(detective, new NodeSet(0), buffer);
+
+        assertEquals(
+                List.of(
+                        new MoveAction(new NodeId(2), TransportType.TAXI),
+                        new MoveAction(new NodeId(1), TransportType.BUS)),
+                buffer.toMoveActions());
+    }
+
+    @Test
+    void blockedNodesAreSkipped() {
+        final NodeSet blocked = new NodeSet(0);
+        blocked.add(1);
+        blocked.add(4);
+
+        generator.generate(new MisterX(new NodeId(3)), blocked, buffer);
+
+        assertEquals(List.of(new MoveAction(new NodeId(2), TransportType.TAXI)), buffer.toMoveActions());
+    }
+
+    @Test
+    void transportsWithoutTicketsAreSkipped() {
+        final Detective detective = new Detective(new NodeId(3));
+        for (int i = 0; i < MagicNumbers.NUMBER_TICKETS_TAXI; i++) {
+            detective.useTicket(TicketType.TAXI);
+        }
+
+        generator.generate(detective, new NodeSet(0), buffer);
+
+        assertEquals(List.of(new MoveAction(new NodeId(1), TransportType.BUS)), buffer.toMoveActions());
+    }
+
+    @Test
+    void snapshotMovesSkipSeekers() {
+        final Players players =
+                new Players(GameMode.DETECTIVE, new MisterX(new NodeId(3)), new Detective(new NodeId(1)), List.of());
+        final GameSnapshot snapshot =
+                GameSnapshot.from(new GameStateImpl(new Random(0), GameMode.DETECTIVE, players, GameDifficulty.EASY));
+
+        generator.generate(snapshot, buffer);
+
+        assertEquals(
+                List.of(
+                        new MoveAction(new NodeId(2), TransportType.TAXI),
+                        new MoveAction(new NodeId(4), TransportType.FERRY)),
+                buffer.toMoveActions());
+        assertEquals(3, MoveGenerator.origin(buffer.get(0)));
+    }
+
+    @Test
+    void bufferIsReplacedOnEveryGeneration() {
+        generator.generate(new MisterX(new NodeId(3)), new NodeSet(0), buffer);
+        generator.generate(3, new NodeSet(0), 0, buffer);
+
+        assertTrue(buffer.isEmpty());
+    }
+}
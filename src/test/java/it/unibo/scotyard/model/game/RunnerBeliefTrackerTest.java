@@ -0,0 +1,115 @@
+package it.unibo.scotyard.model.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.TestMaps;
+import it.unibo.scotyard.model.map.MapConnection;
+import it.unibo.scotyard.model.map.MapData;
+import it.unibo.scotyard.model.map.NodeId;
+import it.unibo.scotyard.model.map.NodeSet;
+import it.unibo.scotyard.model.map.TransportType;
+import it.unibo.scotyard.model.players.Detective;
+import it.unibo.scotyard.model.players.MisterX;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RunnerBeliefTrackerTest {
+
+    private static final int NODES = 9;
+
+    private MapData mapData;
+    private RunnerBeliefTracker tracker;
+
+    @BeforeEach
+    void setup() {
+        // A line of taxi connections: 1 - 2 - ... - 9, with a ferry between 1 and 9
+        final List<MapConnection> ferry = List.of(
+                new MapConnection(new NodeId(1), new NodeId(NODES), TransportType.FERRY),
+                new MapConnection(new NodeId(NODES), new NodeId(1), TransportType.FERRY));
+        mapData = TestMaps.line(NODES, ferry, List.of(3), List.of(new NodeId(2), new NodeId(5)));
+        tracker = new RunnerBeliefTracker(mapData);
+    }
+
+    @Test
+    void startsFromTheInitialPositions() {
+        assertEquals(Set.of(new NodeId(2), new NodeId(5)), tracker.getCandidates().toNodeIds());
+
+        tracker.exclude(nodes(2));
+
+        assertEquals(Set.of(new NodeId(5)), tracker.getCandidates().toNodeIds());
+    }
+
+    @Test
+    void expandsAlongTheUsedTransportAvoidingSeekers() {
+        tracker.reveal(new NodeId(5));
+
+        tracker.addTurn(List.of(TransportType.TAXI), nodes(4));
+
+        assertEquals(Set.of(new NodeId(6)), tracker.getCandidates().toNodeIds());
+    }
+
+    @Test
+    void expandsTwiceWithDoubleMoves() {
+        tracker.reveal(new NodeId(5));
+
+        tracker.addTurn(List.of(TransportType.TAXI, TransportType.TAXI), nodes());
+
+        assertEquals(Set.of(new NodeId(3), new NodeId(5), new NodeId(7)), tracker.getCandidates().toNodeIds());
+    }
+
+    @Test
+    void ferryOnlyFollowsFerryConnections() {
+        tracker.reveal(new NodeId(1));
+
+        tracker.addTurn(List.of(TransportType.FERRY), nodes());
+
+        assertEquals(Set.of(new NodeId(NODES)), tracker.getCandidates().toNodeIds());
+        tracker.addTurn(List.of(TransportType.BUS), nodes());
+        assertTrue(tracker.getCandidates().isEmpty());
+    }
+
+    @Test
+    void syncOnlyAppliesNewTurns() {
+        tracker.reveal(new NodeId(5));
+        final List<List<TransportType>> turns = new ArrayList<>();
+        turns.add(List.of(TransportType.TAXI));
+
+        tracker.sync(turns, nodes());
+        tracker.sync(turns, nodes());
+
+        assertEquals(2, tracker.size());
+    }
+
+    @Test
+    void followsTheGameState() {
+        final Players players =
+                new Players(GameMode.DETECTIVE, new MisterX(new NodeId(5)), new Detective(new NodeId(3)), List.of());
+        final GameStateImpl gameState =
+                new GameStateImpl(new Random(0), GameMode.DETECTIVE, players, GameDifficulty.DIFFICULT, mapData);
+        final RunnerBeliefTracker stateTracker = gameState.getRunnerBeliefTracker().orElseThrow();
+        assertEquals(Set.of(new NodeId(2), new NodeId(5)), stateTracker.getCandidates().toNodeIds());
+
+        gameState.getRunnerTurnTracker().addTurn(List.of(TransportType.TAXI));
+        assertEquals(Set.of(new NodeId(1), new NodeId(4), new NodeId(6)), stateTracker.getCandidates().toNodeIds());
+
+        gameState.changeCurrentPlayer();
+        gameState.moveCurrentPlayer(new NodeId(4), TransportType.TAXI);
+        assertEquals(Set.of(new NodeId(1), new NodeId(6)), stateTracker.getCandidates().toNodeIds());
+
+        gameState.exposeRunnerPosition();
+        assertEquals(Set.of(new NodeId(5)), stateTracker.getCandidates().toNodeIds());
+    }
+
+    private static NodeSet nodes(final int... ids) {
+        final NodeSet set = new NodeSet(NODES);
+        for (final int id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,73 @@
+package it.unibo.scotyard.model.map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionIndexTest {
+
+    private ConnectionIndex index;
+
+    @BeforeEach
+    void setup() {
+        final List<MapNode> nodes = List.of(
+                new MapNode(new NodeId(1), 0, 0), new MapNode(new NodeId(2), 0, 0), new MapNode(new NodeId(3), 0, 0));
+
+        final List<MapConnection> connections = List.of(
+                new MapConnection(new NodeId(1), new NodeId(2), TransportType.BUS),
+                new MapConnection(new NodeId(1), new NodeId(3), TransportType.TAXI),
+                new MapConnection(new NodeId(2), new NodeId(1), TransportType.BUS),
+                new MapConnection(new NodeId(1), new NodeId(2), TransportType.TAXI),
+                new MapConnection(new NodeId(3), new NodeId(1), TransportType.FERRY));
+
+        index = new ConnectionIndex(nodes, connections);
+    }
+
+    @Test
+    void slicesContainAllConnectionsOfNode() {
+        assertEquals(3, index.getMaxNodeId());
+        assertEquals(3, index.degree(1));
+        assertEquals(1, index.degree(2));
+        assertEquals(1, index.degree(3));
+    }
+
+    @Test
+    void transportSlicesAreContiguousAndOrdered() {
+        final int taxiStart = index.start(1, TransportType.TAXI);
+        final int taxiEnd = index.end(1, TransportType.TAXI);
+
+        assertEquals(2, taxiEnd - taxiStart);
+        assertEquals(3, index.target(taxiStart));
+        assertEquals(2, index.target(taxiStart + 1));
+        assertEquals(taxiEnd, index.start(1, TransportType.BUS));
+        assertEquals(1, index.end(1, TransportType.BUS) - index.start(1, TransportType.BUS));
+        assertEquals(TransportType.BUS, index.transport(index.start(1, TransportType.BUS)));
+    }
+
+    @Test
+    void outOfRangeNodesHaveNoConnections() {
+        assertEquals(0, index.degree(99));
+        assertEquals(0, index.degree(-1));
+        assertEquals(0, index.degree(0));
+    }
+
+    @Test
+    void hasConnectionChecksTransport() {
+        assertTrue(index.hasConnection(3, 1, TransportType.FERRY));
+        assertFalse(index.hasConnection(3, 1, TransportType.TAXI));
+        assertFalse(index.hasConnection(2, 3, TransportType.BUS));
+    }
+
+    @Test
+    void visitorSeesEveryConnection() {
+        final List<Integer> targets = new ArrayList<>();
+        index.forEachConnection(1, (target, transport) -> targets.add(target));
+
+        assertEquals(List.of(3, 2, 2), targets);
+    }
+}
@@ -0,0 +1,71 @@
+package it.unibo.scotyard.model.map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DistanceTableTest {
+
+    private MapData mapData;
+
+    @BeforeEach
+    void setup() {
+        final List<MapNode> nodes = List.of(
+                new MapNode(new NodeId(1), 0, 0),
+                new MapNode(new NodeId(2), 0, 0),
+                new MapNode(new NodeId(3), 0, 0),
+                new MapNode(new NodeId(4), 0, 0),
+                new MapNode(new NodeId(5), 0, 0));
+
+        final List<MapConnection> connections = List.of(
+                new MapConnection(new NodeId(1), new NodeId(2), TransportType.TAXI),
+                new MapConnection(new NodeId(2), new NodeId(1), TransportType.TAXI),
+                new MapConnection(new NodeId(2), new NodeId(3), TransportType.BUS),
+                new MapConnection(new NodeId(3), new NodeId(2), TransportType.BUS),
+                new MapConnection(new NodeId(3), new NodeId(4), TransportType.UNDERGROUND),
+                new MapConnection(new NodeId(4), new NodeId(3), TransportType.UNDERGROUND),
+                new MapConnection(new NodeId(1), new NodeId(4), TransportType.FERRY),
+                new MapConnection(new NodeId(4), new NodeId(1), TransportType.FERRY));
+
+        mapData = new MapData("Test", nodes, connections, List.of(), List.of());
+    }
+
+    @Test
+    void seekersCannotUseFerry() {
+        final DistanceTable seekers = mapData.getSeekerDistances();
+
+        assertEquals(0, seekers.distance(1, 1));
+        assertEquals(1, seekers.distance(1, 2));
+        assertEquals(2, seekers.distance(1, 3));
+        assertEquals(3, seekers.distance(1, 4));
+        assertEquals(3, seekers.distance(new NodeId(4), new NodeId(1)));
+    }
+
+    @Test
+    void runnerCanUseFerry() {
+        final DistanceTable runner = mapData.getRunnerDistances();
+
+        assertEquals(1, runner.distance(1, 4));
+        assertEquals(2, runner.distance(2, 4));
+        assertEquals(2, runner.distance(4, 2));
+    }
+
+    @Test
+    void disconnectedAndUnknownNodesAreUnreachable() {
+        final DistanceTable seekers = mapData.getSeekerDistances();
+
+        assertEquals(DistanceTable.UNREACHABLE, seekers.distance(1, 5));
+        assertEquals(DistanceTable.UNREACHABLE, seekers.distance(5, 1));
+        assertEquals(DistanceTable.UNREACHABLE, seekers.distance(1, 99));
+        assertEquals(DistanceTable.UNREACHABLE, seekers.distance(-1, 1));
+    }
+
+    @Test
+    void tablesAreComputedOnce() {
+        assertSame(mapData.getSeekerDistances(), mapData.getSeekerDistances());
+        assertSame(mapData.getRunnerDistances(), mapData.getRunnerDistances());
+    }
+}
@@ -0,0 +1,85 @@
+package it.unibo.scotyard.model.map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class NodeSetTest {
+
+    @Test
+    void addRemoveAndContains() {
+        final NodeSet set = new NodeSet(199);
+
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(1));
+        assertTrue(set.add(new NodeId(199)));
+        assertFalse(set.add(1));
+        assertTrue(set.contains(new NodeId(1)));
+        assertTrue(set.contains(199));
+        assertFalse(set.contains(2));
+        assertFalse(set.contains(-1));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(1));
+        assertFalse(set.remove(1));
+        assertFalse(set.remove(500));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        final NodeSet set = new NodeSet(10);
+
+        set.add(300);
+
+        assertTrue(set.contains(300));
+        assertEquals(300, set.nextSetBit(0));
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+    }
+
+    @Test
+    void setOperations() {
+        final NodeSet first = NodeSet.of(List.of(new NodeId(1), new NodeId(64), new NodeId(130)));
+        final NodeSet second = NodeSet.of(List.of(new NodeId(64), new NodeId(65)));
+
+        assertEquals(
+                NodeSet.of(List.of(new NodeId(1), new NodeId(64), new NodeId(65), new NodeId(130))),
+                first.copy().union(second));
+        assertEquals(NodeSet.of(List.of(new NodeId(64))), first.copy().intersect(second));
+        assertEquals(NodeSet.of(List.of(new NodeId(1), new NodeId(130))), first.copy().andNot(second));
+        assertEquals(3, first.size());
+    }
+
+    @Test
+    void iteratesInAscendingOrder() {
+        final NodeSet set = NodeSet.of(List.of(new NodeId(130), new NodeId(3), new NodeId(64)));
+        final List<Integer> visited = new ArrayList<>();
+
+        set.forEach(visited::add);
+
+        assertEquals(List.of(3, 64, 130), visited);
+        assertEquals(64, set.nextSetBit(4));
+        assertEquals(-1, set.nextSetBit(131));
+        assertEquals(Set.of(new NodeId(3), new NodeId(64), new NodeId(130)), set.toNodeIds());
+    }
+
+    @Test
+    void equalityIgnoresCapacity() {
+        final NodeSet small = new NodeSet(1);
+        final NodeSet large = new NodeSet(500);
+        small.add(5);
+        large.add(5);
+
+        assertEquals(small, large);
+        assertEquals(small.hashCode(), large.hashCode());
+
+        large.clear();
+        assertTrue(large.isEmpty());
+    }
+}
@@ -0,0 +1,141 @@
+package it.unibo.scotyard.model.router;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.command.turn.EndTurnCommand;
+import it.unibo.scotyard.model.command.turn.StartTurnCommand;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CommandMetricsTest {
+
+    @Test
+    void bucketsCoverEveryValue() {
+        long previous = -1;
+        for (int bucket = 0; bucket <= CommandMetrics.Histogram.bucket(Long.MAX_VALUE); bucket++) {
+            final long highest = CommandMetrics.Histogram.highestValue(bucket);
+            assertEquals(bucket, CommandMetrics.Histogram.bucket(previous + 1));
+            assertEquals(bucket, CommandMetrics.Histogram.bucket(highest));
+            previous = highest;
+        }
+        assertEquals(Long.MAX_VALUE, previous);
+    }
+
+    @Test
+    void percentilesAreWithinTheBucketPrecision() {
+        final CommandMetrics.Histogram histogram = new CommandMetrics.Histogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+        final CommandMetrics.CommandStats stats = histogram.stats(EndTurnCommand.class);
+
+        assertEquals(1000, stats.count());
+        assertEquals(500_500_000L, stats.totalNanos());
+        assertEquals(1_000_000L, stats.maxNanos());
+        assertWithin(500_000, stats.p50Nanos());
+        assertWithin(900_000, stats.p90Nanos());
+        assertWithin(990_000, stats.p99Nanos());
+    }
+
+    @Test
+    void recordsEveryHandledCommand() {
+        final CommandRouter router = new CommandRouter();
+        final CommandMetrics metrics = new CommandMetrics();
+        router.addInterceptor(metrics);
+        router.register(EndTurnCommand.class, command -> {});
+
+        router.dispatch(new EndTurnCommand());
+        router.dispatch(new EndTurnCommand());
+        router.dispatch(new StartTurnCommand());
+
+        assertEquals(2, metrics.get(EndTurnCommand.class).orElseThrow().count());
+        assertFalse(metrics.get(StartTurnCommand.class).isPresent());
+        assertTrue(metrics.report().contains("EndTurnCommand"));
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    void reportsTheThinkingTimeApart() {
+        final CommandMetrics metrics = new CommandMetrics();
+        assertFalse(metrics.getThinking().isPresent());
+
+        metrics.recordThinking(1_000_000);
+        metrics.recordThinking(3_000_000);
+
+        assertEquals(2, metrics.getThinking().orElseThrow().count());
+        assertEquals(4_000_000, metrics.getThinking().orElseThrow().totalNanos());
+        assertTrue(metrics.snapshot().isEmpty());
+        assertTrue(metrics.report().contains("AI thinking"));
+
+        metrics.reset();
+        assertFalse(metrics.getThinking().isPresent());
+    }
+
+    @Test
+    void recordsFailingHandlers() {
+        final CommandRouter router = new CommandRouter();
+        final CommandMetrics metrics = new CommandMetrics();
+        router.addInterceptor(metrics);
+        router.register(EndTurnCommand.class, command -> {
+            throw new IllegalStateException("failure");
+        });
+
+        assertThrows(IllegalStateException.class, () -> router.dispatch(new EndTurnCommand()));
+        assertEquals(1, metrics.get(EndTurnCommand.class).orElseThrow().count());
+    }
+
+    @Test
+    void nestedCommandsAreNotChargedToTheirCaller() {
+        final CommandRouter router = new CommandRouter(CommandRouter.Mode.DIRECT);
+        final CommandMetrics metrics = new CommandMetrics();
+        router.addInterceptor(metrics);
+        router.register(StartTurnCommand.class, command -> router.dispatch(new EndTurnCommand()));
+        router.register(EndTurnCommand.class, command -> {
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        router.dispatch(new StartTurnCommand());
+
+        final long startTurn = metrics.get(StartTurnCommand.class).orElseThrow().totalNanos();
+        final long endTurn = metrics.get(EndTurnCommand.class).orElseThrow().totalNanos();
+        assertTrue(endTurn >= 20_000_000L);
+        assertTrue(startTurn < endTurn, "StartTurnCommand took " + startTurn + " ns");
+    }
+
+    @Test
+    void interceptorsRunInOrderAroundTheHandler() {
+        final CommandRouter router = new CommandRouter();
+        final List<String> calls = new ArrayList<>();
+        router.addInterceptor((command, handler) -> {
+            calls.add("outer before");
+            handler.run();
+            calls.add("outer after");
+        });
+        router.addInterceptor((command, handler) -> {
+            calls.add("inner before");
+            handler.run();
+            calls.add("inner after");
+        });
+        router.register(EndTurnCommand.class, command -> calls.add("handler"));
+
+        router.dispatch(new EndTurnCommand());
+
+        assertEquals(List.of("outer before", "inner before", "handler", "inner after", "outer after"), calls);
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue(
+                Math.abs(actual - expected) <= expected / 8,
+                "expected about " + expected + " but was " + actual);
+    }
+}
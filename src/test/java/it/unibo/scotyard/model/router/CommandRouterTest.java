@@ -1,9 +1,14 @@
 package it.unibo.scotyard.model.router;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 import it.unibo.scotyard.model.command.turn.EndTurnCommand;
 import it.unibo.scotyard.model.command.turn.StartTurnCommand;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 
@@ -46,6 +51,54 @@ class CommandRouterTest {
         verify(consumer1, never()).accept(any());
     }
 
+    @Test
+    void queuedModeHandlesNestedCommandsAfterTheCurrentOne() {
+        final CommandRouter router = new CommandRouter(CommandRouter.Mode.QUEUED);
+        final List<String> handled = new ArrayList<>();
+        router.register(StartTurnCommand.class, command -> {
+            router.dispatch(new EndTurnCommand());
+            handled.add("start");
+        });
+        router.register(EndTurnCommand.class, command -> handled.add("end"));
+
+        router.dispatch(new StartTurnCommand());
+
+        assertEquals(List.of("start", "end"), handled);
+    }
+
+    @Test
+    void queuedModeKeepsTheStackDepthConstant() {
+        final CommandRouter router = new CommandRouter(CommandRouter.Mode.QUEUED);
+        final int chainLength = 1_000_000;
+        final int[] handled = {0};
+        router.register(EndTurnCommand.class, command -> {
+            if (++handled[0] < chainLength) {
+                router.dispatch(new EndTurnCommand());
+            }
+        });
+
+        router.dispatch(new EndTurnCommand());
+
+        assertEquals(chainLength, handled[0]);
+    }
+
+    @Test
+    void queuedModeDropsQueuedCommandsWhenAHandlerThrows() {
+        final CommandRouter router = new CommandRouter(CommandRouter.Mode.QUEUED);
+        final List<String> handled = new ArrayList<>();
+        router.register(StartTurnCommand.class, command -> {
+            router.dispatch(new EndTurnCommand());
+            throw new IllegalStateException("failure");
+        });
+        router.register(EndTurnCommand.class, command -> handled.add("end"));
+
+        assertThrows(IllegalStateException.class, () -> router.dispatch(new StartTurnCommand()));
+        assertTrue(handled.isEmpty());
+
+        router.dispatch(new EndTurnCommand());
+        assertEquals(List.of("end"), handled);
+    }
+
     private <T> Consumer<T> mockConsumer() {
         @SuppressWarnings("unchecked")
         final Consumer<T> handler = mock(Consumer.class);
@@ -0,0 +1,48 @@
+package it.unibo.scotyard.model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.commons.patterns.MagicNumbers;
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import it.unibo.scotyard.model.players.TicketType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SimulationRunnerTest {
+
+    private static final long SEED = 42;
+
+    private SimulationRunner runner;
+
+    @BeforeEach
+    void setup() {
+        runner = new SimulationRunner();
+    }
+
+    @Test
+    void playsAWholeGame() {
+        final SimulationResult result = runner.run(SEED, GameMode.MISTER_X, GameDifficulty.EASY);
+
+        assertTrue(result.rounds() >= 1 && result.rounds() <= MagicNumbers.FINAL_ROUND_COUNT);
+        assertTrue(result.runnerTickets().getOrDefault(TicketType.TAXI, 0) > 0
+                || result.runnerTickets().getOrDefault(TicketType.BUS, 0) > 0
+                || result.runnerTickets().getOrDefault(TicketType.UNDERGROUND, 0) > 0
+                || result.runnerTickets().getOrDefault(TicketType.BLACK, 0) > 0);
+        if (result.captured()) {
+            assertEquals(SimulationResult.Winner.SEEKERS, result.winner());
+        }
+    }
+
+    @Test
+    void isDeterministicForTheSameSeed() {
+        final SimulationResult first = runner.run(SEED, GameMode.DETECTIVE, GameDifficulty.EASY);
+        final SimulationResult second = runner.run(SEED, GameMode.DETECTIVE, GameDifficulty.EASY);
+
+        assertEquals(first.winner(), second.winner());
+        assertEquals(first.rounds(), second.rounds());
+        assertEquals(first.runnerTickets(), second.runnerTickets());
+        assertEquals(first.seekerTickets(), second.seekerTickets());
+    }
+}
@@ -0,0 +1,55 @@
+package it.unibo.scotyard.model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unibo.scotyard.model.game.GameDifficulty;
+import it.unibo.scotyard.model.game.GameMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TournamentTest {
+
+    private static final int GAMES = 6;
+
+    @Test
+    void streamsTheStandingsOfEveryPairing() {
+        final Tournament.Pairing easy = new Tournament.Pairing(GameDifficulty.EASY, GameDifficulty.EASY);
+        final Tournament.Pairing mixed = new Tournament.Pairing(GameDifficulty.EASY, GameDifficulty.MEDIUM);
+        final List<Tournament.Standing> updates = new ArrayList<>();
+
+        final Map<Tournament.Pairing, Tournament.Standing> standings =
+                new Tournament(GameMode.MISTER_X, GAMES, 1).run(List.of(easy, mixed), updates::add);
+
+        assertEquals(2 * GAMES, updates.size());
+        for (final Tournament.Standing standing : standings.values()) {
+            assertEquals(GAMES, standing.games());
+            assertTrue(standing.runnerWinRateLow() <= standing.runnerWinRate());
+            assertTrue(standing.runnerWinRate() <= standing.runnerWinRateHigh());
+            assertTrue(standing.meanRounds() >= 1);
+        }
+    }
+
+    @Test
+    void standingsOnlyDependOnTheSeeds() {
+        final List<Tournament.Pairing> pairings =
+                List.of(new Tournament.Pairing(GameDifficulty.MEDIUM, GameDifficulty.MEDIUM));
+
+        final Map<Tournament.Pairing, Tournament.Standing> sequential =
+                new Tournament(GameMode.MISTER_X, GAMES, 1, 1).run(pairings, standing -> {});
+        final Map<Tournament.Pairing, Tournament.Standing> concurrent =
+                new Tournament(GameMode.MISTER_X, GAMES, 1, GAMES).run(pairings, standing -> {});
+
+        assertEquals(sequential, concurrent);
+    }
+
+    @Test
+    void coversEveryPairing() {
+        assertEquals(GameDifficulty.values().length * GameDifficulty.values().length, Tournament.allPairings().size());
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(GameMode.MISTER_X, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(GameMode.MISTER_X, 1, 1, 0));
+    }
+}